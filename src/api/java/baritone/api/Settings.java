@@ -374,6 +374,22 @@ public final class Settings {
      */
     public final Setting<Boolean> minimumImprovementRepropagation = new Setting<>(true);
 
+    /**
+     * On flat, open floor, skip the walking and diagonal neighbours that can be reached at least as cheaply without
+     * going through the current node, like jump point search does. Everything else, and every node near an obstacle,
+     * liquid or anything other than plain full blocks and air, is still expanded in full.
+     * <p>
+     * Only applies to entities no bigger than a player.
+     */
+    public final Setting<Boolean> jumpPointPruning = new Setting<>(false);
+
+    /**
+     * Which priority queue A* keeps its open nodes in: "binary" for a binary heap, "pairing" for a pairing heap, or
+     * "bucket" for a bucket queue with one tick wide buckets. Only speed differs, and which of
+     * two equally good nodes gets looked at first. Anything else is logged as a warning and treated as "binary".
+     */
+    public final Setting<String> pathingOpenSet = new Setting<>("binary");
+
     /**
      * After calculating a path (potentially through cached chunks), artificially cut it off to just the part that is
      * entirely within currently loaded chunks. Improves path safety because cached chunks are heavily simplified.
@@ -412,6 +428,13 @@ public final class Settings {
      */
     public final Setting<Integer> planningTickLookahead = new Setting<>(150);
 
+    /**
+     * When a search runs out of time short of the goal, remember how much further than the heuristic says the goal
+     * turned out to be from everything it looked at, and start the search for the next segment toward the same goal
+     * off with that, so it doesn't spend its time going back into the same dead ends.
+     */
+    public final Setting<Boolean> segmentHeuristicLearning = new Setting<>(false);
+
     /**
      * Default size of the Long2ObjectOpenHashMap used in pathing
      */
@@ -424,6 +447,13 @@ public final class Settings {
      */
     public final Setting<Float> pathingMapLoadFactor = new Setting<>(0.75f);
 
+    /**
+     * How many recent path searches to keep statistics for, per entity and per world
+     * <p>
+     * Only read when the metrics are created, so changing it requires a reload
+     */
+    public final Setting<Integer> pathingMetricsHistorySize = new Setting<>(256);
+
     /**
      * How far are you allowed to fall onto solid ground (without a water bucket)?
      * 3 won't deal any damage. But if you just want to get down the mountain quickly and you have
@@ -489,6 +519,87 @@ public final class Settings {
      */
     public final Setting<Long> planAheadFailureTimeoutMS = new Setting<>(5000L);
 
+    /**
+     * Stop searches once the nodes they expanded plus the movements they considered add up to what
+     * {@link #pathingNodesPerMS} says fits in their timeouts, instead of once the timeouts elapse on the wall clock. A
+     * busy machine then still finds the same paths, only slower, and every entity is charged for exactly the work its
+     * searches did. A search still gives up after a few times its failure timeout on the wall clock, however much of
+     * its budget it has left.
+     * <p>
+     * Paths only come out the same on different machines if {@link #pathingNodesPerMS} is set, since otherwise every
+     * machine measures its own rate.
+     */
+    public final Setting<Boolean> pathingNodeBudgets = new Setting<>(false);
+
+    /**
+     * How many nodes plus movements a millisecond of timeout is worth with {@link #pathingNodeBudgets}. At 0, every
+     * thread that searches measures how many it really gets through per millisecond over its first couple of seconds
+     * of searching and goes by that from then on; set a number to get the same path for the same search on any
+     * machine.
+     */
+    public final Setting<Integer> pathingNodesPerMS = new Setting<>(0);
+
+    /**
+     * Search with the heuristic weighted by {@link #anytimeInitialWeight} first, so that a path to the goal is found
+     * and set off on within a few milliseconds, then keep lowering the weight and refining that path toward the
+     * cheapest one for the rest of the failure timeout. Every better path is handed over as the next path, and jumped
+     * onto as soon as we are standing somewhere on it.
+     * <p>
+     * The primary timeout is ignored once a path to the goal has been found, so the search keeps running until the
+     * failure timeout and no path ahead is planned until then. Refining is best-effort: the path handed over last is
+     * only guaranteed to be the cheapest one if the search runs out of nodes before the failure timeout.
+     */
+    public final Setting<Boolean> anytimePathing = new Setting<>(false);
+
+    /**
+     * How much the heuristic is trusted over the cost so far by the first pass of {@link #anytimePathing}. The first
+     * path costs at most this many times as much as the best one. Each later pass halves how far above 1 it is.
+     */
+    public final Setting<Double> anytimeInitialWeight = new Setting<>(3D);
+
+    /**
+     * Search on the server thread instead of a worker thread, a slice of {@link #tickSlicedPathingBudgetMS} per tick
+     * shared with every other entity doing the same, picking up where it left off on the next tick. Pathing then never
+     * takes more than that out of a tick, and the segment found so far is rendered and picked up just like with a
+     * worker thread.
+     * <p>
+     * The timeouts count only the time spent searching, not the ticks in between.
+     */
+    public final Setting<Boolean> tickSlicedPathing = new Setting<>(false);
+
+    /**
+     * Milliseconds of each tick that {@link #tickSlicedPathing} searches may take, split evenly between every entity
+     * on the server that is searching. When the rest of the tick runs long, they take only up to half of what's left
+     * of the 50ms instead, but never less than {@link #tickSlicedPathingMinimumMS}. Only read from the global settings.
+     */
+    public final Setting<Integer> tickSlicedPathingBudgetMS = new Setting<>(10);
+
+    /**
+     * Milliseconds of each tick that {@link #tickSlicedPathing} searches still get when the server is already behind,
+     * even when the rest of the tick alone takes more than 50ms, so that they do finish eventually. What searches ran
+     * over by in one tick is taken out of the next. Only read from the global settings.
+     */
+    public final Setting<Integer> tickSlicedPathingMinimumMS = new Setting<>(1);
+
+    /**
+     * Scale the timeouts of path searches, and {@link #chunkScanBudgetMS}, down while the server is busy: once ticks
+     * take longer than {@link #adaptiveBudgetTickMS} on average, and while more searches and scans are running than
+     * there are cores. Searches of entities that are standing still waiting for a path are cut the least, planning
+     * ahead more, and background scans the most. Only read from the global settings.
+     */
+    public final Setting<Boolean> adaptiveBudgets = new Setting<>(false);
+
+    /**
+     * The average tick time, in milliseconds, above which {@link #adaptiveBudgets} starts scaling budgets down. They
+     * reach {@link #adaptiveBudgetMinimumScale} once ticks take the full 50ms. Only read from the global settings.
+     */
+    public final Setting<Double> adaptiveBudgetTickMS = new Setting<>(30D);
+
+    /**
+     * The least that {@link #adaptiveBudgets} ever scales a budget down to. Only read from the global settings.
+     */
+    public final Setting<Double> adaptiveBudgetMinimumScale = new Setting<>(0.1);
+
     /**
      * For debugging, consider nodes much much slower
      */
@@ -713,6 +824,12 @@ public final class Settings {
      */
     public final Setting<Integer> mineGoalUpdateInterval = new Setting<>(5);
 
+    /**
+     * Milliseconds worth of chunk scans that may be started each tick, shared by every entity in a world.
+     * Scans that do not fit are queued for the following ticks. Only read from the global settings.
+     */
+    public final Setting<Integer> chunkScanBudgetMS = new Setting<>(10);
+
     /**
      * After finding this many instances of the target block in the cache, it will stop expanding outward the chunk search.
      */
@@ -975,6 +1092,13 @@ public final class Settings {
      */
     public final Setting<Integer> followRadius = new Setting<>(3);
 
+    /**
+     * How far away, horizontally in blocks, entities are looked for: mobs to avoid and dropped items to pick up while
+     * mining. Anything further is ignored as if it wasn't there. Entities to follow are looked for this close first,
+     * and in the whole world when none are.
+     */
+    public final Setting<Integer> entityScanRadius = new Setting<>(128);
+
     /**
      * Turn this on if your exploration filter is enormous, you don't want it to check if it's done,
      * and you are just fine with it just hanging on completion
@@ -19,6 +19,7 @@ package baritone.api.behavior;
 
 import baritone.api.pathing.calc.IPath;
 import baritone.api.pathing.calc.IPathFinder;
+import baritone.api.pathing.calc.IPathingMetrics;
 import baritone.api.pathing.goals.Goal;
 import baritone.api.pathing.path.IPathExecutor;
 import baritone.api.utils.BetterBlockPos;
@@ -137,4 +138,9 @@ public interface IPathingBehavior extends IBehavior {
      * @return The starting {@link BlockPos} for a new path
      */
     BetterBlockPos pathStart();
+
+    /**
+     * @return Statistics about the path searches recently run by this behavior
+     */
+    IPathingMetrics getMetrics();
 }
@@ -17,6 +17,8 @@
 
 package baritone.api.cache;
 
+import baritone.api.pathing.calc.IPathingMetrics;
+
 /**
  * @author Brady
  * @since 9/24/2018
@@ -42,4 +44,9 @@ public interface IWorldData {
      * @see IContainerMemory
      */
     IContainerMemory getContainerMemory();
+
+    /**
+     * @return Statistics about the path searches recently run by every entity in this world
+     */
+    IPathingMetrics getPathingMetrics();
 }
@@ -23,6 +23,7 @@ public enum PathEvent {
     CALC_FAILED,
     NEXT_SEGMENT_CALC_STARTED,
     NEXT_SEGMENT_CALC_FINISHED,
+    REFINED_PATH_FOUND,
     CONTINUING_ONTO_PLANNED_NEXT,
     SPLICING_ONTO_NEXT_EARLY,
     AT_GOAL,
@@ -43,6 +43,26 @@ public class Avoidance {
         this.radiusSq = radius * radius;
     }
 
+    public int getCenterX() {
+        return centerX;
+    }
+
+    public int getCenterY() {
+        return centerY;
+    }
+
+    public int getCenterZ() {
+        return centerZ;
+    }
+
+    public double getCoefficient() {
+        return coefficient;
+    }
+
+    public int getRadius() {
+        return radius;
+    }
+
     public double coefficient(int x, int y, int z) {
         int xDiff = x - centerX;
         int yDiff = y - centerY;
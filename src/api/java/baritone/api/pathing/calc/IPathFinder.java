@@ -63,4 +63,11 @@ public interface IPathFinder {
      * @return The temporary path
      */
     Optional<IPath> bestPathSoFar();
+
+    /**
+     * Summary of the search, available once {@link #isFinished()} returns {@code true}
+     *
+     * @return The search record
+     */
+    Optional<PathSearchRecord> getSearchRecord();
 }
@@ -0,0 +1,106 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.api.pathing.calc;
+
+import baritone.api.utils.PathCalculationResult;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * A rolling window over the most recent {@link PathSearchRecord}s of a pathing behavior or a world.
+ * <p>
+ * Histograms use power of two buckets: bucket {@code 0} counts zero values, and bucket {@code i > 0}
+ * counts values in {@code [2^(i-1), 2^i)}. The last bucket also holds anything larger.
+ *
+ * @see baritone.api.behavior.IPathingBehavior#getMetrics()
+ * @see baritone.api.cache.IWorldData#getPathingMetrics()
+ */
+public interface IPathingMetrics {
+
+    /**
+     * The number of buckets in every histogram returned by this interface
+     */
+    int HISTOGRAM_BUCKETS = 24;
+
+    /**
+     * @return The records currently in the window, oldest first
+     */
+    List<PathSearchRecord> getRecords();
+
+    /**
+     * @return The number of searches recorded since creation or the last {@link #reset()}, including evicted ones
+     */
+    long getTotalSearches();
+
+    /**
+     * @param type A result type
+     * @return How many searches in the window ended with the given result
+     */
+    int count(PathCalculationResult.Type type);
+
+    /**
+     * @param termination A termination reason
+     * @return How many searches in the window stopped for the given reason
+     */
+    int count(PathSearchRecord.Termination termination);
+
+    /**
+     * @return A copy of the search duration histogram, in milliseconds
+     */
+    long[] getDurationHistogram();
+
+    /**
+     * @return A copy of the expanded node count histogram
+     */
+    long[] getNodeHistogram();
+
+    /**
+     * @param percentile A percentile, between 0 and 100
+     * @return The search duration at that percentile of the window, or 0 if the window is empty
+     */
+    long durationPercentile(double percentile);
+
+    /**
+     * @param percentile A percentile, between 0 and 100
+     * @return The expanded node count at that percentile of the window, or 0 if the window is empty
+     */
+    int nodesPercentile(double percentile);
+
+    /**
+     * Clears the window, the histograms and the total search count
+     */
+    void reset();
+
+    /**
+     * Writes every record in the window to the given file as CSV, one search per line
+     *
+     * @param file The file to write to, its parent directories are created if needed
+     * @throws IOException If the file could not be written
+     */
+    void export(Path file) throws IOException;
+
+    /**
+     * @param value A non negative value
+     * @return The histogram bucket the value falls in
+     */
+    static int bucketOf(long value) {
+        return Math.min(HISTOGRAM_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(Math.max(0, value)));
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.api.pathing.calc;
+
+import baritone.api.utils.PathCalculationResult;
+
+/**
+ * An immutable summary of a single path search, produced once the search has finished.
+ *
+ * @see IPathingMetrics
+ */
+public final class PathSearchRecord {
+
+    /**
+     * The wall clock time at which the search started, in milliseconds since the epoch
+     */
+    public final long startTime;
+
+    /**
+     * How long the whole calculation took, including post processing and cutoffs, in milliseconds
+     */
+    public final long durationMS;
+
+    /**
+     * The primary timeout the search was started with, in milliseconds
+     */
+    public final long primaryTimeoutMS;
+
+    /**
+     * The failure timeout the search was started with, in milliseconds
+     */
+    public final long failureTimeoutMS;
+
+    /**
+     * What the configured timeouts were multiplied by to get the ones above, less than {@code 1} when they were cut
+     * because the server was busy
+     *
+     * @see baritone.api.Settings#adaptiveBudgets
+     */
+    public final double budgetScale;
+
+    /**
+     * The number of nodes the search could expand before the primary timeout counted as elapsed, or {@code 0} if it
+     * went by the wall clock
+     *
+     * @see baritone.api.Settings#pathingNodeBudgets
+     */
+    public final int primaryNodeBudget;
+
+    /**
+     * The number of nodes the search could expand before the failure timeout counted as elapsed, or {@code 0} if it
+     * went by the wall clock
+     */
+    public final int failureNodeBudget;
+
+    /**
+     * The number of nodes popped from the open set and expanded
+     */
+    public final int nodesExpanded;
+
+    /**
+     * The number of movements whose cost was calculated
+     */
+    public final int movementsConsidered;
+
+    /**
+     * The number of times a movement was skipped because it led into an unloaded chunk
+     */
+    public final int emptyChunkHits;
+
+    /**
+     * The cost coefficient of the returned path, {@code 1} if the goal itself was reached,
+     * or {@link Double#NaN} if no path was returned
+     */
+    public final double coefficient;
+
+    /**
+     * What the caller got back from {@link IPathFinder#calculate(long, long)}
+     */
+    public final PathCalculationResult.Type resultType;
+
+    /**
+     * Why the search loop stopped
+     */
+    public final Termination termination;
+
+    public PathSearchRecord(long startTime, long durationMS, long primaryTimeoutMS, long failureTimeoutMS, double budgetScale, int primaryNodeBudget, int failureNodeBudget, int nodesExpanded, int movementsConsidered, int emptyChunkHits, double coefficient, PathCalculationResult.Type resultType, Termination termination) {
+        this.startTime = startTime;
+        this.durationMS = durationMS;
+        this.primaryTimeoutMS = primaryTimeoutMS;
+        this.failureTimeoutMS = failureTimeoutMS;
+        this.budgetScale = budgetScale;
+        this.primaryNodeBudget = primaryNodeBudget;
+        this.failureNodeBudget = failureNodeBudget;
+        this.nodesExpanded = nodesExpanded;
+        this.movementsConsidered = movementsConsidered;
+        this.emptyChunkHits = emptyChunkHits;
+        this.coefficient = coefficient;
+        this.resultType = resultType;
+        this.termination = termination;
+    }
+
+    /**
+     * @return The expansion rate of this search, in nodes per second
+     */
+    public int nodesPerSecond() {
+        return durationMS <= 0 ? nodesExpanded * 1000 : (int) (nodesExpanded * 1000L / durationMS);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "%s (%s) in %dms of %d/%dms (x%s), %d nodes, %d movements, %d empty chunk hits, coefficient %s",
+                resultType,
+                termination,
+                durationMS,
+                primaryTimeoutMS,
+                failureTimeoutMS,
+                budgetScale,
+                nodesExpanded,
+                movementsConsidered,
+                emptyChunkHits,
+                Double.isNaN(coefficient) ? "n/a" : Double.toString(coefficient)
+        );
+    }
+
+    public enum Termination {
+
+        /**
+         * A node inside the goal was popped from the open set
+         */
+        GOAL_REACHED,
+
+        /**
+         * A usable path had been found and the primary timeout elapsed, or its node budget was used up
+         */
+        PRIMARY_TIMEOUT,
+
+        /**
+         * The failure timeout elapsed, or its node budget was used up, whether or not a usable path had been found
+         */
+        FAILURE_TIMEOUT,
+
+        /**
+         * Every reachable node was expanded
+         */
+        OPEN_SET_EXHAUSTED,
+
+        /**
+         * Too many movements ran into unloaded chunks
+         *
+         * @see baritone.api.Settings#pathingMaxChunkBorderFetch
+         */
+        CHUNK_BORDER_LIMIT,
+
+        /**
+         * The search was cancelled from another thread
+         */
+        CANCELLED,
+
+        /**
+         * The search threw an exception
+         */
+        EXCEPTION
+    }
+}
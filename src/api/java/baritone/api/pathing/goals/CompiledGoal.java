@@ -0,0 +1,297 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.api.pathing.goals;
+
+import java.util.Arrays;
+
+import static baritone.api.pathing.goals.GoalCompiler.*;
+
+/**
+ * A {@link Goal} flattened into primitive arrays before a search starts, so that evaluating it for every node doesn't
+ * go through a chain of virtual calls on goal wrappers. Heuristics and membership are exactly the same as the source
+ * goal's, apart from settings being read once at compile time.
+ * <p>
+ * Unions of many small goals, such as the ore locations of a mine process or the blocks a builder wants to break, also
+ * memoize their heuristic in a distance field covering the goals and their immediate surroundings.
+ * <p>
+ * Not thread safe, a compiled goal is meant to be owned by a single path finder.
+ *
+ * @see Goal#compile(GoalCompiler)
+ */
+public final class CompiledGoal {
+
+    private static final double SQRT_2 = Math.sqrt(2);
+
+    /**
+     * Minimum number of union terms before a distance field is worth it
+     */
+    private static final int FIELD_MIN_TERMS = 4;
+
+    /**
+     * How far the distance field extends horizontally and vertically past the goals
+     */
+    private static final int FIELD_MARGIN_XZ = 16;
+    private static final int FIELD_MARGIN_Y = 8;
+
+    /**
+     * Upper bound on the size of the distance field, 1MB of doubles
+     */
+    private static final int FIELD_MAX_CELLS = 1 << 17;
+
+    private final Goal source;
+    private final double costHeuristic;
+    private final boolean union;
+
+    private final int[] heuristicTerms;
+    private final int[] membershipTerms;
+
+    private final int[] heuristicKinds;
+    private final int[] membershipKinds;
+    private final int[] xs;
+    private final int[] minYs;
+    private final int[] maxYs;
+    private final int[] zs;
+    private final int[] params;
+    private final double[] offsets;
+    private final Goal[] goals;
+    private final CompiledGoal[] nested;
+
+    private final double[] field;
+    private final int fieldX;
+    private final int fieldY;
+    private final int fieldZ;
+    private final int fieldSizeX;
+    private final int fieldSizeY;
+    private final int fieldSizeZ;
+
+    CompiledGoal(Goal source, GoalCompiler compiler) {
+        int size = compiler.size;
+        this.source = source;
+        this.costHeuristic = compiler.costHeuristic;
+        this.union = compiler.union;
+        this.heuristicKinds = Arrays.copyOf(compiler.heuristicKinds, size);
+        this.membershipKinds = Arrays.copyOf(compiler.membershipKinds, size);
+        this.xs = Arrays.copyOf(compiler.xs, size);
+        this.minYs = Arrays.copyOf(compiler.minYs, size);
+        this.maxYs = Arrays.copyOf(compiler.maxYs, size);
+        this.zs = Arrays.copyOf(compiler.zs, size);
+        this.params = Arrays.copyOf(compiler.params, size);
+        this.offsets = Arrays.copyOf(compiler.offsets, size);
+        this.goals = Arrays.copyOf(compiler.goals, size);
+        this.nested = Arrays.copyOf(compiler.nested, size);
+
+        int heuristicCount = 0;
+        int membershipCount = 0;
+        for (int i = 0; i < size; i++) {
+            if (heuristicKinds[i] != H_NONE) {
+                heuristicCount++;
+            }
+            if (membershipKinds[i] != M_NONE) {
+                membershipCount++;
+            }
+        }
+        this.heuristicTerms = new int[heuristicCount];
+        this.membershipTerms = new int[membershipCount];
+        heuristicCount = 0;
+        membershipCount = 0;
+        boolean columnsOnly = true;
+        int minX = Integer.MAX_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxY = Integer.MIN_VALUE;
+        int maxZ = Integer.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            if (heuristicKinds[i] != H_NONE) {
+                heuristicTerms[heuristicCount++] = i;
+                if (heuristicKinds[i] == H_COLUMN) {
+                    minX = Math.min(minX, xs[i]);
+                    minY = Math.min(minY, minYs[i]);
+                    minZ = Math.min(minZ, zs[i]);
+                    maxX = Math.max(maxX, xs[i]);
+                    maxY = Math.max(maxY, maxYs[i]);
+                    maxZ = Math.max(maxZ, zs[i]);
+                } else {
+                    columnsOnly = false;
+                }
+            }
+            if (membershipKinds[i] != M_NONE) {
+                membershipTerms[membershipCount++] = i;
+            }
+        }
+
+        long sizeX = (long) maxX - minX + 1 + 2 * FIELD_MARGIN_XZ;
+        long sizeY = (long) maxY - minY + 1 + 2 * FIELD_MARGIN_Y;
+        long sizeZ = (long) maxZ - minZ + 1 + 2 * FIELD_MARGIN_XZ;
+        if (union && columnsOnly && heuristicCount >= FIELD_MIN_TERMS && sizeX * sizeY * sizeZ <= FIELD_MAX_CELLS) {
+            this.fieldX = minX - FIELD_MARGIN_XZ;
+            this.fieldY = minY - FIELD_MARGIN_Y;
+            this.fieldZ = minZ - FIELD_MARGIN_XZ;
+            this.fieldSizeX = (int) sizeX;
+            this.fieldSizeY = (int) sizeY;
+            this.fieldSizeZ = (int) sizeZ;
+            // filled lazily, NaN means not computed yet
+            this.field = new double[(int) (sizeX * sizeY * sizeZ)];
+            Arrays.fill(field, Double.NaN);
+        } else {
+            this.fieldX = this.fieldY = this.fieldZ = 0;
+            this.fieldSizeX = this.fieldSizeY = this.fieldSizeZ = 0;
+            this.field = null;
+        }
+    }
+
+    /**
+     * Compiles the given goal, reading the heuristic settings now
+     *
+     * @param goal The goal to compile
+     * @return The compiled goal
+     */
+    public static CompiledGoal of(Goal goal) {
+        GoalCompiler compiler = new GoalCompiler();
+        goal.compile(compiler);
+        return new CompiledGoal(goal, compiler);
+    }
+
+    /**
+     * @return The goal this was compiled from
+     */
+    public Goal getSource() {
+        return source;
+    }
+
+    /**
+     * @return Whether this goal has a distance field
+     */
+    public boolean hasField() {
+        return field != null;
+    }
+
+    /**
+     * @see Goal#isInGoal(int, int, int)
+     */
+    public boolean isInGoal(int x, int y, int z) {
+        for (int i : membershipTerms) {
+            if (isInTerm(i, x, y, z)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @see Goal#heuristic(int, int, int)
+     */
+    public double heuristic(int x, int y, int z) {
+        if (field != null) {
+            int dx = x - fieldX;
+            int dy = y - fieldY;
+            int dz = z - fieldZ;
+            if (dx >= 0 && dx < fieldSizeX && dy >= 0 && dy < fieldSizeY && dz >= 0 && dz < fieldSizeZ) {
+                int index = (dy * fieldSizeZ + dz) * fieldSizeX + dx;
+                double value = field[index];
+                if (Double.isNaN(value)) {
+                    value = evaluate(x, y, z);
+                    field[index] = value;
+                }
+                return value;
+            }
+        }
+        return evaluate(x, y, z);
+    }
+
+    private double evaluate(int x, int y, int z) {
+        if (!union && heuristicTerms.length == 1) {
+            return heuristicOfTerm(heuristicTerms[0], x, y, z);
+        }
+        double min = Double.MAX_VALUE;
+        for (int i : heuristicTerms) {
+            min = Math.min(min, heuristicOfTerm(i, x, y, z));
+        }
+        return min;
+    }
+
+    private double heuristicOfTerm(int i, int x, int y, int z) {
+        switch (heuristicKinds[i]) {
+            case H_COLUMN: {
+                int yDiff = y > maxYs[i] ? y - maxYs[i] : y < minYs[i] ? y - minYs[i] : 0;
+                return offsets[i] + (GoalYLevel.calculate(0, yDiff) + xz(x - xs[i], z - zs[i]));
+            }
+            case H_XZ:
+                return offsets[i] + xz(x - xs[i], z - zs[i]);
+            case H_Y_LEVEL:
+                return offsets[i] + GoalYLevel.calculate(minYs[i], y);
+            case H_OPAQUE:
+                return offsets[i] + goals[i].heuristic(x, y, z);
+            case H_INVERTED:
+                return offsets[i] + -nested[i].heuristic(x, y, z);
+            default:
+                throw new IllegalStateException();
+        }
+    }
+
+    private boolean isInTerm(int i, int x, int y, int z) {
+        switch (membershipKinds[i]) {
+            case M_COLUMN:
+                return x == xs[i] && z == zs[i] && y >= minYs[i] && y <= maxYs[i];
+            case M_GET_TO_BLOCK: {
+                int xDiff = x - xs[i];
+                int yDiff = y - maxYs[i];
+                int zDiff = z - zs[i];
+                return Math.abs(xDiff) + Math.abs(yDiff < 0 ? yDiff + 1 : yDiff) + Math.abs(zDiff) <= 1;
+            }
+            case M_NEAR: {
+                int xDiff = x - xs[i];
+                int yDiff = y - minYs[i];
+                int zDiff = z - zs[i];
+                return xDiff * xDiff + yDiff * yDiff + zDiff * zDiff <= params[i];
+            }
+            case M_XZ:
+                return x == xs[i] && z == zs[i];
+            case M_Y_LEVEL:
+                return y == minYs[i];
+            case M_OPAQUE:
+                return goals[i].isInGoal(x, y, z);
+            default:
+                throw new IllegalStateException();
+        }
+    }
+
+    /**
+     * Same as {@link GoalXZ#calculate(double, double)}, with the cost heuristic read at compile time
+     */
+    private double xz(double xDiff, double zDiff) {
+        double x = Math.abs(xDiff);
+        double z = Math.abs(zDiff);
+        double straight;
+        double diagonal;
+        if (x < z) {
+            straight = z - x;
+            diagonal = x;
+        } else {
+            straight = x - z;
+            diagonal = z;
+        }
+        diagonal *= SQRT_2;
+        return (diagonal + straight) * costHeuristic;
+    }
+
+    @Override
+    public String toString() {
+        return "Compiled" + source;
+    }
+}
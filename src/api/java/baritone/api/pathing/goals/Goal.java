@@ -68,4 +68,18 @@ public interface Goal {
     default double heuristic() {
         return 0;
     }
+
+    /**
+     * Describes this goal to a {@link GoalCompiler}, so that a path finder can evaluate it through a
+     * {@link CompiledGoal} instead of calling into this object for every node.
+     * <p>
+     * By default this goal is added as an opaque term. Implementations should only override this when the compiled
+     * terms match {@link #isInGoal(int, int, int)} and {@link #heuristic(int, int, int)} exactly. The built-in goals
+     * fall back to an opaque term for any subclass, so a subclass only needs to override this to get compiled terms.
+     *
+     * @param compiler The compiler to add terms to
+     */
+    default void compile(GoalCompiler compiler) {
+        compiler.opaque(this);
+    }
 }
@@ -47,6 +47,23 @@ public class GoalAxis implements Goal {
         return flatAxisDistance * BaritoneAPI.getGlobalSettings().costHeuristic.get() + GoalYLevel.calculate(BaritoneAPI.getGlobalSettings().axisHeight.get(), y);
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        GoalAxis goal = (GoalAxis) o;
+        return targetHeight == goal.targetHeight;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(targetHeight);
+    }
+
     @Override
     public String toString() {
         return "GoalAxis";
@@ -0,0 +1,224 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.api.pathing.goals;
+
+import baritone.api.BaritoneAPI;
+
+import java.util.Arrays;
+
+/**
+ * Collects the terms of a {@link Goal} so it can be turned into a {@link CompiledGoal}. Each term contributes a
+ * heuristic, a membership test, or both; the compiled goal is satisfied when any term's membership test passes, and
+ * its heuristic is the smallest of the term heuristics.
+ * <p>
+ * The builder methods that take a position add a new term; {@link #offset(double)} and {@link #membership(Goal)}
+ * modify the term that was added last.
+ *
+ * @see Goal#compile(GoalCompiler)
+ */
+public final class GoalCompiler {
+
+    static final int H_NONE = 0;
+    static final int H_COLUMN = 1;
+    static final int H_XZ = 2;
+    static final int H_Y_LEVEL = 3;
+    static final int H_OPAQUE = 4;
+    static final int H_INVERTED = 5;
+
+    static final int M_NONE = 0;
+    static final int M_COLUMN = 1;
+    static final int M_GET_TO_BLOCK = 2;
+    static final int M_NEAR = 3;
+    static final int M_XZ = 4;
+    static final int M_Y_LEVEL = 5;
+    static final int M_OPAQUE = 6;
+
+    final double costHeuristic;
+
+    int size;
+    int[] heuristicKinds = new int[4];
+    int[] membershipKinds = new int[4];
+    int[] xs = new int[4];
+    int[] minYs = new int[4];
+    int[] maxYs = new int[4];
+    int[] zs = new int[4];
+    int[] params = new int[4];
+    double[] offsets = new double[4];
+    Goal[] goals = new Goal[4];
+    CompiledGoal[] nested = new CompiledGoal[4];
+
+    /**
+     * Whether the heuristic is the minimum over a union of goals, as opposed to the heuristic of a single goal
+     */
+    boolean union;
+
+    GoalCompiler(double costHeuristic) {
+        this.costHeuristic = costHeuristic;
+    }
+
+    GoalCompiler() {
+        this(BaritoneAPI.getGlobalSettings().costHeuristic.get());
+    }
+
+    /**
+     * Same as {@link GoalBlock}
+     */
+    public GoalCompiler block(int x, int y, int z) {
+        return column(x, y, y, z);
+    }
+
+    /**
+     * A vertical run of blocks from {@code minY} to {@code maxY} inclusive, like {@link GoalTwoBlocks}
+     */
+    public GoalCompiler column(int x, int minY, int maxY, int z) {
+        int i = add(H_COLUMN, M_COLUMN);
+        xs[i] = x;
+        minYs[i] = minY;
+        maxYs[i] = maxY;
+        zs[i] = z;
+        return this;
+    }
+
+    /**
+     * Same as {@link GoalGetToBlock}
+     */
+    public GoalCompiler getToBlock(int x, int y, int z) {
+        int i = add(H_COLUMN, M_GET_TO_BLOCK);
+        xs[i] = x;
+        minYs[i] = y - 1;
+        maxYs[i] = y;
+        zs[i] = z;
+        return this;
+    }
+
+    /**
+     * Same as {@link GoalNear}
+     */
+    public GoalCompiler near(int x, int y, int z, int rangeSq) {
+        int i = add(H_COLUMN, M_NEAR);
+        xs[i] = x;
+        minYs[i] = y;
+        maxYs[i] = y;
+        zs[i] = z;
+        params[i] = rangeSq;
+        return this;
+    }
+
+    /**
+     * Same as {@link GoalXZ}
+     */
+    public GoalCompiler xz(int x, int z) {
+        int i = add(H_XZ, M_XZ);
+        xs[i] = x;
+        zs[i] = z;
+        return this;
+    }
+
+    /**
+     * Same as {@link GoalYLevel}
+     */
+    public GoalCompiler yLevel(int level) {
+        int i = add(H_Y_LEVEL, M_Y_LEVEL);
+        minYs[i] = level;
+        maxYs[i] = level;
+        return this;
+    }
+
+    /**
+     * Same as {@link GoalInverted}; the origin is compiled separately
+     */
+    public GoalCompiler inverted(Goal origin) {
+        GoalCompiler compiler = new GoalCompiler(costHeuristic);
+        origin.compile(compiler);
+        int i = add(H_INVERTED, M_NONE);
+        nested[i] = new CompiledGoal(origin, compiler);
+        return this;
+    }
+
+    /**
+     * A goal that can't be expressed any other way, evaluated through its own methods
+     */
+    public GoalCompiler opaque(Goal goal) {
+        int i = add(H_OPAQUE, M_OPAQUE);
+        goals[i] = goal;
+        return this;
+    }
+
+    /**
+     * A goal that may be satisfied but doesn't contribute to the heuristic, like the fallback of a composite that only
+     * steers towards its primary goal
+     */
+    public GoalCompiler membershipOnly(Goal goal) {
+        int i = add(H_NONE, M_OPAQUE);
+        goals[i] = goal;
+        return this;
+    }
+
+    /**
+     * Adds a constant to the heuristic of the last term
+     */
+    public GoalCompiler offset(double offset) {
+        offsets[last()] += offset;
+        return this;
+    }
+
+    /**
+     * Replaces the membership test of the last term with {@link Goal#isInGoal(int, int, int)} of the given goal,
+     * for goals that only narrow down where they are satisfied
+     */
+    public GoalCompiler membership(Goal goal) {
+        int i = last();
+        membershipKinds[i] = M_OPAQUE;
+        goals[i] = goal;
+        return this;
+    }
+
+    /**
+     * Marks the heuristic as the minimum over a union of goals, like {@link GoalComposite}
+     */
+    public GoalCompiler union() {
+        union = true;
+        return this;
+    }
+
+    private int last() {
+        if (size == 0) {
+            throw new IllegalStateException("No term to modify");
+        }
+        return size - 1;
+    }
+
+    private int add(int heuristicKind, int membershipKind) {
+        if (size == xs.length) {
+            int capacity = size * 2;
+            heuristicKinds = Arrays.copyOf(heuristicKinds, capacity);
+            membershipKinds = Arrays.copyOf(membershipKinds, capacity);
+            xs = Arrays.copyOf(xs, capacity);
+            minYs = Arrays.copyOf(minYs, capacity);
+            maxYs = Arrays.copyOf(maxYs, capacity);
+            zs = Arrays.copyOf(zs, capacity);
+            params = Arrays.copyOf(params, capacity);
+            offsets = Arrays.copyOf(offsets, capacity);
+            goals = Arrays.copyOf(goals, capacity);
+            nested = Arrays.copyOf(nested, capacity);
+        }
+        heuristicKinds[size] = heuristicKind;
+        membershipKinds[size] = membershipKind;
+        return size++;
+    }
+}
@@ -57,6 +57,14 @@ public class GoalComposite implements Goal {
         return min;
     }
 
+    @Override
+    public void compile(GoalCompiler compiler) {
+        compiler.union();
+        for (Goal goal : goals) {
+            goal.compile(compiler);
+        }
+    }
+
     @Override
     public double heuristic() {
         double min = Double.MAX_VALUE;
@@ -67,6 +75,23 @@ public class GoalComposite implements Goal {
         return min;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        GoalComposite goal = (GoalComposite) o;
+        return Arrays.equals(goals, goal.goals);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(goals);
+    }
+
     @Override
     public String toString() {
         return "GoalComposite" + Arrays.toString(goals);
@@ -45,11 +45,33 @@ public class GoalInverted implements Goal {
         return -origin.heuristic(x, y, z);
     }
 
+    @Override
+    public void compile(GoalCompiler compiler) {
+        compiler.inverted(origin);
+    }
+
     @Override
     public double heuristic() {
         return Double.NEGATIVE_INFINITY;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        GoalInverted goal = (GoalInverted) o;
+        return origin.equals(goal.origin);
+    }
+
+    @Override
+    public int hashCode() {
+        return ~origin.hashCode();
+    }
+
     @Override
     public String toString() {
         return String.format("GoalInverted{%s}", origin.toString());
@@ -17,6 +17,7 @@
 
 package baritone.api.pathing.goals;
 
+import baritone.api.utils.BetterBlockPos;
 import baritone.api.utils.SettingsUtil;
 import baritone.api.utils.interfaces.IGoalRenderPos;
 import it.unimi.dsi.fastutil.doubles.DoubleIterator;
@@ -53,6 +54,15 @@ public class GoalNear implements Goal, IGoalRenderPos {
         return GoalBlock.calculate(xDiff, yDiff, zDiff);
     }
 
+    @Override
+    public void compile(GoalCompiler compiler) {
+        if (getClass() != GoalNear.class) {
+            compiler.opaque(this);
+            return;
+        }
+        compiler.near(x, y, z, rangeSq);
+    }
+
     @Override
     public double heuristic() {// TODO less hacky solution
         int range = (int) Math.ceil(Math.sqrt(rangeSq));
@@ -86,6 +96,26 @@ public class GoalNear implements Goal, IGoalRenderPos {
         return new BlockPos(x, y, z);
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        GoalNear goal = (GoalNear) o;
+        return x == goal.x
+                && y == goal.y
+                && z == goal.z
+                && rangeSq == goal.rangeSq;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) BetterBlockPos.longHash(x, y, z) * 31 + rangeSq;
+    }
+
     @Override
     public String toString() {
         return String.format(
@@ -23,6 +23,7 @@ import it.unimi.dsi.fastutil.doubles.DoubleIterator;
 import net.minecraft.util.math.BlockPos;
 
 import java.util.Arrays;
+import java.util.Objects;
 
 /**
  * Useful for automated combat (retreating specifically)
@@ -124,6 +125,25 @@ public class GoalRunAway implements Goal {
         return maxInside;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        GoalRunAway goal = (GoalRunAway) o;
+        return distanceSq == goal.distanceSq
+                && Objects.equals(maintainY, goal.maintainY)
+                && Arrays.equals(from, goal.from);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(from) * 31 + distanceSq;
+    }
+
     @Override
     public String toString() {
         if (maintainY != null) {
@@ -17,6 +17,7 @@
 
 package baritone.api.pathing.goals;
 
+import baritone.api.utils.BetterBlockPos;
 import baritone.api.utils.SettingsUtil;
 import baritone.api.utils.interfaces.IGoalRenderPos;
 import net.minecraft.util.math.BlockPos;
@@ -67,11 +68,39 @@ public class GoalTwoBlocks implements Goal, IGoalRenderPos {
         return GoalBlock.calculate(xDiff, yDiff < 0 ? yDiff + 1 : yDiff, zDiff);
     }
 
+    @Override
+    public void compile(GoalCompiler compiler) {
+        if (getClass() != GoalTwoBlocks.class) {
+            compiler.opaque(this);
+            return;
+        }
+        compiler.column(x, y - 1, y, z);
+    }
+
     @Override
     public BlockPos getGoalPos() {
         return new BlockPos(x, y, z);
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        GoalTwoBlocks goal = (GoalTwoBlocks) o;
+        return x == goal.x
+                && y == goal.y
+                && z == goal.z;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) BetterBlockPos.longHash(x, y, z);
+    }
+
     @Override
     public String toString() {
         return String.format(
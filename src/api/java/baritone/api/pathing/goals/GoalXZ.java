@@ -64,6 +64,33 @@ public class GoalXZ implements Goal {
         return calculate(xDiff, zDiff);
     }
 
+    @Override
+    public void compile(GoalCompiler compiler) {
+        if (getClass() != GoalXZ.class) {
+            compiler.opaque(this);
+            return;
+        }
+        compiler.xz(x, z);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        GoalXZ goal = (GoalXZ) o;
+        return x == goal.x
+                && z == goal.z;
+    }
+
+    @Override
+    public int hashCode() {
+        return x * 31 + z;
+    }
+
     @Override
     public String toString() {
         return String.format(
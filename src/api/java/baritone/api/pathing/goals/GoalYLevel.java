@@ -46,6 +46,15 @@ public class GoalYLevel implements Goal, ActionCosts {
         return calculate(level, y);
     }
 
+    @Override
+    public void compile(GoalCompiler compiler) {
+        if (getClass() != GoalYLevel.class) {
+            compiler.opaque(this);
+            return;
+        }
+        compiler.yLevel(level);
+    }
+
     public static double calculate(int goalY, int currentY) {
         if (currentY > goalY) {
             // need to descend
@@ -58,6 +67,23 @@ public class GoalYLevel implements Goal, ActionCosts {
         return 0;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        GoalYLevel goal = (GoalYLevel) o;
+        return level == goal.level;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(level);
+    }
+
     @Override
     public String toString() {
         return String.format(
@@ -39,7 +39,20 @@ public interface IBuilderProcess extends IBaritoneProcess {
      * @param schematic The object representation of the schematic
      * @param origin    The origin position of the schematic being built
      */
-    void build(String name, ISchematic schematic, Vec3i origin);
+    default void build(String name, ISchematic schematic, Vec3i origin) {
+        build(name, schematic, origin, null);
+    }
+
+    /**
+     * Same as {@link #build(String, ISchematic, Vec3i)}, sharing the blocks that need work with the other baritones
+     * attached to the given job. All of them should be given the same schematic and origin.
+     *
+     * @param name      A user-friendly name for the schematic
+     * @param schematic The object representation of the schematic
+     * @param origin    The origin position of the schematic being built
+     * @param job       The job to attach to, or {@code null} to build alone
+     */
+    void build(String name, ISchematic schematic, Vec3i origin, SharedJob job);
 
     /**
      * Requests a build for the specified schematic, labeled as specified, with the specified origin.
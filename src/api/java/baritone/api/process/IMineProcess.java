@@ -45,7 +45,19 @@ public interface IMineProcess extends IBaritoneProcess {
      * @param quantity The number of items to get from blocks mined
      * @param filter   The blocks to mine
      */
-    void mine(int quantity, BlockOptionalMetaLookup filter);
+    default void mine(int quantity, BlockOptionalMetaLookup filter) {
+        mine(quantity, filter, null);
+    }
+
+    /**
+     * Same as {@link #mine(int, BlockOptionalMetaLookup)}, sharing the ore locations with the other baritones
+     * attached to the given job instead of searching for them alone
+     *
+     * @param quantity The number of items to get from blocks mined
+     * @param filter   The blocks to mine
+     * @param job      The job to attach to, or {@code null} to mine alone
+     */
+    void mine(int quantity, BlockOptionalMetaLookup filter, SharedJob job);
 
     /**
      * Begin to search for and mine the specified blocks.
@@ -0,0 +1,362 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.api.process;
+
+import baritone.api.IBaritone;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.*;
+
+/**
+ * A set of targets that several baritones work on together, such as the ores of a vein or the incorrect blocks of a
+ * structure. The targets are held once, each attached baritone leases the ones it works on so they don't race for the
+ * same blocks or path to the same places, and only one of them at a time needs to scan for more.
+ * <p>
+ * Targets are partitioned into cells of 8x8x8 blocks, and cells are leased as a whole, so every baritone gets a compact
+ * area of its own, near where it is. A baritone that finds no free cell takes one over from whoever holds the most.
+ * A target that a baritone failed to get to is handed to the others, and is dropped once every attached baritone
+ * failed it. Leases of baritones that stopped asking for them expire.
+ * <p>
+ * Thread safe.
+ *
+ * @see IMineProcess#mine(int, baritone.api.utils.BlockOptionalMetaLookup, SharedJob)
+ * @see IBuilderProcess#build(String, baritone.api.schematic.ISchematic, net.minecraft.util.math.Vec3i, SharedJob)
+ */
+public final class SharedJob {
+
+    private static final int CELL_BITS = 3;
+
+    /**
+     * How long a baritone keeps its leases without renewing them
+     */
+    private static final long LEASE_TIMEOUT_MS = 10_000;
+
+    private final LongOpenHashSet targets = new LongOpenHashSet();
+
+    /**
+     * Targets that nobody failed yet, by cell
+     */
+    private final Long2ObjectOpenHashMap<LongOpenHashSet> cells = new Long2ObjectOpenHashMap<>();
+    private final Long2ObjectOpenHashMap<IBaritone> cellOwners = new Long2ObjectOpenHashMap<>();
+
+    /**
+     * Targets that somebody failed, leased one at a time to whoever didn't fail them yet
+     */
+    private final Long2ObjectOpenHashMap<Set<IBaritone>> failures = new Long2ObjectOpenHashMap<>();
+    private final Long2ObjectOpenHashMap<IBaritone> failureOwners = new Long2ObjectOpenHashMap<>();
+
+    /**
+     * Targets that every attached baritone failed, so that scans don't bring them back
+     */
+    private final LongOpenHashSet dropped = new LongOpenHashSet();
+
+    private final Map<IBaritone, Pawn> pawns = new HashMap<>();
+
+    private long lastScan = Long.MIN_VALUE;
+    private int phase;
+
+    public synchronized void attach(IBaritone baritone) {
+        pawns.computeIfAbsent(baritone, b -> new Pawn());
+    }
+
+    /**
+     * Detaches a baritone, giving up everything it leased
+     */
+    public synchronized void detach(IBaritone baritone) {
+        Pawn pawn = pawns.remove(baritone);
+        if (pawn != null) {
+            release(baritone, pawn);
+            dropFailedByAll();
+        }
+    }
+
+    public synchronized int getAttachedCount() {
+        return pawns.size();
+    }
+
+    public synchronized int size() {
+        return targets.size();
+    }
+
+    /**
+     * @return Whether there are no targets left that some attached baritone hasn't failed yet
+     */
+    public synchronized boolean isEmpty() {
+        return targets.isEmpty();
+    }
+
+    /**
+     * A counter the attached processes can use to move through stages of the job together, such as layers of a build
+     */
+    public synchronized int getPhase() {
+        return phase;
+    }
+
+    /**
+     * Raises the phase to the given one, if it isn't already there
+     */
+    public synchronized void advancePhase(int phase) {
+        this.phase = Math.max(this.phase, phase);
+    }
+
+    /**
+     * @param now      The current world time
+     * @param interval Minimum ticks between scans
+     * @return Whether the caller should scan for targets now. Only one caller per interval is told to.
+     */
+    public synchronized boolean claimScan(long now, int interval) {
+        if (lastScan != Long.MIN_VALUE && now - lastScan < interval) {
+            return false;
+        }
+        lastScan = now;
+        return true;
+    }
+
+    /**
+     * Adds targets that aren't known yet
+     */
+    public synchronized void offer(Collection<? extends BlockPos> positions) {
+        for (BlockPos pos : positions) {
+            offer(pos);
+        }
+    }
+
+    public synchronized void offer(BlockPos pos) {
+        long packed = pos.asLong();
+        if (dropped.contains(packed) || !targets.add(packed)) {
+            return;
+        }
+        cells.computeIfAbsent(cellOf(pos), cell -> new LongOpenHashSet()).add(packed);
+    }
+
+    /**
+     * Removes a target because it's done, or no longer needs doing
+     */
+    public synchronized void complete(BlockPos pos) {
+        long packed = pos.asLong();
+        if (!targets.remove(packed)) {
+            return;
+        }
+        if (failures.remove(packed) != null) {
+            failureOwners.remove(packed);
+        } else {
+            removeFromCell(packed);
+        }
+    }
+
+    /**
+     * Gives a target the given baritone couldn't get to to the others
+     */
+    public synchronized void fail(IBaritone baritone, BlockPos pos) {
+        long packed = pos.asLong();
+        if (!targets.contains(packed)) {
+            return;
+        }
+        Set<IBaritone> failed = failures.get(packed);
+        if (failed == null) {
+            removeFromCell(packed);
+            failed = new HashSet<>();
+            failures.put(packed, failed);
+        }
+        failed.add(baritone);
+        failureOwners.remove(packed);
+        if (failed.containsAll(pawns.keySet())) {
+            drop(packed);
+        }
+    }
+
+    /**
+     * Leases targets to the given baritone, attaching it if it isn't yet. Keeps the cells it already holds, and claims
+     * the free cells nearest to it until it has at least {@code count} targets.
+     *
+     * @param baritone The baritone leasing the targets
+     * @param from     Where the baritone is
+     * @param count    How many targets it would like to have
+     * @return Every target currently leased to the baritone, nearest first
+     */
+    public synchronized List<BlockPos> lease(IBaritone baritone, BlockPos from, int count) {
+        long now = System.currentTimeMillis();
+        expire(now);
+        Pawn pawn = pawns.computeIfAbsent(baritone, b -> new Pawn());
+        pawn.lastLease = now;
+        int leased = 0;
+        for (long cell : pawn.cells) {
+            leased += cells.get(cell).size();
+        }
+        while (leased < count) {
+            long cell = nearestFreeCell(from);
+            if (cell == Long.MIN_VALUE) {
+                if (!pawn.cells.isEmpty() || (cell = cellToTakeOver(baritone, from)) == Long.MIN_VALUE) {
+                    break;
+                }
+                pawns.get(cellOwners.get(cell)).cells.remove(cell);
+            }
+            cellOwners.put(cell, baritone);
+            pawn.cells.add(cell);
+            leased += cells.get(cell).size();
+        }
+        List<BlockPos> result = new ArrayList<>(leased);
+        for (long cell : pawn.cells) {
+            LongIterator it = cells.get(cell).iterator();
+            while (it.hasNext()) {
+                result.add(BlockPos.fromLong(it.nextLong()));
+            }
+        }
+        for (Long2ObjectMap.Entry<Set<IBaritone>> entry : failures.long2ObjectEntrySet()) {
+            long packed = entry.getLongKey();
+            IBaritone owner = failureOwners.get(packed);
+            if ((owner == null || owner == baritone) && !entry.getValue().contains(baritone)) {
+                failureOwners.put(packed, baritone);
+                result.add(BlockPos.fromLong(packed));
+            }
+        }
+        result.sort(Comparator.comparingDouble(from::getSquaredDistance));
+        return result;
+    }
+
+    private void expire(long now) {
+        boolean expired = false;
+        Iterator<Map.Entry<IBaritone, Pawn>> it = pawns.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<IBaritone, Pawn> entry = it.next();
+            Pawn pawn = entry.getValue();
+            if (pawn.lastLease != 0 && now - pawn.lastLease > LEASE_TIMEOUT_MS) {
+                it.remove();
+                release(entry.getKey(), pawn);
+                expired = true;
+            }
+        }
+        if (expired) {
+            dropFailedByAll();
+        }
+    }
+
+    /**
+     * Drops the targets that everyone still attached has failed, once whoever hadn't failed them yet is gone. Failures
+     * are kept while nobody is attached, for whoever attaches next.
+     */
+    private void dropFailedByAll() {
+        if (pawns.isEmpty()) {
+            return;
+        }
+        LongOpenHashSet failedByAll = new LongOpenHashSet();
+        for (Long2ObjectMap.Entry<Set<IBaritone>> entry : failures.long2ObjectEntrySet()) {
+            if (entry.getValue().containsAll(pawns.keySet())) {
+                failedByAll.add(entry.getLongKey());
+            }
+        }
+        LongIterator it = failedByAll.iterator();
+        while (it.hasNext()) {
+            drop(it.nextLong());
+        }
+    }
+
+    private void drop(long packed) {
+        targets.remove(packed);
+        failures.remove(packed);
+        failureOwners.remove(packed);
+        dropped.add(packed);
+    }
+
+    private void release(IBaritone baritone, Pawn pawn) {
+        for (long cell : pawn.cells) {
+            cellOwners.remove(cell);
+        }
+        pawn.cells.clear();
+        failureOwners.values().removeIf(owner -> owner == baritone);
+    }
+
+    private long nearestFreeCell(BlockPos from) {
+        long nearest = Long.MIN_VALUE;
+        double nearestDist = Double.MAX_VALUE;
+        for (long cell : cells.keySet()) {
+            if (!cellOwners.containsKey(cell)) {
+                double dist = cellDistanceSq(cell, from);
+                if (dist < nearestDist) {
+                    nearest = cell;
+                    nearestDist = dist;
+                }
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * The cell nearest to the given position, among those of whoever holds the most cells, as long as they have more
+     * than one
+     */
+    private long cellToTakeOver(IBaritone baritone, BlockPos from) {
+        Pawn busiest = null;
+        for (Map.Entry<IBaritone, Pawn> entry : pawns.entrySet()) {
+            if (entry.getKey() != baritone && (busiest == null || entry.getValue().cells.size() > busiest.cells.size())) {
+                busiest = entry.getValue();
+            }
+        }
+        if (busiest == null || busiest.cells.size() <= 1) {
+            return Long.MIN_VALUE;
+        }
+        long nearest = Long.MIN_VALUE;
+        double nearestDist = Double.MAX_VALUE;
+        for (long cell : busiest.cells) {
+            double dist = cellDistanceSq(cell, from);
+            if (dist < nearestDist) {
+                nearest = cell;
+                nearestDist = dist;
+            }
+        }
+        return nearest;
+    }
+
+    private void removeFromCell(long packed) {
+        long cell = cellOf(BlockPos.fromLong(packed));
+        LongOpenHashSet inCell = cells.get(cell);
+        if (inCell == null) {
+            return;
+        }
+        inCell.remove(packed);
+        if (inCell.isEmpty()) {
+            cells.remove(cell);
+            IBaritone owner = cellOwners.remove(cell);
+            if (owner != null) {
+                pawns.get(owner).cells.remove(cell);
+            }
+        }
+    }
+
+    private static long cellOf(BlockPos pos) {
+        return BlockPos.asLong(pos.getX() >> CELL_BITS, pos.getY() >> CELL_BITS, pos.getZ() >> CELL_BITS);
+    }
+
+    private static double cellDistanceSq(long cell, BlockPos from) {
+        int half = 1 << (CELL_BITS - 1);
+        double dx = (BlockPos.unpackLongX(cell) << CELL_BITS) + half - from.getX();
+        double dy = (BlockPos.unpackLongY(cell) << CELL_BITS) + half - from.getY();
+        double dz = (BlockPos.unpackLongZ(cell) << CELL_BITS) + half - from.getZ();
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static final class Pawn {
+
+        private final LongOpenHashSet cells = new LongOpenHashSet();
+        private long lastLease;
+    }
+}
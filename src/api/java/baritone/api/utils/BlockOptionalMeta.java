@@ -115,6 +115,23 @@ public final class BlockOptionalMeta {
         return stackHashes.contains(hash);
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        BlockOptionalMeta other = (BlockOptionalMeta) o;
+        return block == other.block && blockstates.equals(other.blockstates);
+    }
+
+    @Override
+    public int hashCode() {
+        return block.hashCode() * 31 + blockstates.hashCode();
+    }
+
     @Override
     public String toString() {
         return String.format("BlockOptionalMeta{block=%s}", block);
@@ -86,6 +86,22 @@ public class BlockOptionalMetaLookup {
         return Arrays.asList(boms);
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return Arrays.equals(boms, ((BlockOptionalMetaLookup) o).boms);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(boms);
+    }
+
     @Override
     public String toString() {
         return String.format(
@@ -0,0 +1,92 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.bench;
+
+import baritone.api.IBaritone;
+import baritone.api.Settings;
+import baritone.pathing.movement.CalculationContext;
+import baritone.utils.source.InMemoryBlockSource;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Everything needed to run pathing code without a server: registry bootstrap, settings that do not depend on
+ * the global settings file, and an {@link IBaritone} that only provides those settings.
+ */
+public final class Headless {
+
+    private static boolean bootstrapped;
+
+    private Headless() {}
+
+    /**
+     * Initializes the vanilla registries, must be called before touching any block or item
+     */
+    public static synchronized void bootstrap() {
+        if (!bootstrapped) {
+            SharedConstants.createGameVersion();
+            Bootstrap.initialize();
+            bootstrapped = true;
+        }
+    }
+
+    /**
+     * Settings pinned to their defaults, so that results do not depend on the local settings file
+     *
+     * @return A new settings instance
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Settings settings() {
+        Settings settings = new Settings();
+        for (Settings.Setting setting : settings.allSettings) {
+            setting.set(setting.defaultValue);
+        }
+        return settings;
+    }
+
+    /**
+     * @param settings The settings to provide
+     * @return An {@link IBaritone} that returns the given settings, and null, false or nothing from everything else
+     */
+    public static IBaritone baritone(Settings settings) {
+        return (IBaritone) Proxy.newProxyInstance(IBaritone.class.getClassLoader(), new Class<?>[]{IBaritone.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "settings":
+                    return settings;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "HeadlessBaritone";
+                default:
+                    return method.getReturnType() == boolean.class ? Boolean.FALSE : null;
+            }
+        });
+    }
+
+    public static CalculationContext context(InMemoryBlockSource world) {
+        return context(world, settings());
+    }
+
+    public static CalculationContext context(InMemoryBlockSource world, Settings settings) {
+        return new CalculationContext(baritone(settings), world.bsi());
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.bench;
+
+import baritone.api.Settings;
+import baritone.api.pathing.calc.IPath;
+import baritone.api.pathing.goals.Goal;
+import baritone.api.utils.BetterBlockPos;
+import baritone.api.utils.PathCalculationResult;
+import baritone.pathing.calc.AStarPathFinder;
+import baritone.pathing.movement.CalculationContext;
+import baritone.utils.PathingSnapshot;
+import baritone.utils.pathing.Favoring;
+import baritone.utils.source.InMemoryBlockSource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Replays fixed searches headless and compares the outcome against recorded baselines, so that changes to the
+ * pathfinder can be checked for equivalence as well as speed.
+ * <p>
+ * Every {@link WorldFixture} is a case, as is every {@code .nbt} file made by the snapshot command in the snapshot
+ * directory. Settings are pinned to their defaults and timeouts are large enough for every search to run to
+ * completion, which makes cost, length and expanded nodes exact. Wall time is the median of several runs after
+ * warmup. It is only recorded with {@code --record-time}, since it differs between machines, and only fails when it
+ * exceeds a recorded baseline by more than the tolerance.
+ * <p>
+ * Arguments: {@code [--record] [--record-time] [--baselines <file>] [--snapshots <dir>] [--runs <n>] [--tolerance <factor>]}.
+ * Exits with 1 if any case regressed, or if a fixture has no baseline to compare against.
+ */
+public final class PathingRegression {
+
+    private static final long TIMEOUT = 60_000;
+    private static final int WARMUP = 2;
+    private static final double COST_EPSILON = 1e-6;
+    private static final long TIME_SLACK_MS = 50;
+    private static final String SNAPSHOT_PREFIX = "snapshot/";
+
+    private PathingRegression() {}
+
+    /**
+     * The exactly reproducible part of a search, plus its median wall time, or -1 if that wasn't recorded
+     */
+    static final class Outcome {
+
+        final double cost;
+        final int length;
+        final int nodes;
+        final long timeMS;
+
+        Outcome(double cost, int length, int nodes, long timeMS) {
+            this.cost = cost;
+            this.length = length;
+            this.nodes = nodes;
+            this.timeMS = timeMS;
+        }
+
+        static Outcome parse(String line) {
+            String[] parts = line.trim().split("\\s+");
+            long timeMS = parts.length > 4 ? Long.parseLong(parts[4]) : -1;
+            return new Outcome(Double.parseDouble(parts[1]), Integer.parseInt(parts[2]), Integer.parseInt(parts[3]), timeMS);
+        }
+
+        String format(String name, boolean withTime) {
+            return name + " " + cost + " " + length + " " + nodes + (withTime ? " " + timeMS : "");
+        }
+    }
+
+    public static void main(String[] argv) throws IOException {
+        boolean record = false;
+        boolean recordTime = false;
+        Path baselines = Paths.get("pathing-baselines.txt");
+        Path snapshots = null;
+        int runs = 5;
+        double tolerance = 1.5;
+        for (int i = 0; i < argv.length; i++) {
+            switch (argv[i]) {
+                case "--record":
+                    record = true;
+                    break;
+                case "--record-time":
+                    record = true;
+                    recordTime = true;
+                    break;
+                case "--baselines":
+                    baselines = Paths.get(argv[++i]);
+                    break;
+                case "--snapshots":
+                    snapshots = Paths.get(argv[++i]);
+                    break;
+                case "--runs":
+                    runs = Integer.parseInt(argv[++i]);
+                    break;
+                case "--tolerance":
+                    tolerance = Double.parseDouble(argv[++i]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown argument " + argv[i]);
+            }
+        }
+        if (!record && !Files.exists(baselines)) {
+            System.out.println("No baselines at " + baselines + ", record them with --record");
+            System.exit(1);
+        }
+        Headless.bootstrap();
+        Map<String, Outcome> expected = record ? Collections.emptyMap() : readBaselines(baselines);
+        Map<String, Outcome> actual = new TreeMap<>();
+        for (WorldFixture fixture : WorldFixture.values()) {
+            actual.put(fixture.name(), run(fixture.world(), fixture.start(), fixture.goal(), runs));
+        }
+        if (snapshots != null && Files.isDirectory(snapshots)) {
+            try (Stream<Path> files = Files.list(snapshots)) {
+                for (Path file : (Iterable<Path>) files.filter(f -> f.toString().endsWith(".nbt")).sorted()::iterator) {
+                    PathingSnapshot snapshot = PathingSnapshot.read(file);
+                    String name = SNAPSHOT_PREFIX + file.getFileName().toString().replace(".nbt", "");
+                    actual.put(name, run(snapshot.blocks, snapshot.start, snapshot.goal, runs));
+                }
+            }
+        }
+        if (record) {
+            List<String> lines = new ArrayList<>();
+            lines.add("# name cost length nodes" + (recordTime ? " timeMS" : "") + ", written by PathingRegression --record");
+            boolean withTime = recordTime;
+            actual.forEach((name, outcome) -> lines.add(outcome.format(name, withTime)));
+            Files.write(baselines, lines);
+            System.out.println("Recorded " + actual.size() + " baselines to " + baselines);
+            return;
+        }
+        int failures = 0;
+        for (Map.Entry<String, Outcome> entry : actual.entrySet()) {
+            String name = entry.getKey();
+            Outcome now = entry.getValue();
+            Outcome then = expected.get(name);
+            List<String> problems = new ArrayList<>();
+            if (then == null) {
+                System.out.println("NEW  " + now.format(name, true));
+                if (!name.startsWith(SNAPSHOT_PREFIX)) {
+                    // snapshots are local to whoever took them, but every fixture must be checked
+                    failures++;
+                }
+                continue;
+            }
+            if (Math.abs(now.cost - then.cost) > COST_EPSILON && !(Double.isNaN(now.cost) && Double.isNaN(then.cost))) {
+                problems.add("cost " + then.cost + " -> " + now.cost);
+            }
+            if (now.length != then.length) {
+                problems.add("length " + then.length + " -> " + now.length);
+            }
+            if (now.nodes != then.nodes) {
+                problems.add("nodes " + then.nodes + " -> " + now.nodes);
+            }
+            if (then.timeMS >= 0 && now.timeMS > then.timeMS * tolerance + TIME_SLACK_MS) {
+                problems.add("time " + then.timeMS + "ms -> " + now.timeMS + "ms");
+            }
+            if (problems.isEmpty()) {
+                System.out.println("OK   " + name + " (" + now.timeMS + "ms" + (then.timeMS >= 0 ? ", was " + then.timeMS + "ms" : "") + ")");
+            } else {
+                failures++;
+                System.out.println("FAIL " + name + ": " + String.join(", ", problems));
+            }
+        }
+        for (String name : expected.keySet()) {
+            if (!actual.containsKey(name)) {
+                System.out.println("GONE " + name);
+                if (!name.startsWith(SNAPSHOT_PREFIX)) {
+                    failures++;
+                }
+            }
+        }
+        if (failures > 0) {
+            System.out.println(failures + " cases regressed or have no baseline");
+            System.exit(1);
+        }
+    }
+
+    static Outcome run(InMemoryBlockSource world, BetterBlockPos start, Goal goal, int runs) {
+        Settings settings = Headless.settings();
+        Outcome first = null;
+        long[] times = new long[runs];
+        for (int i = -WARMUP; i < runs; i++) {
+            // a fresh context every time, nothing may carry over between runs
+            CalculationContext context = Headless.context(world, settings);
+            AStarPathFinder finder = new AStarPathFinder(start.x, start.y, start.z, goal, new Favoring(null, context), context);
+            long before = System.nanoTime();
+            PathCalculationResult result = finder.calculate(TIMEOUT, TIMEOUT);
+            long elapsed = (System.nanoTime() - before) / 1_000_000;
+            int nodes = finder.getSearchRecord().map(record -> record.nodesExpanded).orElse(0);
+            Optional<IPath> path = result.getPath();
+            Outcome outcome = new Outcome(
+                    path.map(p -> p.ticksRemainingFrom(0)).orElse(Double.NaN),
+                    path.map(IPath::length).orElse(0),
+                    nodes,
+                    elapsed
+            );
+            if (first == null) {
+                first = outcome;
+            } else if (first.nodes != outcome.nodes || first.length != outcome.length || Double.compare(first.cost, outcome.cost) != 0) {
+                throw new IllegalStateException("Search is not deterministic from " + start + " to " + goal);
+            }
+            if (i >= 0) {
+                times[i] = elapsed;
+            }
+        }
+        Arrays.sort(times);
+        return new Outcome(first.cost, first.length, first.nodes, times[runs / 2]);
+    }
+
+    private static Map<String, Outcome> readBaselines(Path file) {
+        Map<String, Outcome> baselines = new HashMap<>();
+        try {
+            for (String line : Files.readAllLines(file)) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                baselines.put(line.trim().split("\\s+")[0], Outcome.parse(line));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return baselines;
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.bench;
+
+import baritone.api.pathing.goals.Goal;
+import baritone.api.pathing.goals.GoalBlock;
+import baritone.api.utils.BetterBlockPos;
+import baritone.utils.source.InMemoryBlockSource;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic worlds, each with a start and a goal on opposite corners. Worlds are generated from a
+ * fixed seed with {@link Random}, so they are identical across runs and machines.
+ */
+public enum WorldFixture {
+
+    /**
+     * Grass on stone, nothing in the way
+     */
+    FLAT {
+        @Override
+        void generate(InMemoryBlockSource world) {
+            world.fill(0, 0, 0, SIZE - 1, GROUND - 2, SIZE - 1, STONE);
+            world.fill(0, GROUND - 1, 0, SIZE - 1, GROUND - 1, SIZE - 1, GRASS);
+        }
+    },
+
+    /**
+     * Solid stone with ores, crossed by winding tunnels, one of which connects the start to the goal
+     */
+    CAVE {
+        @Override
+        void generate(InMemoryBlockSource world) {
+            Random random = new Random(SEED);
+            world.fill(0, 0, 0, SIZE - 1, CAVE_TOP, SIZE - 1, STONE);
+            sprinkleOres(world, random, CAVE_TOP);
+            carveWorm(world, random, 4, CAVE_Y, 4, SIZE - 5, CAVE_Y, SIZE - 5);
+            for (int i = 0; i < 24; i++) {
+                carveWorm(world, random, random.nextInt(SIZE), 8 + random.nextInt(CAVE_TOP - 16), random.nextInt(SIZE), random.nextInt(SIZE), 8 + random.nextInt(CAVE_TOP - 16), random.nextInt(SIZE));
+            }
+            room(world, 4, CAVE_Y, 4);
+            room(world, SIZE - 5, CAVE_Y, SIZE - 5);
+        }
+
+        @Override
+        BetterBlockPos start(InMemoryBlockSource world) {
+            return new BetterBlockPos(4, CAVE_Y, 4);
+        }
+
+        @Override
+        Goal goal(InMemoryBlockSource world) {
+            return new GoalBlock(SIZE - 5, CAVE_Y, SIZE - 5);
+        }
+    },
+
+    /**
+     * A perfect maze of three high stone walls on a flat floor, corridors are three blocks wide
+     */
+    MAZE {
+        @Override
+        void generate(InMemoryBlockSource world) {
+            FLAT.generate(world);
+            Random random = new Random(SEED);
+            int cells = (SIZE - 1) / MAZE_CELL;
+            int mazeSize = cells * MAZE_CELL;
+            world.fill(0, GROUND, 0, mazeSize, GROUND + 2, mazeSize, STONE);
+            boolean[] visited = new boolean[cells * cells];
+            Deque<int[]> stack = new ArrayDeque<>();
+            stack.push(new int[]{0, 0});
+            visited[0] = true;
+            carveCell(world, 0, 0);
+            int[][] directions = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+            while (!stack.isEmpty()) {
+                int[] cell = stack.peek();
+                int[] next = null;
+                int options = 0;
+                for (int[] direction : directions) {
+                    int nx = cell[0] + direction[0];
+                    int nz = cell[1] + direction[1];
+                    if (nx >= 0 && nz >= 0 && nx < cells && nz < cells && !visited[nx * cells + nz] && random.nextInt(++options) == 0) {
+                        next = new int[]{nx, nz};
+                    }
+                }
+                if (next == null) {
+                    stack.pop();
+                    continue;
+                }
+                visited[next[0] * cells + next[1]] = true;
+                carveCell(world, next[0], next[1]);
+                // knock out the wall between the two cells
+                int wallX = Math.min(cell[0], next[0]) * MAZE_CELL + 1 + (next[0] != cell[0] ? MAZE_CELL - 1 : 0);
+                int wallZ = Math.min(cell[1], next[1]) * MAZE_CELL + 1 + (next[1] != cell[1] ? MAZE_CELL - 1 : 0);
+                if (next[0] != cell[0]) {
+                    world.fill(wallX, GROUND, wallZ, wallX, GROUND + 2, wallZ + MAZE_CELL - 2, AIR);
+                } else {
+                    world.fill(wallX, GROUND, wallZ, wallX + MAZE_CELL - 2, GROUND + 2, wallZ, AIR);
+                }
+                stack.push(next);
+            }
+        }
+
+        @Override
+        Goal goal(InMemoryBlockSource world) {
+            int last = ((SIZE - 1) / MAZE_CELL - 1) * MAZE_CELL + MAZE_CELL / 2;
+            return new GoalBlock(last, GROUND, last);
+        }
+
+        @Override
+        BetterBlockPos start(InMemoryBlockSource world) {
+            return new BetterBlockPos(MAZE_CELL / 2, GROUND, MAZE_CELL / 2);
+        }
+    },
+
+    /**
+     * A flat world with a wide and deep lake between the start and the goal
+     */
+    WATER {
+        @Override
+        void generate(InMemoryBlockSource world) {
+            FLAT.generate(world);
+            world.fill(16, GROUND - 14, 16, SIZE - 17, GROUND - 1, SIZE - 17, WATER_STATE);
+        }
+    },
+
+    /**
+     * Rolling hills with floating stone shelves and leaf canopies, lots of low ceilings
+     */
+    OVERHANGS {
+        @Override
+        void generate(InMemoryBlockSource world) {
+            Random random = new Random(SEED);
+            for (int x = 0; x < SIZE; x++) {
+                for (int z = 0; z < SIZE; z++) {
+                    int surface = surface(x, z);
+                    world.fill(x, 0, z, x, surface - 1, z, STONE);
+                    world.set(x, surface, z, GRASS);
+                }
+            }
+            sprinkleOres(world, random, GROUND - 8);
+            for (int i = 0; i < 160; i++) {
+                int x0 = random.nextInt(SIZE);
+                int z0 = random.nextInt(SIZE);
+                int y = surface(x0, z0) + 3 + random.nextInt(3);
+                BlockState state = random.nextInt(3) == 0 ? LEAVES : STONE;
+                world.fill(x0, y, z0, Math.min(SIZE - 1, x0 + 4 + random.nextInt(8)), y, Math.min(SIZE - 1, z0 + 4 + random.nextInt(8)), state);
+            }
+        }
+
+        @Override
+        BetterBlockPos start(InMemoryBlockSource world) {
+            return new BetterBlockPos(4, surface(4, 4) + 1, 4);
+        }
+
+        @Override
+        Goal goal(InMemoryBlockSource world) {
+            int last = SIZE - 5;
+            return new GoalBlock(last, surface(last, last) + 1, last);
+        }
+    };
+
+    public static final long SEED = 0xBA817073EL;
+    public static final int SIZE_CHUNKS = 8;
+    public static final int HEIGHT = 128;
+    public static final int SIZE = SIZE_CHUNKS << 4;
+
+    private static final int GROUND = 64;
+    private static final int CAVE_TOP = 96;
+    private static final int CAVE_Y = 40;
+    private static final int MAZE_CELL = 4;
+
+    private static final BlockState AIR = Blocks.AIR.getDefaultState();
+    private static final BlockState STONE = Blocks.STONE.getDefaultState();
+    private static final BlockState GRASS = Blocks.GRASS_BLOCK.getDefaultState();
+    private static final BlockState LEAVES = Blocks.OAK_LEAVES.getDefaultState();
+    private static final BlockState WATER_STATE = Blocks.WATER.getDefaultState();
+
+    private InMemoryBlockSource world;
+
+    abstract void generate(InMemoryBlockSource world);
+
+    BetterBlockPos start(InMemoryBlockSource world) {
+        return new BetterBlockPos(4, GROUND, 4);
+    }
+
+    Goal goal(InMemoryBlockSource world) {
+        return new GoalBlock(SIZE - 5, GROUND, SIZE - 5);
+    }
+
+    /**
+     * @return The world, generated on first use and shared afterwards. Treat it as read only.
+     */
+    public synchronized InMemoryBlockSource world() {
+        if (world == null) {
+            Headless.bootstrap();
+            world = new InMemoryBlockSource(0, 0, SIZE_CHUNKS, SIZE_CHUNKS, 0, HEIGHT);
+            generate(world);
+        }
+        return world;
+    }
+
+    public BetterBlockPos start() {
+        return start(world());
+    }
+
+    public Goal goal() {
+        return goal(world());
+    }
+
+    private static int surface(int x, int z) {
+        return GROUND + (int) Math.round(5 * Math.sin(x / 9.0) + 4 * Math.cos(z / 7.0) + 2 * Math.sin((x + z) / 5.0));
+    }
+
+    private static void sprinkleOres(InMemoryBlockSource world, Random random, int maxY) {
+        for (int i = 0; i < SIZE * SIZE / 8; i++) {
+            int x = random.nextInt(SIZE);
+            int y = 1 + random.nextInt(maxY - 1);
+            int z = random.nextInt(SIZE);
+            if (world.get(x, y, z) == STONE) {
+                world.set(x, y, z, (i & 31) == 0 ? Blocks.DIAMOND_ORE.getDefaultState() : Blocks.COAL_ORE.getDefaultState());
+            }
+        }
+    }
+
+    /**
+     * Carves a wandering tunnel that always ends up at the destination, stepping at most one block vertically at a time
+     */
+    private static void carveWorm(InMemoryBlockSource world, Random random, int x, int y, int z, int destX, int destY, int destZ) {
+        while (x != destX || y != destY || z != destZ) {
+            world.fill(x - 1, y, z - 1, x + 1, y + 2, z + 1, AIR);
+            int axis = random.nextInt(4);
+            if (axis == 0 && x != destX) {
+                x += Integer.signum(destX - x);
+            } else if (axis == 1 && z != destZ) {
+                z += Integer.signum(destZ - z);
+            } else if (axis == 2 && y != destY) {
+                y += Integer.signum(destY - y);
+            } else if (axis == 3) {
+                // wander sideways
+                if (random.nextBoolean()) {
+                    x += random.nextBoolean() ? 1 : -1;
+                } else {
+                    z += random.nextBoolean() ? 1 : -1;
+                }
+                x = Math.max(1, Math.min(SIZE - 2, x));
+                z = Math.max(1, Math.min(SIZE - 2, z));
+            }
+        }
+        world.fill(x - 1, y, z - 1, x + 1, y + 2, z + 1, AIR);
+    }
+
+    private static void room(InMemoryBlockSource world, int x, int y, int z) {
+        world.fill(x - 2, y, z - 2, x + 2, y + 2, z + 2, AIR);
+        world.fill(x - 2, y - 1, z - 2, x + 2, y - 1, z + 2, STONE);
+    }
+
+    private static void carveCell(InMemoryBlockSource world, int cellX, int cellZ) {
+        int x = cellX * MAZE_CELL + 1;
+        int z = cellZ * MAZE_CELL + 1;
+        world.fill(x, GROUND, z, x + MAZE_CELL - 2, GROUND + 2, z + MAZE_CELL - 2, AIR);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.cache;
+
+import baritone.bench.Headless;
+import baritone.bench.WorldFixture;
+import baritone.utils.source.InMemoryBlockSource;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.chunk.PalettedContainer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Scanning every section of a synthetic world for a block, as {@link WorldScanner} does for each loaded chunk.
+ * Rare blocks mostly exercise the palette check, common ones the full section walk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2G", "-Xmx2G"})
+public class ChunkScanBenchmark {
+
+    @Param({"CAVE", "OVERHANGS"})
+    public WorldFixture world;
+
+    @Param({"diamond_ore", "coal_ore", "stone"})
+    public String target;
+
+    private InMemoryBlockSource synthetic;
+    private Predicate<BlockState> filter;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Headless.bootstrap();
+        synthetic = world.world();
+        Block block = switch (target) {
+            case "diamond_ore" -> Blocks.DIAMOND_ORE;
+            case "coal_ore" -> Blocks.COAL_ORE;
+            default -> Blocks.STONE;
+        };
+        filter = state -> state.isOf(block);
+    }
+
+    @Benchmark
+    public List<BlockPos> scan() {
+        List<BlockPos> result = new ArrayList<>();
+        for (int chunkX = 0; chunkX < synthetic.getSizeX(); chunkX++) {
+            for (int chunkZ = 0; chunkZ < synthetic.getSizeZ(); chunkZ++) {
+                for (int sectionY = 0; sectionY < synthetic.getSectionCount(); sectionY++) {
+                    PalettedContainer<BlockState> section = synthetic.getSection(chunkX, sectionY, chunkZ);
+                    if (section != null) {
+                        WorldScanner.scanSectionInto(chunkX << 4, sectionY << 4, chunkZ << 4, section, filter, result, Integer.MAX_VALUE, 0, 0, false);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.pathing.calc;
+
+import baritone.api.Settings;
+import baritone.api.utils.BetterBlockPos;
+import baritone.api.utils.PathCalculationResult;
+import baritone.bench.Headless;
+import baritone.bench.WorldFixture;
+import baritone.pathing.movement.CalculationContext;
+import baritone.utils.pathing.Favoring;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full searches from corner to corner of each synthetic world, including path assembly.
+ * <p>
+ * The {@code nodes} and {@code movements} secondary results are the node expansion and movement evaluation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2G", "-Xmx2G"})
+public class AStarBenchmark {
+
+    private static final long TIMEOUT = 60_000;
+
+    @Param({"FLAT", "CAVE", "MAZE", "WATER", "OVERHANGS"})
+    public WorldFixture world;
+
+    /**
+     * See {@link baritone.api.Settings#pathingOpenSet}
+     */
+    @Param({"binary", "pairing", "bucket"})
+    public String openSet;
+
+    private CalculationContext context;
+    private Favoring favoring;
+    private BetterBlockPos start;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Headless.bootstrap();
+        Settings settings = Headless.settings();
+        settings.pathingOpenSet.set(openSet);
+        context = Headless.context(world.world(), settings);
+        favoring = new Favoring(null, context);
+        start = world.start();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+
+        public long nodes;
+        public long movements;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            nodes = 0;
+            movements = 0;
+        }
+    }
+
+    @Benchmark
+    public PathCalculationResult search(Counters counters) {
+        AStarPathFinder finder = new AStarPathFinder(start.x, start.y, start.z, world.goal(), favoring, context);
+        PathCalculationResult result = finder.calculate(TIMEOUT, TIMEOUT);
+        finder.getSearchRecord().ifPresent(record -> {
+            counters.nodes += record.nodesExpanded;
+            counters.movements += record.movementsConsidered;
+        });
+        return result;
+    }
+}
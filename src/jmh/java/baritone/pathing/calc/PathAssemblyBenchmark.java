@@ -0,0 +1,91 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.pathing.calc;
+
+import baritone.api.pathing.calc.IPath;
+import baritone.api.pathing.goals.CompiledGoal;
+import baritone.api.pathing.goals.Goal;
+import baritone.api.pathing.movement.IMovement;
+import baritone.api.utils.BetterBlockPos;
+import baritone.bench.Headless;
+import baritone.bench.WorldFixture;
+import baritone.pathing.movement.CalculationContext;
+import baritone.utils.pathing.Favoring;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turning a finished {@link PathNode} chain into movements, which runs every movement's cost function again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2G", "-Xmx2G"})
+public class PathAssemblyBenchmark {
+
+    @Param({"FLAT", "CAVE", "MAZE", "WATER", "OVERHANGS"})
+    public WorldFixture world;
+
+    private CalculationContext context;
+    private Goal goal;
+    private PathNode start;
+    private PathNode end;
+    private int length;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Headless.bootstrap();
+        context = Headless.context(world.world());
+        goal = world.goal();
+        BetterBlockPos from = world.start();
+        IPath path = new AStarPathFinder(from.x, from.y, from.z, goal, new Favoring(null, context), context)
+                .calculate(60_000, 60_000)
+                .getPath()
+                .orElseThrow(() -> new IllegalStateException("No path in " + world));
+        // rebuild the node chain the search produced, with the same cumulative costs
+        List<BetterBlockPos> positions = path.positions();
+        List<IMovement> movements = path.movements();
+        CompiledGoal compiledGoal = CompiledGoal.of(goal);
+        double cost = 0;
+        PathNode previous = null;
+        for (int i = 0; i < positions.size(); i++) {
+            BetterBlockPos pos = positions.get(i);
+            PathNode node = new PathNode(pos.x, pos.y, pos.z, compiledGoal);
+            if (i > 0) {
+                cost += movements.get(i - 1).getCost();
+            }
+            node.cost = cost;
+            node.previous = previous;
+            if (previous == null) {
+                start = node;
+            }
+            previous = node;
+        }
+        end = previous;
+        length = positions.size();
+    }
+
+    @Benchmark
+    public IPath assemble() {
+        return new Path(start, end, length, goal, context).postProcess();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.pathing.calc.openset;
+
+import baritone.api.pathing.goals.CompiledGoal;
+import baritone.api.pathing.goals.GoalBlock;
+import baritone.pathing.calc.PathNode;
+import baritone.bench.Headless;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Open set operations in the proportions A* uses them: every node is inserted once, a fraction of them get a
+ * decrease-key, and everything is eventually removed in order.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2G", "-Xmx2G"})
+public class OpenSetBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    /**
+     * Whether costs are spread evenly, or clustered around whole ticks like real movement costs are
+     */
+    @Param({"false", "true"})
+    public boolean ticks;
+
+    private PathNode[] nodes;
+    private double[] costs;
+    private int[] updates;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Headless.bootstrap();
+        Random random = new Random(0xBA817073EL);
+        CompiledGoal goal = CompiledGoal.of(new GoalBlock(0, 0, 0));
+        nodes = new PathNode[size];
+        costs = new double[size];
+        for (int i = 0; i < size; i++) {
+            nodes[i] = new PathNode(i, 64, -i, goal);
+            costs[i] = ticks ? random.nextInt(1000) + random.nextInt(4) * 0.25 : random.nextDouble() * 1000;
+        }
+        updates = new int[size / 4];
+        for (int i = 0; i < updates.length; i++) {
+            updates[i] = random.nextInt(size);
+        }
+    }
+
+    @Benchmark
+    public double binaryHeap() {
+        return run(new BinaryHeapOpenSet());
+    }
+
+    @Benchmark
+    public double pairingHeap() {
+        return run(new PairingHeapOpenSet());
+    }
+
+    @Benchmark
+    public double bucketQueue() {
+        return run(new BucketOpenSet());
+    }
+
+    private double run(IOpenSet openSet) {
+        for (int i = 0; i < size; i++) {
+            nodes[i].combinedCost = costs[i];
+            openSet.insert(nodes[i]);
+        }
+        for (int index : updates) {
+            PathNode node = nodes[index];
+            if (node.isOpen()) {
+                node.combinedCost *= 0.5;
+                openSet.update(node);
+            }
+        }
+        double sum = 0;
+        while (!openSet.isEmpty()) {
+            sum += openSet.removeLowest().combinedCost;
+        }
+        return sum;
+    }
+}
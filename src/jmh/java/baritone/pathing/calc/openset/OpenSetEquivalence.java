@@ -0,0 +1,161 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.pathing.calc.openset;
+
+import baritone.api.pathing.goals.CompiledGoal;
+import baritone.api.pathing.goals.GoalBlock;
+import baritone.bench.Headless;
+import baritone.pathing.calc.PathNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Checks that every open set removes nodes in exactly the same order as {@link BinaryHeapOpenSet}, under the mix of
+ * operations A* puts them through: inserts above the last removed cost, decrease-keys, closed nodes reopened, and
+ * removals. Costs are made unique so that the order is fully determined, some runs spread out and some clustered on
+ * quarter ticks like real movement costs.
+ * <p>
+ * Arguments: {@code [--runs <n>] [--operations <n>]}. Exits with 1 at the first difference.
+ */
+public final class OpenSetEquivalence {
+
+    private static final long SEED = 0x0BE45E7L;
+
+    private OpenSetEquivalence() {}
+
+    public static void main(String[] argv) {
+        int runs = 200;
+        int operations = 20_000;
+        for (int i = 0; i < argv.length; i++) {
+            switch (argv[i]) {
+                case "--runs":
+                    runs = Integer.parseInt(argv[++i]);
+                    break;
+                case "--operations":
+                    operations = Integer.parseInt(argv[++i]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown argument " + argv[i]);
+            }
+        }
+        Headless.bootstrap();
+        CompiledGoal goal = CompiledGoal.of(new GoalBlock(0, 0, 0));
+        int failures = 0;
+        for (int run = 0; run < runs; run++) {
+            boolean ticks = (run & 1) == 1;
+            failures += check("pairing", PairingHeapOpenSet::new, run, ticks, operations, goal);
+            failures += check("bucket", BucketOpenSet::new, run, ticks, operations, goal);
+        }
+        if (failures > 0) {
+            System.exit(1);
+        }
+        System.out.println("OK   pairing and bucket open sets match the binary heap over " + runs + " runs");
+    }
+
+    /**
+     * Replays the same random operations against a binary heap and the given open set, each with nodes of its own
+     *
+     * @return 1 if the order differed, 0 otherwise
+     */
+    private static int check(String name, Supplier<IOpenSet> factory, int run, boolean ticks, int operations, CompiledGoal goal) {
+        Random random = new Random(SEED + run);
+        IOpenSet expected = new BinaryHeapOpenSet();
+        IOpenSet actual = factory.get();
+        List<PathNode> expectedNodes = new ArrayList<>();
+        List<PathNode> actualNodes = new ArrayList<>();
+        double lastRemoved = 0;
+        long unique = 0;
+        for (int op = 0; op < operations; op++) {
+            int roll = random.nextInt(100);
+            if (roll < 40 || expected.isEmpty()) {
+                double cost = lastRemoved + cost(random, ticks) + ++unique * 1e-9;
+                PathNode e = new PathNode(expectedNodes.size(), 64, 0, goal);
+                PathNode a = new PathNode(actualNodes.size(), 64, 0, goal);
+                e.combinedCost = cost;
+                a.combinedCost = cost;
+                expectedNodes.add(e);
+                actualNodes.add(a);
+                expected.insert(e);
+                actual.insert(a);
+            } else if (roll < 60) {
+                int index = random.nextInt(expectedNodes.size());
+                PathNode e = expectedNodes.get(index);
+                PathNode a = actualNodes.get(index);
+                if (e.isOpen() != a.isOpen()) {
+                    return fail(name, run, op, "node " + index + " open in one set but not the other");
+                }
+                // decrease-key, now and then below the last removed cost like an inconsistent heuristic does
+                double floor = random.nextInt(10) == 0 ? lastRemoved - cost(random, ticks) : lastRemoved;
+                double cost = floor + random.nextDouble() * (e.combinedCost - floor) + ++unique * 1e-9;
+                if (!e.isOpen() || cost >= e.combinedCost) {
+                    continue;
+                }
+                e.combinedCost = cost;
+                a.combinedCost = cost;
+                expected.update(e);
+                actual.update(a);
+            } else if (roll < 65) {
+                // a closed node found again more cheaply goes back in
+                int index = random.nextInt(expectedNodes.size());
+                PathNode e = expectedNodes.get(index);
+                PathNode a = actualNodes.get(index);
+                if (e.isOpen() || a.isOpen()) {
+                    continue;
+                }
+                double cost = lastRemoved + cost(random, ticks) + ++unique * 1e-9;
+                e.combinedCost = cost;
+                a.combinedCost = cost;
+                expected.insert(e);
+                actual.insert(a);
+            } else {
+                PathNode e = expected.removeLowest();
+                PathNode a = actual.removeLowest();
+                if (e.x != a.x || e.combinedCost != a.combinedCost) {
+                    return fail(name, run, op, "removed node " + a.x + " at " + a.combinedCost + " instead of node " + e.x + " at " + e.combinedCost);
+                }
+                lastRemoved = e.combinedCost;
+            }
+            if (expected.size() != actual.size()) {
+                return fail(name, run, op, "size " + actual.size() + " instead of " + expected.size());
+            }
+        }
+        while (!expected.isEmpty()) {
+            PathNode e = expected.removeLowest();
+            if (actual.isEmpty()) {
+                return fail(name, run, operations, "ran out before node " + e.x);
+            }
+            PathNode a = actual.removeLowest();
+            if (e.x != a.x) {
+                return fail(name, run, operations, "drained node " + a.x + " instead of node " + e.x);
+            }
+        }
+        return actual.isEmpty() ? 0 : fail(name, run, operations, "nodes left over after the binary heap drained");
+    }
+
+    private static double cost(Random random, boolean ticks) {
+        return ticks ? random.nextInt(20) * 0.25 : random.nextDouble() * 20;
+    }
+
+    private static int fail(String name, int run, int op, String problem) {
+        System.out.println("FAIL " + name + " run " + run + " operation " + op + ": " + problem);
+        return 1;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.pathing.movement;
+
+import baritone.bench.Headless;
+import baritone.bench.WorldFixture;
+import baritone.utils.pathing.MutableMoveResult;
+import baritone.utils.source.InMemoryBlockSource;
+import net.minecraft.block.BlockState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost function of each movement, evaluated from a fixed sample of standable positions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2G", "-Xmx2G"})
+public class MovementCostBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    @Param({"FLAT", "CAVE", "OVERHANGS"})
+    public WorldFixture world;
+
+    @Param({
+            "DOWNWARD", "PILLAR", "TRAVERSE_NORTH", "ASCEND_NORTH", "DESCEND_NORTH", "DIAGONAL_NORTHEAST", "PARKOUR_NORTH"
+    })
+    public Moves move;
+
+    private CalculationContext context;
+    private final MutableMoveResult result = new MutableMoveResult();
+    private int[] xs;
+    private int[] ys;
+    private int[] zs;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Headless.bootstrap();
+        InMemoryBlockSource synthetic = world.world();
+        context = Headless.context(synthetic);
+        Random random = new Random(0xBA817073EL);
+        xs = new int[SAMPLES];
+        ys = new int[SAMPLES];
+        zs = new int[SAMPLES];
+        int found = 0;
+        while (found < SAMPLES) {
+            int x = 2 + random.nextInt(WorldFixture.SIZE - 4);
+            int z = 2 + random.nextInt(WorldFixture.SIZE - 4);
+            int y = 1 + random.nextInt(synthetic.getHeight() - 3);
+            BlockState below = synthetic.get(x, y - 1, z);
+            if (!below.isAir() && below.getFluidState().isEmpty() && synthetic.get(x, y, z).isAir() && synthetic.get(x, y + 1, z).isAir()) {
+                xs[found] = x;
+                ys[found] = y;
+                zs[found] = z;
+                found++;
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public double cost() {
+        double sum = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            result.reset();
+            move.apply(context, xs[i], ys[i], zs[i], result);
+            sum += result.cost;
+        }
+        return sum;
+    }
+}
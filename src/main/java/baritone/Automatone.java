@@ -19,7 +19,10 @@ package baritone;
 
 import baritone.command.defaults.DefaultCommands;
 import baritone.command.manager.BaritoneArgumentType;
+import baritone.utils.ServerTickTimer;
+import baritone.utils.ToolSet;
 import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.event.lifecycle.v1.CommonLifecycleEvents;
 import net.minecraft.command.argument.ArgumentTypes;
 import net.minecraft.command.argument.serialize.ConstantArgumentSerializer;
 import net.minecraft.item.Item;
@@ -60,6 +63,8 @@ public final class Automatone implements ModInitializer {
 
     @Override
     public void onInitialize() {
+        ServerTickTimer.register();
+        CommonLifecycleEvents.TAGS_LOADED.register((registries, client) -> ToolSet.clearCache());
 //        DefaultCommands.registerAll();
 //        ArgumentTypes.register("automatone:command", BaritoneArgumentType.class, new ConstantArgumentSerializer<>(BaritoneArgumentType::baritone));
     }
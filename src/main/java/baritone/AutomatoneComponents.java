@@ -46,6 +46,6 @@ public final class AutomatoneComponents implements EntityComponentInitializer, W
 
     @Override
     public void registerWorldComponentFactories(WorldComponentFactoryRegistry registry) {
-        registry.register(IWorldProvider.KEY, WorldProvider::new);
+        registry.register(IWorldProvider.KEY, WorldProvider.class, WorldProvider::new);
     }
 }
@@ -45,6 +45,7 @@ import baritone.render.ClientPathingBehaviour;
 import baritone.utils.BlockStateInterface;
 import baritone.utils.InputOverrideHandler;
 import baritone.utils.PathingControlManager;
+import baritone.utils.ReachabilityCache;
 import baritone.utils.player.EntityContext;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.nbt.NbtCompound;
@@ -82,6 +83,7 @@ public class Baritone implements IBaritone {
     private final BaritoneCommandManager commandManager;
 
     private final IEntityContext playerContext;
+    private final ReachabilityCache reachabilityCache;
     private final WorldProvider worldProvider;
 
     private final @Nullable ClientPathingBehaviour clientPathingBehaviour;
@@ -94,6 +96,7 @@ public class Baritone implements IBaritone {
 
         // Define this before behaviors try and get it, or else it will be null and the builds will fail!
         this.playerContext = new EntityContext(player);
+        this.reachabilityCache = new ReachabilityCache(this.playerContext);
 
         {
             // the Behavior constructor calls baritone.registerBehavior(this) so this populates the behaviors arraylist
@@ -151,6 +154,10 @@ public class Baritone implements IBaritone {
         return this.playerContext;
     }
 
+    public ReachabilityCache getReachabilityCache() {
+        return this.reachabilityCache;
+    }
+
     public MemoryBehavior getMemoryBehavior() {
         return this.memoryBehavior;
     }
@@ -31,22 +31,34 @@ import baritone.api.utils.PathCalculationResult;
 import baritone.api.utils.interfaces.IGoalRenderPos;
 import baritone.pathing.calc.AStarPathFinder;
 import baritone.pathing.calc.AbstractNodeCostSearch;
+import baritone.pathing.calc.LearnedHeuristic;
+import baritone.pathing.calc.PathingMetrics;
 import baritone.pathing.movement.CalculationContext;
 import baritone.pathing.movement.MovementHelper;
 import baritone.pathing.path.PathExecutor;
+import baritone.utils.AdaptiveBudget;
 import baritone.utils.PathingCommandContext;
+import baritone.utils.ServerTickTimer;
 import baritone.utils.pathing.Favoring;
 import net.minecraft.network.PacketByteBuf;
 import net.minecraft.util.math.BlockPos;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.LinkedBlockingQueue;
 
 public final class PathingBehavior extends Behavior implements IPathingBehavior {
 
+    /**
+     * How often to say at most that timeouts are being scaled down
+     */
+    private static final long BUSY_LOG_INTERVAL_MS = 30_000;
+
     private PathExecutor current;
     private PathExecutor next;
 
@@ -71,10 +83,36 @@ public final class PathingBehavior extends Behavior implements IPathingBehavior
 
     private BetterBlockPos expectedSegmentStart;
 
+    /**
+     * The cheaper way to the goal an anytime search found for the path we are already on, kept apart from
+     * {@link #next} until we are standing somewhere on it, and dropped once it no longer crosses the route ahead
+     */
+    private PathExecutor refinement;
+
+    /**
+     * What the last search learned, and the goal it was searching for. Processes build a new goal every tick, so this
+     * is compared by equality.
+     */
+    private LearnedHeuristic learnedHeuristic;
+    private Goal learnedFor;
+
+    /**
+     * When it was last said that timeouts are being scaled down
+     */
+    private long busyLoggedAt = Long.MIN_VALUE / 2;
+
+    /**
+     * The search in progress, if it's being run a slice per tick on the server thread
+     */
+    private SlicedSearch slicedSearch;
+
     private final LinkedBlockingQueue<PathEvent> toDispatch = new LinkedBlockingQueue<>();
 
+    private final PathingMetrics metrics;
+
     public PathingBehavior(Baritone baritone) {
         super(baritone);
+        this.metrics = new PathingMetrics(baritone.settings().pathingMetricsHistorySize.get());
     }
 
     private void queuePathEvent(PathEvent event) {
@@ -95,6 +133,7 @@ public final class PathingBehavior extends Behavior implements IPathingBehavior
         dispatchEvents();
         expectedSegmentStart = pathStart();
         baritone.getPathingControlManager().prePathingTick();
+        tickSlicedSearch();
         tickPath();
         ticksElapsedSoFar++;
         dispatchEvents();
@@ -148,6 +187,7 @@ public final class PathingBehavior extends Behavior implements IPathingBehavior
             safeToCancel = current.onTick();
             if (current.failed() || current.finished()) {
                 current = null;
+                refinement = null;
                 if (goal == null || goal.isInGoal(ctx.feetPos())) {
                     logDebug("All done. At " + goal);
                     queuePathEvent(PathEvent.AT_GOAL);
@@ -198,6 +238,22 @@ public final class PathingBehavior extends Behavior implements IPathingBehavior
                 current.onTick();
                 return;
             }
+            if (refinement != null) {
+                if (!crossesRouteAhead(refinement.getPath())) {
+                    refinement = null; // we've gone past everywhere it could have taken over
+                } else if (safeToCancel && refinement.snipsnapifpossible()) {
+                    // only ever picked up right where we stand, never by walking back to its start
+                    logDebug("Splicing into cheaper path...");
+                    current = refinement;
+                    refinement = null;
+                    if (next != null && !next.getPath().getSrc().equals(current.getPath().getDest())) {
+                        queuePathEvent(PathEvent.DISCARD_NEXT);
+                        next = null;
+                    }
+                    current.onTick();
+                    return;
+                }
+            }
             if (baritone.settings().splicePath.get()) {
                 current = current.trySplice(next);
             }
@@ -324,6 +380,7 @@ public final class PathingBehavior extends Behavior implements IPathingBehavior
             }
             current = null;
             next = null;
+            refinement = null;
         }
         cancelRequested = true;
         // do everything BUT clear keys
@@ -337,6 +394,7 @@ public final class PathingBehavior extends Behavior implements IPathingBehavior
             if (current != null) {
                 current = null;
                 next = null;
+                refinement = null;
                 baritone.getInputOverrideHandler().clearAllKeys();
                 baritone.getInputOverrideHandler().getBlockBreakHelper().stopBreakingBlock();
             }
@@ -437,7 +495,8 @@ public final class PathingBehavior extends Behavior implements IPathingBehavior
     }
 
     /**
-     * In a new thread, pathfind to target blockpos
+     * In a new thread, or a slice per tick on the server thread with {@link baritone.api.Settings#tickSlicedPathing},
+     * pathfind to target blockpos
      *
      * @param start
      * @param talkAboutIt
@@ -469,64 +528,196 @@ public final class PathingBehavior extends Behavior implements IPathingBehavior
             primaryTimeout = baritone.settings().planAheadPrimaryTimeoutMS.get();
             failureTimeout = baritone.settings().planAheadFailureTimeoutMS.get();
         }
+        double budgetScale = AdaptiveBudget.scale(current == null ? AdaptiveBudget.Priority.WAITING : AdaptiveBudget.Priority.PLANNING);
+        if (budgetScale < 1) {
+            primaryTimeout = AdaptiveBudget.apply(primaryTimeout, budgetScale);
+            failureTimeout = AdaptiveBudget.apply(failureTimeout, budgetScale);
+            long now = System.currentTimeMillis();
+            if (now - busyLoggedAt >= BUSY_LOG_INTERVAL_MS) {
+                // every search records its scale, this is just so that someone watching knows why
+                busyLoggedAt = now;
+                logDebug("Server is busy, scaling path timeouts by " + budgetScale);
+            }
+        }
         AbstractNodeCostSearch pathfinder = createPathfinder(start, goal, current == null ? null : current.getPath(), context);
+        pathfinder.setBudgetScale(budgetScale);
+        if (baritone.settings().pathingNodeBudgets.get()) {
+            pathfinder.useNodeBudgets(baritone.settings().pathingNodesPerMS.get());
+        }
         if (!Objects.equals(pathfinder.getGoal(), goal)) { // will return the exact same object if simplification didn't happen
             logDebug("Simplifying " + goal.getClass() + " to GoalXZ due to distance");
         }
+        if (current != null && learnedHeuristic != null && goal.equals(learnedFor)) {
+            // planning the segment after one toward the very same goal
+            pathfinder.inheritHeuristic(learnedHeuristic);
+        }
         inProgress = pathfinder;
+        pathfinder.setRefinementListener(path -> {
+            synchronized (pathPlanLock) {
+                acceptRefinedPath(new PathExecutor(PathingBehavior.this, path), start);
+            }
+        });
+        if (baritone.settings().tickSlicedPathing.get()) {
+            if (talkAboutIt) {
+                logDebug("Starting to search for path from " + start + " to " + goal + " a slice per tick");
+            }
+            slicedSearch = new SlicedSearch(pathfinder, start, goal, talkAboutIt, primaryTimeout, failureTimeout);
+            return;
+        }
         Automatone.getExecutor().execute(() -> {
             if (talkAboutIt) {
                 logDebug("Starting to search for path from " + start + " to " + goal);
             }
 
             PathCalculationResult calcResult = pathfinder.calculate(primaryTimeout, failureTimeout);
-            synchronized (pathPlanLock) {
-                Optional<PathExecutor> executor = calcResult.getPath().map(p -> new PathExecutor(PathingBehavior.this, p));
-                if (current == null) {
-                    if (executor.isPresent()) {
-                        if (executor.get().getPath().positions().contains(expectedSegmentStart)) {
-                            queuePathEvent(PathEvent.CALC_FINISHED_NOW_EXECUTING);
-                            current = executor.get();
-                            resetEstimatedTicksToGoal(start);
-                        } else {
-                            logDebug("Warning: discarding orphan path segment with incorrect start");
-                        }
+            pathCalculated(pathfinder, calcResult, start, goal, talkAboutIt);
+        });
+    }
+
+    /**
+     * Runs another slice of the search on the server thread, if there is one in progress and this tick can spare the
+     * time
+     */
+    private void tickSlicedSearch() {
+        SlicedSearch search = slicedSearch;
+        if (search == null) {
+            return;
+        }
+        if (inProgress != search.pathfinder) {
+            slicedSearch = null; // force cancelled
+            return;
+        }
+        long sliceNanos = ServerTickTimer.nextSliceNanos();
+        if (sliceNanos <= 0) {
+            return;
+        }
+        long before = System.nanoTime();
+        Optional<PathCalculationResult> calcResult = search.pathfinder.calculateSlice(search.primaryTimeout, search.failureTimeout, sliceNanos);
+        ServerTickTimer.slicedSpent(System.nanoTime() - before);
+        if (calcResult.isPresent()) {
+            slicedSearch = null;
+            pathCalculated(search.pathfinder, calcResult.get(), search.start, search.goal, search.talkAboutIt);
+        }
+    }
+
+    private void pathCalculated(AbstractNodeCostSearch pathfinder, PathCalculationResult calcResult, BlockPos start, Goal goal, boolean talkAboutIt) {
+        pathfinder.getSearchRecord().ifPresent(record -> {
+            metrics.record(record);
+            baritone.getWorldProvider().getCurrentWorld().getPathingMetrics().record(record);
+        });
+        synchronized (pathPlanLock) {
+            learnedHeuristic = pathfinder.getLearnedHeuristic().orElse(null);
+            learnedFor = goal;
+            Optional<PathExecutor> executor = calcResult.getPath().map(p -> new PathExecutor(PathingBehavior.this, p));
+            if (pathfinder.hasRefinedPath()) {
+                // every path it found on the way was already handed over, this is just the last and cheapest one
+                executor.ifPresent(e -> acceptRefinedPath(e, start));
+            } else if (current == null) {
+                if (executor.isPresent()) {
+                    if (executor.get().getPath().positions().contains(expectedSegmentStart)) {
+                        queuePathEvent(PathEvent.CALC_FINISHED_NOW_EXECUTING);
+                        current = executor.get();
+                        resetEstimatedTicksToGoal(start);
                     } else {
-                        if (calcResult.getType() != PathCalculationResult.Type.CANCELLATION && calcResult.getType() != PathCalculationResult.Type.EXCEPTION) {
-                            // don't dispatch CALC_FAILED on cancellation
-                            queuePathEvent(PathEvent.CALC_FAILED);
-                        }
+                        logDebug("Warning: discarding orphan path segment with incorrect start");
                     }
                 } else {
-                    if (next == null) {
-                        if (executor.isPresent()) {
-                            if (executor.get().getPath().getSrc().equals(current.getPath().getDest())) {
-                                queuePathEvent(PathEvent.NEXT_SEGMENT_CALC_FINISHED);
-                                next = executor.get();
-                            } else {
-                                logDebug("Warning: discarding orphan next segment with incorrect start");
-                            }
-                        } else {
-                            queuePathEvent(PathEvent.NEXT_CALC_FAILED);
-                        }
-                    } else {
-                        //throw new IllegalStateException("I have no idea what to do with this path");
-                        // no point in throwing an exception here, and it gets it stuck with inProgress being not null
-                        baritone.logDirect("Warning: PathingBehavior illegal state! Discarding invalid path!");
+                    if (calcResult.getType() != PathCalculationResult.Type.CANCELLATION && calcResult.getType() != PathCalculationResult.Type.EXCEPTION) {
+                        // don't dispatch CALC_FAILED on cancellation
+                        queuePathEvent(PathEvent.CALC_FAILED);
                     }
                 }
-                if (talkAboutIt && current != null && current.getPath() != null) {
-                    if (goal.isInGoal(current.getPath().getDest())) {
-                        logDebug("Finished finding a path from " + start + " to " + goal + ". " + current.getPath().getNumNodesConsidered() + " nodes considered");
+            } else {
+                if (next == null) {
+                    if (executor.isPresent()) {
+                        if (executor.get().getPath().getSrc().equals(current.getPath().getDest())) {
+                            queuePathEvent(PathEvent.NEXT_SEGMENT_CALC_FINISHED);
+                            next = executor.get();
+                        } else {
+                            logDebug("Warning: discarding orphan next segment with incorrect start");
+                        }
                     } else {
-                        logDebug("Found path segment from " + start + " towards " + goal + ". " + current.getPath().getNumNodesConsidered() + " nodes considered");
+                        queuePathEvent(PathEvent.NEXT_CALC_FAILED);
                     }
+                } else {
+                    //throw new IllegalStateException("I have no idea what to do with this path");
+                    // no point in throwing an exception here, and it gets it stuck with inProgress being not null
+                    baritone.logDirect("Warning: PathingBehavior illegal state! Discarding invalid path!");
                 }
-                synchronized (pathCalcLock) {
-                    inProgress = null;
+            }
+            if (talkAboutIt && current != null && current.getPath() != null) {
+                if (goal.isInGoal(current.getPath().getDest())) {
+                    logDebug("Finished finding a path from " + start + " to " + goal + ". " + current.getPath().getNumNodesConsidered() + " nodes considered");
+                } else {
+                    logDebug("Found path segment from " + start + " towards " + goal + ". " + current.getPath().getNumNodesConsidered() + " nodes considered");
                 }
             }
-        });
+            synchronized (pathCalcLock) {
+                inProgress = null;
+            }
+        }
+    }
+
+    /**
+     * Takes a path to the goal from an anytime search that is still running: the first one it finds is set off on (or
+     * planned next) like any other, and every cheaper one after that is kept as {@link #refinement}, to be jumped onto
+     * as soon as we are standing somewhere on it.
+     * <p>
+     * Must be called with synchronization on pathPlanLock
+     */
+    private void acceptRefinedPath(PathExecutor executor, BlockPos start) {
+        IPath path = executor.getPath();
+        if (current == null) {
+            if (path.positions().contains(expectedSegmentStart)) {
+                queuePathEvent(PathEvent.CALC_FINISHED_NOW_EXECUTING);
+                current = executor;
+                resetEstimatedTicksToGoal(start);
+            } else {
+                logDebug("Warning: discarding orphan path segment with incorrect start");
+            }
+            return;
+        }
+        if (path.positions().equals(current.getPath().positions()) || (next != null && path.positions().equals(next.getPath().positions()))
+                || (refinement != null && path.positions().equals(refinement.getPath().positions()))) {
+            return; // nothing new
+        }
+        if (current.getPath().getDest().equals(path.getSrc())) {
+            // planning ahead
+            if (next == null) {
+                queuePathEvent(PathEvent.NEXT_SEGMENT_CALC_FINISHED);
+                next = executor;
+            } else if (next.getPath().getSrc().equals(path.getSrc())) {
+                queuePathEvent(PathEvent.REFINED_PATH_FOUND);
+                next = executor;
+            }
+            return;
+        }
+        if (crossesRouteAhead(path)) {
+            logDebug("Found a cheaper path, will switch over to it once on it");
+            queuePathEvent(PathEvent.REFINED_PATH_FOUND);
+            refinement = executor;
+        }
+    }
+
+    /**
+     * Whether the given path goes through any position of the current path we haven't walked past yet
+     * <p>
+     * Must be called with synchronization on pathPlanLock
+     */
+    private boolean crossesRouteAhead(IPath path) {
+        List<BetterBlockPos> ahead = current.getPath().positions();
+        Set<BetterBlockPos> positions = new HashSet<>(path.positions());
+        for (int i = Math.max(current.getPosition(), 0); i < ahead.size(); i++) {
+            if (positions.contains(ahead.get(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public PathingMetrics getMetrics() {
+        return metrics;
     }
 
     private static AbstractNodeCostSearch createPathfinder(BlockPos start, Goal goal, IPath previous, CalculationContext context) {
@@ -549,4 +740,23 @@ public final class PathingBehavior extends Behavior implements IPathingBehavior
         PathExecutor.writeToPacket(this.current, buf);
         PathExecutor.writeToPacket(this.next, buf);
     }
+
+    private static final class SlicedSearch {
+
+        final AbstractNodeCostSearch pathfinder;
+        final BlockPos start;
+        final Goal goal;
+        final boolean talkAboutIt;
+        final long primaryTimeout;
+        final long failureTimeout;
+
+        SlicedSearch(AbstractNodeCostSearch pathfinder, BlockPos start, Goal goal, boolean talkAboutIt, long primaryTimeout, long failureTimeout) {
+            this.pathfinder = pathfinder;
+            this.start = start;
+            this.goal = goal;
+            this.talkAboutIt = talkAboutIt;
+            this.primaryTimeout = primaryTimeout;
+            this.failureTimeout = failureTimeout;
+        }
+    }
 }
@@ -0,0 +1,88 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.cache;
+
+import baritone.api.cache.IWorldProvider;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.World;
+
+/**
+ * Remembers which chunk sections of a world had a block change recently, and when. Lets caches of anything derived
+ * from the blocks, such as reachability, check cheaply whether the blocks they depend on may have changed.
+ * <p>
+ * Fed by a mixin on block changes, so it sees every change made through the world, by anyone.
+ */
+public final class BlockChangeTracker {
+
+    /**
+     * How long changes are remembered. Anything computed longer ago than this must be assumed stale.
+     */
+    public static final int MEMORY_TICKS = 200;
+
+    private final World world;
+    private final Long2LongOpenHashMap lastChange = new Long2LongOpenHashMap();
+    private long lastPrune;
+
+    BlockChangeTracker(World world) {
+        this.world = world;
+        this.lastChange.defaultReturnValue(Long.MIN_VALUE);
+    }
+
+    public static BlockChangeTracker get(World world) {
+        return ((WorldProvider) IWorldProvider.KEY.get(world)).getBlockChangeTracker();
+    }
+
+    public long now() {
+        return world.getTime();
+    }
+
+    public synchronized void onBlockChanged(BlockPos pos) {
+        long now = now();
+        lastChange.put(ChunkSectionPos.asLong(pos.getX() >> 4, pos.getY() >> 4, pos.getZ() >> 4), now);
+        if (now - lastPrune > MEMORY_TICKS) {
+            lastChange.values().removeIf(tick -> now - tick > MEMORY_TICKS);
+            lastPrune = now;
+        }
+    }
+
+    /**
+     * @param tick The world time something was computed at
+     * @return Whether a block may have changed within the given block bounds, inclusive, at or after the given tick.
+     * Changes are tracked per section, so any change in a section overlapping the bounds counts.
+     */
+    public synchronized boolean changedSince(long tick, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        if (now() - tick >= MEMORY_TICKS) {
+            return true;
+        }
+        if (lastChange.isEmpty()) {
+            return false;
+        }
+        for (int x = minX >> 4; x <= maxX >> 4; x++) {
+            for (int y = minY >> 4; y <= maxY >> 4; y++) {
+                for (int z = minZ >> 4; z <= maxZ >> 4; z++) {
+                    if (lastChange.get(ChunkSectionPos.asLong(x, y, z)) >= tick) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.cache;
+
+import baritone.Automatone;
+import baritone.api.BaritoneAPI;
+import baritone.api.cache.IWorldProvider;
+import baritone.api.utils.BetterBlockPos;
+import baritone.api.utils.BlockOptionalMetaLookup;
+import baritone.api.utils.IEntityContext;
+import baritone.utils.AdaptiveBudget;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Funnels the periodic chunk radius scans of every entity in a world through one queue. Identical requests, the same
+ * filter from the same chunk section with the same limits, share a single scan and its result. Scans are started once
+ * per tick, only as many as fit in {@link baritone.api.Settings#chunkScanBudgetMS} judging by how long past scans took,
+ * so a crowd that wants to rescan in the same tick gets spread over the next few. While the server is busy, that
+ * budget is scaled down by {@link AdaptiveBudget}.
+ */
+public final class ChunkScanCoordinator {
+
+    /**
+     * Finished scans are forgotten after this long
+     */
+    private static final int KEEP_TICKS = 200;
+
+    private final ServerWorld world;
+    private final Map<Key, Job> jobs = new HashMap<>();
+    private final ArrayDeque<Job> queue = new ArrayDeque<>();
+    private long nextVersion;
+    private double averageScanMS = 1;
+    private long lastCleanup;
+
+    ChunkScanCoordinator(ServerWorld world) {
+        this.world = world;
+    }
+
+    public static ChunkScanCoordinator get(ServerWorld world) {
+        return ((WorldProvider) IWorldProvider.KEY.get(world)).getScanCoordinator();
+    }
+
+    /**
+     * The outcome of a scan, shared by everyone who asked for it. Must not be modified.
+     */
+    public static final class Result {
+
+        /**
+         * Increases with every scan completed in this world, so two results of the same request can be told apart
+         */
+        public final long version;
+        public final long tick;
+        public final List<BlockPos> positions;
+
+        Result(long version, long tick, List<BlockPos> positions) {
+            this.version = version;
+            this.tick = tick;
+            this.positions = positions;
+        }
+    }
+
+    private static final class Key {
+
+        final BlockOptionalMetaLookup filter;
+        final int chunkX;
+        final int chunkZ;
+        final int playerY;
+        final int max;
+        final int yLevelThreshold;
+        final int maxSearchRadius;
+
+        Key(BlockOptionalMetaLookup filter, int chunkX, int chunkZ, int playerY, int max, int yLevelThreshold, int maxSearchRadius) {
+            this.filter = filter;
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.playerY = playerY;
+            this.max = max;
+            this.yLevelThreshold = yLevelThreshold;
+            this.maxSearchRadius = maxSearchRadius;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return chunkX == other.chunkX && chunkZ == other.chunkZ && playerY == other.playerY && max == other.max
+                    && yLevelThreshold == other.yLevelThreshold && maxSearchRadius == other.maxSearchRadius && filter.equals(other.filter);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(filter, chunkX, chunkZ, playerY, max, yLevelThreshold, maxSearchRadius);
+        }
+    }
+
+    private static final class Job {
+
+        final Key key;
+        final BlockOptionalMetaLookup filter;
+        final CompletableFuture<Result> future = new CompletableFuture<>();
+
+        Job(Key key, BlockOptionalMetaLookup filter) {
+            this.key = key;
+            this.filter = filter;
+        }
+    }
+
+    /**
+     * Requests a scan around the entity, see {@link WorldScanner#scanChunkRadius}
+     *
+     * @param maxAgeTicks How old a finished scan of the same request may be to be handed out instead of scanning again
+     * @return The pending or finished scan
+     */
+    public synchronized CompletableFuture<Result> scan(IEntityContext ctx, BlockOptionalMetaLookup filter, int max, int yLevelThreshold, int maxSearchRadius, int maxAgeTicks) {
+        Key key = key(ctx, filter, max, yLevelThreshold, maxSearchRadius);
+        Job job = jobs.get(key);
+        if (job != null && (!job.future.isDone() || isFresh(job, maxAgeTicks))) {
+            return job.future;
+        }
+        job = new Job(key, filter);
+        jobs.put(key, job);
+        queue.add(job);
+        return job.future;
+    }
+
+    /**
+     * Like {@link #scan}, but waits for the result. On the server thread, where waiting for the next tick would
+     * never end, the scan runs right away instead of being queued.
+     */
+    public List<BlockPos> scanNow(IEntityContext ctx, BlockOptionalMetaLookup filter, int max, int yLevelThreshold, int maxSearchRadius, int maxAgeTicks) {
+        if (!world.getServer().isOnThread()) {
+            return scan(ctx, filter, max, yLevelThreshold, maxSearchRadius, maxAgeTicks).join().positions;
+        }
+        Job job;
+        synchronized (this) {
+            Key key = key(ctx, filter, max, yLevelThreshold, maxSearchRadius);
+            job = jobs.get(key);
+            if (job != null && isFresh(job, maxAgeTicks)) {
+                return job.future.join().positions;
+            }
+            if (job == null || job.future.isDone()) {
+                job = new Job(key, filter);
+                jobs.put(key, job);
+            } else {
+                queue.remove(job); // queued or running, running twice is harmless
+            }
+        }
+        run(job);
+        return job.future.join().positions;
+    }
+
+    private static Key key(IEntityContext ctx, BlockOptionalMetaLookup filter, int max, int yLevelThreshold, int maxSearchRadius) {
+        BetterBlockPos feet = ctx.feetPos();
+        // scanned from the middle of the section the entity is in, so that a crowd standing around shares one scan
+        return new Key(filter, feet.x >> 4, feet.z >> 4, (feet.y & ~15) + 8, max, yLevelThreshold, maxSearchRadius);
+    }
+
+    private boolean isFresh(Job job, int maxAgeTicks) {
+        if (!job.future.isDone() || job.future.isCompletedExceptionally()) {
+            return false;
+        }
+        return world.getTime() - job.future.join().tick <= maxAgeTicks;
+    }
+
+    /**
+     * Starts as many queued scans as the budget allows, called once per tick
+     */
+    public synchronized void tick() {
+        double budget = BaritoneAPI.getGlobalSettings().chunkScanBudgetMS.get() * AdaptiveBudget.scale(AdaptiveBudget.Priority.BACKGROUND);
+        double spent = 0;
+        while (!queue.isEmpty() && (spent == 0 || spent + averageScanMS <= budget)) {
+            Job job = queue.poll();
+            spent += averageScanMS;
+            Automatone.getExecutor().execute(() -> run(job));
+        }
+        long now = world.getTime();
+        if (now - lastCleanup > KEEP_TICKS) {
+            jobs.values().removeIf(job -> job.future.isDone() && (job.future.isCompletedExceptionally() || now - job.future.join().tick > KEEP_TICKS));
+            lastCleanup = now;
+        }
+    }
+
+    private void run(Job job) {
+        if (job.future.isDone()) {
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            Key key = job.key;
+            List<BlockPos> positions = WorldScanner.INSTANCE.scanChunkRadius(world, key.chunkX, key.chunkZ, key.playerY, job.filter, key.max, key.yLevelThreshold, key.maxSearchRadius);
+            double tookMS = (System.nanoTime() - start) / 1_000_000D;
+            Result result;
+            synchronized (this) {
+                averageScanMS = averageScanMS * 0.9 + tookMS * 0.1;
+                result = new Result(nextVersion++, world.getTime(), Collections.unmodifiableList(positions));
+            }
+            job.future.complete(result);
+        } catch (Throwable t) {
+            Automatone.LOGGER.error("Chunk scan failed", t);
+            job.future.completeExceptionally(t);
+        }
+    }
+}
@@ -0,0 +1,323 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.cache;
+
+import baritone.api.cache.IWorldProvider;
+import baritone.utils.BlockStateInterface;
+import baritone.utils.pathing.PathingCategory;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.World;
+
+import java.util.Arrays;
+
+/**
+ * A packed picture of a world for the pathfinder to read instead of block states, shared by every baritone in it.
+ * <p>
+ * Per chunk section, this remembers the {@link PathingCategory} of every block, one byte each, which answers the most
+ * common questions movements ask about a block without pointer chasing through its state.
+ * <p>
+ * It also remembers how much empty space there is around each block, so that movements of entities bigger than a
+ * player can tell whether their whole body fits somewhere without reading every block it would occupy: for every
+ * block, how many air blocks there are from it upwards (its headroom, up to {@link #MAX_HEIGHT}), and, for each body
+ * height that was asked about, how many blocks in a row along x and along z have at least that much headroom. A w×h×d
+ * box is then clear if min(w, d) of those runs are long enough, which is a single lookup for the walls that traverses
+ * and ascends walk into.
+ * <p>
+ * Lastly it remembers how many air blocks there are from each block downwards within its section, so that falls can
+ * skip straight to the next block that isn't air, crossing one section per lookup.
+ * <p>
+ * Only air counts as empty, since air is passable no matter the settings or the blocks around it. Anything else, and
+ * anything this can't answer, is left to the caller to look at block by block, so this never changes a cost.
+ * <p>
+ * Sections are computed once and thrown away as soon as the {@link BlockChangeTracker} reports a change in them or in
+ * the section above.
+ */
+public final class ClearanceMap {
+
+    /**
+     * The tallest body this can answer for
+     */
+    public static final int MAX_HEIGHT = 16;
+
+    private static final int MAX_SECTIONS = 2048;
+
+    private final BlockChangeTracker tracker;
+    private final Long2ObjectOpenHashMap<Section> sections = new Long2ObjectOpenHashMap<>();
+
+    ClearanceMap(BlockChangeTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    public static ClearanceMap get(World world) {
+        return ((WorldProvider) IWorldProvider.KEY.get(world)).getClearanceMap();
+    }
+
+    /**
+     * @param bsi Reads the world this map belongs to, and is only used from the calling thread
+     * @return A view for one search, or anything else that reads from a single thread
+     */
+    public View view(BlockStateInterface bsi) {
+        return new View(bsi);
+    }
+
+    private Section section(BlockStateInterface bsi, int sectionX, int sectionY, int sectionZ) {
+        int minX = sectionX << 4;
+        int minY = sectionY << 4;
+        int minZ = sectionZ << 4;
+        if (!bsi.isLoaded(minX, minZ)) {
+            // unloaded chunks read as air, and loading them isn't a block change
+            return null;
+        }
+        long key = ChunkSectionPos.asLong(sectionX, sectionY, sectionZ);
+        Section section;
+        synchronized (this) {
+            section = sections.get(key);
+        }
+        if (section != null && !tracker.changedSince(section.builtAt, minX, minY, minZ, minX + 15, minY + 31, minZ + 15)) {
+            return section;
+        }
+        section = Section.build(bsi, minX, minY, minZ, tracker.now());
+        synchronized (this) {
+            if (sections.size() >= MAX_SECTIONS) {
+                long now = tracker.now();
+                sections.values().removeIf(s -> now - s.builtAt >= BlockChangeTracker.MEMORY_TICKS);
+                if (sections.size() >= MAX_SECTIONS) {
+                    sections.clear();
+                }
+            }
+            sections.put(key, section);
+        }
+        return section;
+    }
+
+    private static final class Section {
+
+        final long builtAt;
+        /**
+         * The {@link PathingCategory} of each block
+         */
+        final byte[] categories;
+        /**
+         * Air blocks from each block upwards, itself included, capped at {@link #MAX_HEIGHT}
+         */
+        final byte[] headroom;
+        /**
+         * Air blocks from each block downwards, itself included, down to the bottom of the section
+         */
+        final byte[] depth;
+        /**
+         * By body height, how many blocks from each block towards +x have at least that much headroom, counting up to
+         * the edge of the section
+         */
+        private final byte[][] runsX = new byte[MAX_HEIGHT + 1][];
+        /**
+         * Same as {@link #runsX}, towards +z
+         */
+        private final byte[][] runsZ = new byte[MAX_HEIGHT + 1][];
+
+        private Section(long builtAt, byte[] categories, byte[] headroom, byte[] depth) {
+            this.builtAt = builtAt;
+            this.categories = categories;
+            this.headroom = headroom;
+            this.depth = depth;
+        }
+
+        static Section build(BlockStateInterface bsi, int minX, int minY, int minZ, long now) {
+            byte[] categories = new byte[16 * 16 * 16];
+            byte[] headroom = new byte[16 * 16 * 16];
+            byte[] depth = new byte[16 * 16 * 16];
+            for (int x = 0; x < 16; x++) {
+                for (int z = 0; z < 16; z++) {
+                    // the top block of the section can see up to 15 blocks into the section above
+                    int run = 0;
+                    for (int y = 16 + MAX_HEIGHT - 2; y >= 0; y--) {
+                        byte category = PathingCategory.of(bsi.get0(minX + x, minY + y, minZ + z));
+                        run = category == PathingCategory.AIR ? Math.min(run + 1, MAX_HEIGHT) : 0;
+                        if (y < 16) {
+                            categories[index(x, y, z)] = category;
+                            headroom[index(x, y, z)] = (byte) run;
+                        }
+                    }
+                    run = 0;
+                    for (int y = 0; y < 16; y++) {
+                        int i = index(x, y, z);
+                        // a block is air if it has any headroom at all
+                        run = headroom[i] > 0 ? run + 1 : 0;
+                        depth[i] = (byte) run;
+                    }
+                }
+            }
+            return new Section(now, categories, headroom, depth);
+        }
+
+        byte[] runs(boolean alongX, int height) {
+            byte[] runs;
+            synchronized (this) {
+                runs = (alongX ? runsX : runsZ)[height];
+            }
+            if (runs != null) {
+                return runs;
+            }
+            runs = new byte[16 * 16 * 16];
+            for (int y = 0; y < 16; y++) {
+                for (int across = 0; across < 16; across++) {
+                    int run = 0;
+                    for (int along = 15; along >= 0; along--) {
+                        int i = alongX ? index(along, y, across) : index(across, y, along);
+                        run = headroom[i] >= height ? run + 1 : 0;
+                        runs[i] = (byte) run;
+                    }
+                }
+            }
+            synchronized (this) {
+                (alongX ? runsX : runsZ)[height] = runs;
+            }
+            return runs;
+        }
+
+        static int index(int x, int y, int z) {
+            return (y & 15) << 8 | (z & 15) << 4 | (x & 15);
+        }
+    }
+
+    /**
+     * Remembers which sections were already checked against the {@link BlockChangeTracker} this tick, so a search
+     * only pays for that once per section. Not thread safe.
+     */
+    public final class View {
+
+        /**
+         * The most recently used sections are kept in a small window, direct mapped on the low bits of their
+         * coordinates, in front of the map of every checked one, much like {@link baritone.utils.source.LiveBlockSource}
+         */
+        private static final int WINDOW_BITS = 2;
+        private static final int WINDOW_MASK = (1 << WINDOW_BITS) - 1;
+
+        private final BlockStateInterface bsi;
+        private final Long2ObjectOpenHashMap<Section> checked = new Long2ObjectOpenHashMap<>();
+        private final long[] windowKeys = new long[1 << (WINDOW_BITS * 3)];
+        private final Section[] windowSections = new Section[windowKeys.length];
+        private long checkedAt = Long.MIN_VALUE;
+
+        private View(BlockStateInterface bsi) {
+            this.bsi = bsi;
+        }
+
+        /**
+         * @return The {@link PathingCategory} of the block, {@link PathingCategory#UNKNOWN} if it isn't loaded
+         */
+        public byte category(int x, int y, int z) {
+            Section section = section(x >> 4, y >> 4, z >> 4);
+            return section == null ? PathingCategory.UNKNOWN : section.categories[Section.index(x, y, z)];
+        }
+
+        /**
+         * @return Whether every block in the box starting at x,y,z is air. False if that isn't known, for example
+         * because the box is in an unloaded chunk or taller than {@link #MAX_HEIGHT}
+         */
+        public boolean isClear(int x, int y, int z, int sizeX, int sizeY, int sizeZ) {
+            if (sizeY < 1 || sizeY > MAX_HEIGHT) {
+                return false;
+            }
+            if (sizeX >= sizeZ) {
+                for (int dz = 0; dz < sizeZ; dz++) {
+                    if (!isRunClear(true, x, y, z + dz, sizeX, sizeY)) {
+                        return false;
+                    }
+                }
+            } else {
+                for (int dx = 0; dx < sizeX; dx++) {
+                    if (!isRunClear(false, x + dx, y, z, sizeZ, sizeY)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @return The highest y at or below the given one whose block isn't known to be air. Everything above it, up to
+         * and including the given y, is air. Stops once it goes below minY.
+         */
+        public int nonAirBelow(int x, int y, int z, int minY) {
+            while (y >= minY) {
+                Section section = section(x >> 4, y >> 4, z >> 4);
+                if (section == null) {
+                    return y;
+                }
+                int depth = section.depth[Section.index(x, y, z)];
+                boolean endsHere = depth <= (y & 15);
+                y -= depth;
+                if (endsHere) {
+                    return y;
+                }
+            }
+            return y;
+        }
+
+        private boolean isRunClear(boolean alongX, int x, int y, int z, int length, int height) {
+            while (true) {
+                Section section = section(x >> 4, y >> 4, z >> 4);
+                if (section == null) {
+                    return false;
+                }
+                int run = section.runs(alongX, height)[Section.index(x, y, z)];
+                if (run >= length) {
+                    return true;
+                }
+                int toEdge = 16 - ((alongX ? x : z) & 15);
+                if (run < toEdge) {
+                    return false;
+                }
+                // clear up to the edge of the section, carry on in the next one
+                length -= run;
+                if (alongX) {
+                    x += run;
+                } else {
+                    z += run;
+                }
+            }
+        }
+
+        private Section section(int sectionX, int sectionY, int sectionZ) {
+            long now = tracker.now();
+            if (now != checkedAt) {
+                checked.clear();
+                Arrays.fill(windowSections, null);
+                checkedAt = now;
+            }
+            long key = ChunkSectionPos.asLong(sectionX, sectionY, sectionZ);
+            int slot = (sectionX & WINDOW_MASK) << (WINDOW_BITS * 2) | (sectionY & WINDOW_MASK) << WINDOW_BITS | (sectionZ & WINDOW_MASK);
+            if (windowKeys[slot] == key && windowSections[slot] != null) {
+                return windowSections[slot];
+            }
+            Section section = checked.get(key);
+            if (section == null) {
+                section = ClearanceMap.this.section(bsi, sectionX, sectionY, sectionZ);
+                if (section == null) {
+                    return null;
+                }
+                checked.put(key, section);
+            }
+            windowKeys[slot] = key;
+            windowSections[slot] = section;
+            return section;
+        }
+    }
+}
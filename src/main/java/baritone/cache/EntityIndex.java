@@ -0,0 +1,167 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.cache;
+
+import baritone.api.cache.IWorldProvider;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.ItemEntity;
+import net.minecraft.entity.mob.EndermanEntity;
+import net.minecraft.entity.mob.MobEntity;
+import net.minecraft.entity.mob.SpiderEntity;
+import net.minecraft.entity.mob.ZombifiedPiglinEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The entities of a world that baritone cares about, sorted into categories and bucketed by chunk. Built at most
+ * once per tick, the first time anyone asks, and shared by every baritone in the world. This replaces each of them
+ * streaming through every entity in the world on their own.
+ * <p>
+ * Membership in a category is decided when the index is built, so it is at most one tick stale.
+ */
+public final class EntityIndex {
+
+    public enum Category {
+        /**
+         * Mobs that are worth avoiding right now
+         */
+        HOSTILE,
+        /**
+         * Dropped items
+         */
+        ITEM,
+        /**
+         * Every entity that is alive, anything that can be followed
+         */
+        FOLLOWABLE
+    }
+
+    private static final Category[] CATEGORIES = Category.values();
+
+    private final World world;
+    private volatile Snapshot snapshot;
+
+    EntityIndex(World world) {
+        this.world = world;
+    }
+
+    public static EntityIndex get(World world) {
+        return ((WorldProvider) IWorldProvider.KEY.get(world)).getEntityIndex();
+    }
+
+    private static final class Snapshot {
+
+        final long tick;
+        final List<List<Entity>> all = new ArrayList<>(CATEGORIES.length);
+        final List<Long2ObjectOpenHashMap<List<Entity>>> byChunk = new ArrayList<>(CATEGORIES.length);
+
+        Snapshot(long tick) {
+            this.tick = tick;
+            for (Category ignored : CATEGORIES) {
+                all.add(new ArrayList<>());
+                byChunk.add(new Long2ObjectOpenHashMap<>());
+            }
+        }
+
+        void add(Category category, Entity entity) {
+            all.get(category.ordinal()).add(entity);
+            byChunk.get(category.ordinal()).computeIfAbsent(entity.getChunkPos().toLong(), k -> new ArrayList<>()).add(entity);
+        }
+    }
+
+    public static boolean isHostile(Entity entity) {
+        return entity instanceof MobEntity
+                && (!(entity instanceof SpiderEntity) || entity.getBrightnessAtEyes() < 0.5)
+                && (!(entity instanceof ZombifiedPiglinEntity) || ((ZombifiedPiglinEntity) entity).getAttacker() != null)
+                && (!(entity instanceof EndermanEntity) || ((EndermanEntity) entity).isAngry());
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        long tick = world.getTime();
+        if (current != null && current.tick == tick) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current != null && current.tick == tick) {
+                return current;
+            }
+            current = new Snapshot(tick);
+            for (Entity entity : ((ServerWorld) world).iterateEntities()) {
+                if (!entity.isAlive()) {
+                    continue;
+                }
+                current.add(Category.FOLLOWABLE, entity);
+                if (entity instanceof ItemEntity) {
+                    current.add(Category.ITEM, entity);
+                } else if (isHostile(entity)) {
+                    current.add(Category.HOSTILE, entity);
+                }
+            }
+            snapshot = current;
+            return current;
+        }
+    }
+
+    /**
+     * @return Every entity in the category, must not be modified
+     */
+    public List<Entity> all(Category category) {
+        return Collections.unmodifiableList(current().all.get(category.ordinal()));
+    }
+
+    /**
+     * @return The entities in the category whose block position lies within the given horizontal bounds, inclusive
+     */
+    public List<Entity> inRegion(Category category, int minX, int minZ, int maxX, int maxZ) {
+        Long2ObjectOpenHashMap<List<Entity>> chunks = current().byChunk.get(category.ordinal());
+        List<Entity> result = new ArrayList<>();
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                List<Entity> entities = chunks.get(ChunkPos.toLong(chunkX, chunkZ));
+                if (entities == null) {
+                    continue;
+                }
+                for (Entity entity : entities) {
+                    int x = entity.getBlockX();
+                    int z = entity.getBlockZ();
+                    if (x >= minX && x <= maxX && z >= minZ && z <= maxZ) {
+                        result.add(entity);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return The entities in the category at most {@code radius} blocks away from the given position on either
+     * horizontal axis
+     */
+    public List<Entity> near(Category category, BlockPos center, int radius) {
+        return inRegion(category, center.getX() - radius, center.getZ() - radius, center.getX() + radius, center.getZ() + radius);
+    }
+}
@@ -17,10 +17,12 @@
 
 package baritone.cache;
 
+import baritone.api.BaritoneAPI;
 import baritone.api.cache.ICachedWorld;
 import baritone.api.cache.IContainerMemory;
 import baritone.api.cache.IWaypointCollection;
 import baritone.api.cache.IWorldData;
+import baritone.pathing.calc.PathingMetrics;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.registry.RegistryKey;
 import net.minecraft.world.World;
@@ -34,12 +36,14 @@ public class WorldData implements IWorldData {
 
     private final WaypointCollection waypoints;
     private final ContainerMemory containerMemory;
+    private final PathingMetrics pathingMetrics;
     //public final MapData map;
     public final RegistryKey<World> dimension;
 
     WorldData(RegistryKey<World> dimension) {
         this.waypoints = new WaypointCollection();
         this.containerMemory = new ContainerMemory();
+        this.pathingMetrics = new PathingMetrics(BaritoneAPI.getGlobalSettings().pathingMetricsHistorySize.get());
         this.dimension = dimension;
     }
 
@@ -67,4 +71,9 @@ public class WorldData implements IWorldData {
     public IContainerMemory getContainerMemory() {
         return this.containerMemory;
     }
+
+    @Override
+    public PathingMetrics getPathingMetrics() {
+        return this.pathingMetrics;
+    }
 }
@@ -18,18 +18,28 @@
 package baritone.cache;
 
 import baritone.api.cache.IWorldProvider;
+import dev.onyxstudios.cca.api.v3.component.tick.ServerTickingComponent;
 import net.minecraft.nbt.NbtCompound;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.world.World;
 
 /**
  * @author Brady
  * @since 8/4/2018
  */
-public class WorldProvider implements IWorldProvider {
+public class WorldProvider implements IWorldProvider, ServerTickingComponent {
     private final WorldData currentWorld;
+    private final EntityIndex entityIndex;
+    private final BlockChangeTracker blockChangeTracker;
+    private final ChunkScanCoordinator scanCoordinator;
+    private final ClearanceMap clearanceMap;
 
     public WorldProvider(World world) {
         this.currentWorld = new WorldData(world.getRegistryKey());
+        this.entityIndex = new EntityIndex(world);
+        this.blockChangeTracker = new BlockChangeTracker(world);
+        this.scanCoordinator = world instanceof ServerWorld ? new ChunkScanCoordinator((ServerWorld) world) : null;
+        this.clearanceMap = new ClearanceMap(this.blockChangeTracker);
     }
 
     @Override
@@ -37,6 +47,32 @@ public class WorldProvider implements IWorldProvider {
         return this.currentWorld;
     }
 
+    public EntityIndex getEntityIndex() {
+        return this.entityIndex;
+    }
+
+    public BlockChangeTracker getBlockChangeTracker() {
+        return this.blockChangeTracker;
+    }
+
+    /**
+     * @return The scan coordinator, null on the client
+     */
+    public ChunkScanCoordinator getScanCoordinator() {
+        return this.scanCoordinator;
+    }
+
+    public ClearanceMap getClearanceMap() {
+        return this.clearanceMap;
+    }
+
+    @Override
+    public void serverTick() {
+        if (this.scanCoordinator != null) {
+            this.scanCoordinator.tick();
+        }
+    }
+
     @Override
     public void readFromNbt(NbtCompound tag) {
         this.currentWorld.readFromNbt(tag);
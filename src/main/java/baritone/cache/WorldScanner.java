@@ -30,6 +30,7 @@ import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.chunk.*;
 
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.IntStream;
 
 public enum WorldScanner implements IWorldScanner {
@@ -41,20 +42,26 @@ public enum WorldScanner implements IWorldScanner {
 
     @Override
     public List<BlockPos> scanChunkRadius(IEntityContext ctx, BlockOptionalMetaLookup filter, int max, int yLevelThreshold, int maxSearchRadius) {
+        BetterBlockPos feet = ctx.feetPos();
+        return scanChunkRadius(ctx.world(), feet.getX() >> 4, feet.getZ() >> 4, feet.getY(), filter, max, yLevelThreshold, maxSearchRadius);
+    }
+
+    /**
+     * Same as {@link #scanChunkRadius(IEntityContext, BlockOptionalMetaLookup, int, int, int)}, around a given
+     * position instead of an entity
+     */
+    public List<BlockPos> scanChunkRadius(ServerWorld world, int playerChunkX, int playerChunkZ, int playerY, BlockOptionalMetaLookup filter, int max, int yLevelThreshold, int maxSearchRadius) {
         ArrayList<BlockPos> res = new ArrayList<>();
 
         if (filter.blocks().isEmpty()) {
             return res;
         }
-        ServerChunkManagerAccessor chunkProvider = (ServerChunkManagerAccessor) ctx.world().getChunkManager();
+        ServerChunkManagerAccessor chunkProvider = (ServerChunkManagerAccessor) world.getChunkManager();
 
         int maxSearchRadiusSq = maxSearchRadius * maxSearchRadius;
-        int playerChunkX = ctx.feetPos().getX() >> 4;
-        int playerChunkZ = ctx.feetPos().getZ() >> 4;
-        int playerY = ctx.feetPos().getY();
 
         int playerYBlockStateContainerIndex = playerY >> 4;
-        int[] coordinateIterationOrder = streamSectionY(ctx.world()).boxed().sorted(Comparator.comparingInt(y -> Math.abs(y - playerYBlockStateContainerIndex))).mapToInt(x -> x).toArray();
+        int[] coordinateIterationOrder = streamSectionY(world).boxed().sorted(Comparator.comparingInt(y -> Math.abs(y - playerYBlockStateContainerIndex))).mapToInt(x -> x).toArray();
 
         int searchRadiusSq = 0;
         boolean foundWithinY = false;
@@ -148,6 +155,7 @@ public enum WorldScanner implements IWorldScanner {
 
     private boolean scanChunkInto(int chunkX, int chunkZ, Chunk chunk, BlockOptionalMetaLookup filter, Collection<BlockPos> result, int max, int yLevelThreshold, int playerY, int[] coordinateIterationOrder) {
         ChunkSection[] chunkInternalStorageArray = chunk.getSectionArray();
+        Predicate<BlockState> predicate = filter::has;
         boolean foundWithinY = false;
         if (chunkInternalStorageArray.length != coordinateIterationOrder.length) {
             throw new IllegalStateException("Unexpected number of sections in chunk (expected " + coordinateIterationOrder.length + ", got " + chunkInternalStorageArray.length + ")");
@@ -158,36 +166,53 @@ public enum WorldScanner implements IWorldScanner {
             if (section == null || section.isEmpty()) {
                 continue;
             }
-            // No need to waste CPU cycles if the section does not contain any block of the right kind
-            // PERF: maybe check the size of the palette too ? Like if there are as many states as positions in the chunk, scanning both is redundant
-            if (!section.hasAny(filter::has)) {
-                continue;
+            int scan = scanSectionInto(chunkX, y0 << 4, chunkZ, section.getBlockStateContainer(), predicate, result, max, yLevelThreshold, playerY, foundWithinY);
+            if (scan == SECTION_STOP) {
+                return true;
             }
-            int yReal = y0 << 4;
-            PalettedContainer<BlockState> bsc = section.getBlockStateContainer();
-            for (int yy = 0; yy < 16; yy++) {
-                for (int z = 0; z < 16; z++) {
-                    for (int x = 0; x < 16; x++) {
-                        BlockState state = bsc.get(x, yy, z);
-                        if (filter.has(state)) {
-                            int y = yReal | yy;
-                            if (result.size() >= max) {
-                                if (Math.abs(y - playerY) < yLevelThreshold) {
-                                    foundWithinY = true;
-                                } else {
-                                    if (foundWithinY) {
-                                        // have found within Y in this chunk, so don't need to consider outside Y
-                                        // TODO continue iteration to one more sorted Y coordinate block
-                                        return true;
-                                    }
+            foundWithinY = scan == SECTION_FOUND_WITHIN_Y;
+        }
+        return foundWithinY;
+    }
+
+    static final int SECTION_CONTINUE = 0;
+    static final int SECTION_FOUND_WITHIN_Y = 1;
+    static final int SECTION_STOP = 2;
+
+    /**
+     * Scans a single section's block states into {@code result}.
+     *
+     * @return {@link #SECTION_STOP} if the chunk scan should stop early, otherwise {@link #SECTION_FOUND_WITHIN_Y}
+     * if {@code foundWithinY} was or became true, and {@link #SECTION_CONTINUE} if not
+     */
+    static int scanSectionInto(int chunkX, int yReal, int chunkZ, PalettedContainer<BlockState> bsc, Predicate<BlockState> filter, Collection<BlockPos> result, int max, int yLevelThreshold, int playerY, boolean foundWithinY) {
+        // No need to waste CPU cycles if the section does not contain any block of the right kind
+        // PERF: maybe check the size of the palette too ? Like if there are as many states as positions in the chunk, scanning both is redundant
+        if (!bsc.hasAny(filter)) {
+            return foundWithinY ? SECTION_FOUND_WITHIN_Y : SECTION_CONTINUE;
+        }
+        for (int yy = 0; yy < 16; yy++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    BlockState state = bsc.get(x, yy, z);
+                    if (filter.test(state)) {
+                        int y = yReal | yy;
+                        if (result.size() >= max) {
+                            if (Math.abs(y - playerY) < yLevelThreshold) {
+                                foundWithinY = true;
+                            } else {
+                                if (foundWithinY) {
+                                    // have found within Y in this chunk, so don't need to consider outside Y
+                                    // TODO continue iteration to one more sorted Y coordinate block
+                                    return SECTION_STOP;
                                 }
                             }
-                            result.add(new BlockPos(chunkX | x, y, chunkZ | z));
                         }
+                        result.add(new BlockPos(chunkX | x, y, chunkZ | z));
                     }
                 }
             }
         }
-        return foundWithinY;
+        return foundWithinY ? SECTION_FOUND_WITHIN_Y : SECTION_CONTINUE;
     }
 }
@@ -71,6 +71,8 @@ public final class DefaultCommands {
                 new PathCommand(),
                 new ProcCommand(),
                 new ETACommand(),
+                new PathStatsCommand(),
+                new SnapshotCommand(),
                 new VersionCommand(),
                 new RepackCommand(),
                 new BuildCommand(),
@@ -0,0 +1,228 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.command.defaults;
+
+import baritone.Automatone;
+import baritone.api.IBaritone;
+import baritone.api.command.Command;
+import baritone.api.command.argument.IArgConsumer;
+import baritone.api.command.exception.CommandException;
+import baritone.api.command.exception.CommandInvalidStateException;
+import baritone.api.command.exception.CommandInvalidTypeException;
+import baritone.api.command.helpers.TabCompleteHelper;
+import baritone.api.pathing.calc.IPathingMetrics;
+import baritone.api.pathing.calc.PathSearchRecord;
+import baritone.api.utils.PathCalculationResult;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.server.command.ServerCommandSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public class PathStatsCommand extends Command {
+
+    private static final Path EXPORT_DIR = FabricLoader.getInstance().getGameDir().resolve("automatone").resolve("metrics");
+
+    public PathStatsCommand() {
+        super("pathstats", "pstats");
+    }
+
+    @Override
+    public void execute(ServerCommandSource source, String label, IArgConsumer args, IBaritone baritone) throws CommandException {
+        Action action = args.hasAny() && !args.peekString().equalsIgnoreCase("world") ? Action.getByName(args.getString()) : Action.SHOW;
+        if (action == null) {
+            throw new CommandInvalidTypeException(args.consumed(), "an action");
+        }
+        boolean world = args.hasAny() && args.peekString().equalsIgnoreCase("world");
+        if (world) {
+            args.get();
+        }
+        args.requireMax(0);
+        IPathingMetrics metrics = world
+                ? baritone.getWorldProvider().getCurrentWorld().getPathingMetrics()
+                : baritone.getPathingBehavior().getMetrics();
+        String scope = world ? "world" : "this entity";
+        switch (action) {
+            case SHOW: {
+                List<PathSearchRecord> records = metrics.getRecords();
+                if (records.isEmpty()) {
+                    throw new CommandInvalidStateException("No path searches recorded for " + scope);
+                }
+                StringBuilder results = new StringBuilder();
+                for (PathCalculationResult.Type type : PathCalculationResult.Type.values()) {
+                    int count = metrics.count(type);
+                    if (count > 0) {
+                        results.append(' ').append(type).append('=').append(count);
+                    }
+                }
+                double minScale = records.stream().mapToDouble(record -> record.budgetScale).min().orElse(1);
+                double averageScale = records.stream().mapToDouble(record -> record.budgetScale).average().orElse(1);
+                StringBuilder terminations = new StringBuilder();
+                for (PathSearchRecord.Termination termination : PathSearchRecord.Termination.values()) {
+                    int count = metrics.count(termination);
+                    if (count > 0) {
+                        terminations.append(' ').append(termination).append('=').append(count);
+                    }
+                }
+                logDirect(source, String.format(
+                        "Last %d of %d searches for %s\n" +
+                        "Results:%s\n" +
+                        "Stopped by:%s\n" +
+                        "Timeouts scaled by: %.2f on average, %.2f at least\n" +
+                        "Duration p50/p90/p99: %d/%d/%dms\n" +
+                        "Nodes p50/p90/p99: %d/%d/%d\n" +
+                        "Duration histogram: %s\n" +
+                        "Nodes histogram: %s",
+                        records.size(),
+                        metrics.getTotalSearches(),
+                        scope,
+                        results,
+                        terminations,
+                        averageScale,
+                        minScale,
+                        metrics.durationPercentile(50),
+                        metrics.durationPercentile(90),
+                        metrics.durationPercentile(99),
+                        metrics.nodesPercentile(50),
+                        metrics.nodesPercentile(90),
+                        metrics.nodesPercentile(99),
+                        histogramToString(metrics.getDurationHistogram()),
+                        histogramToString(metrics.getNodeHistogram())
+                ));
+                break;
+            }
+            case RESET: {
+                metrics.reset();
+                logDirect(source, "Cleared path search statistics for " + scope);
+                break;
+            }
+            case EXPORT: {
+                String name = world
+                        ? baritone.getPlayerContext().world().getRegistryKey().getValue().toString().replace(':', '_')
+                        : baritone.getPlayerContext().entity().getUuidAsString();
+                Path file = EXPORT_DIR.resolve(name + "-" + System.currentTimeMillis() + ".csv");
+                try {
+                    metrics.export(file);
+                } catch (IOException e) {
+                    Automatone.LOGGER.error("Failed to export path search statistics", e);
+                    throw new CommandInvalidStateException("Failed to export path search statistics: " + e.getMessage());
+                }
+                logDirect(source, "Exported " + metrics.getRecords().size() + " path searches to " + file);
+                break;
+            }
+        }
+    }
+
+    /**
+     * Formats the non empty buckets of a histogram as {@code [lower,upper)=count} pairs
+     */
+    private static String histogramToString(long[] histogram) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < histogram.length; i++) {
+            if (histogram[i] == 0) {
+                continue;
+            }
+            if (sb.length() > 0) {
+                sb.append(' ');
+            }
+            if (i == 0) {
+                sb.append("0");
+            } else {
+                sb.append('[').append(1L << (i - 1)).append(',').append(i == histogram.length - 1 ? "inf" : Long.toString(1L << i)).append(')');
+            }
+            sb.append('=').append(histogram[i]);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public Stream<String> tabComplete(String label, IArgConsumer args) throws CommandException {
+        if (args.hasExactlyOne()) {
+            return new TabCompleteHelper()
+                    .append(Action.getAllNames())
+                    .append("world")
+                    .sortAlphabetically()
+                    .filterPrefix(args.getString())
+                    .stream();
+        }
+        if (args.has(2)) {
+            args.get();
+            if (args.hasExactlyOne()) {
+                return new TabCompleteHelper()
+                        .append("world")
+                        .filterPrefix(args.getString())
+                        .stream();
+            }
+        }
+        return Stream.empty();
+    }
+
+    @Override
+    public String getShortDesc() {
+        return "View path search statistics";
+    }
+
+    @Override
+    public List<String> getLongDesc() {
+        return Arrays.asList(
+                "The pathstats command shows statistics about recent path searches, for sizing timeouts and the pathing thread pool.",
+                "",
+                "Statistics are kept for each entity and for each world. Add 'world' to any action to use the world statistics.",
+                "",
+                "Usage:",
+                "> pathstats [world] - Show result counts, duration and node percentiles and histograms.",
+                "> pathstats reset [world] - Clear the statistics.",
+                "> pathstats export [world] - Write every recorded search to a CSV file in automatone/metrics."
+        );
+    }
+
+    private enum Action {
+        SHOW("show", "s"),
+        RESET("reset", "r"),
+        EXPORT("export", "e");
+        private final String[] names;
+
+        Action(String... names) {
+            this.names = names;
+        }
+
+        public static Action getByName(String name) {
+            for (Action action : Action.values()) {
+                for (String alias : action.names) {
+                    if (alias.equalsIgnoreCase(name)) {
+                        return action;
+                    }
+                }
+            }
+            return null;
+        }
+
+        public static String[] getAllNames() {
+            Set<String> names = new HashSet<>();
+            for (Action action : Action.values()) {
+                names.addAll(Arrays.asList(action.names));
+            }
+            return names.toArray(new String[0]);
+        }
+    }
+}
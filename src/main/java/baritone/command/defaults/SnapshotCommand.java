@@ -0,0 +1,143 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.command.defaults;
+
+import baritone.Automatone;
+import baritone.api.IBaritone;
+import baritone.api.command.Command;
+import baritone.api.command.argument.IArgConsumer;
+import baritone.api.command.exception.CommandException;
+import baritone.api.command.exception.CommandInvalidStateException;
+import baritone.api.command.exception.CommandInvalidTypeException;
+import baritone.api.command.helpers.TabCompleteHelper;
+import baritone.api.pathing.goals.Goal;
+import baritone.api.utils.BetterBlockPos;
+import baritone.utils.PathingSnapshot;
+import baritone.utils.source.InMemoryBlockSource;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.server.command.ServerCommandSource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+public class SnapshotCommand extends Command {
+
+    private static final Path SNAPSHOT_DIR = FabricLoader.getInstance().getGameDir().resolve("automatone").resolve("snapshots");
+
+    /**
+     * Snapshot names end up in a file name, so nothing that could reach outside the snapshot directory
+     */
+    private static final Pattern NAME = Pattern.compile("[a-z0-9_-]+");
+
+    public SnapshotCommand() {
+        super("snapshot");
+    }
+
+    @Override
+    public void execute(ServerCommandSource source, String label, IArgConsumer args, IBaritone baritone) throws CommandException {
+        args.requireMax(2);
+        int radius = args.hasAny() ? args.getAs(Integer.class) : 8;
+        String name = args.hasAny() ? args.getString() : "snapshot-" + System.currentTimeMillis();
+        if (!NAME.matcher(name).matches()) {
+            throw new CommandInvalidTypeException(args.consumed(), "a name of lowercase letters, digits, - and _");
+        }
+        Goal goal = baritone.getPathingBehavior().getGoal();
+        if (goal == null) {
+            throw new CommandInvalidStateException("No goal to snapshot, set one first");
+        }
+        if (radius < 0 || radius > 32) {
+            throw new CommandInvalidStateException("Radius must be between 0 and 32 chunks");
+        }
+        BetterBlockPos feet = baritone.getPlayerContext().feetPos();
+        InMemoryBlockSource blocks = InMemoryBlockSource.capture(
+                baritone.getPlayerContext().world(),
+                (feet.x >> 4) - radius,
+                (feet.z >> 4) - radius,
+                (feet.x >> 4) + radius,
+                (feet.z >> 4) + radius
+        );
+        Path file = SNAPSHOT_DIR.resolve(name + ".nbt");
+        try {
+            new PathingSnapshot(blocks, feet, goal).write(file);
+        } catch (IllegalArgumentException e) {
+            throw new CommandInvalidStateException(e.getMessage());
+        } catch (IOException e) {
+            Automatone.LOGGER.error("Failed to write pathing snapshot", e);
+            throw new CommandInvalidStateException("Failed to write snapshot: " + e.getMessage());
+        }
+        logDirect(source, "Saved " + (2 * radius + 1) + "x" + (2 * radius + 1) + " chunks to " + file);
+    }
+
+    @Override
+    public Stream<String> tabComplete(String label, IArgConsumer args) throws CommandException {
+        if (args.has(2)) {
+            args.get();
+            if (args.hasExactlyOne()) {
+                return new TabCompleteHelper()
+                        .append(snapshotNames())
+                        .sortAlphabetically()
+                        .filterPrefix(args.getString())
+                        .stream();
+            }
+        }
+        return Stream.empty();
+    }
+
+    /**
+     * @return The names of the snapshots already saved, to be overwritten
+     */
+    private static Stream<String> snapshotNames() {
+        if (!Files.isDirectory(SNAPSHOT_DIR)) {
+            return Stream.empty();
+        }
+        try (Stream<Path> files = Files.list(SNAPSHOT_DIR)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(file -> file.endsWith(".nbt"))
+                    .map(file -> file.substring(0, file.length() - ".nbt".length()))
+                    .filter(file -> NAME.matcher(file).matches())
+                    .toList()
+                    .stream();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String getShortDesc() {
+        return "Save the surroundings and goal for headless replay";
+    }
+
+    @Override
+    public List<String> getLongDesc() {
+        return Arrays.asList(
+                "The snapshot command copies the loaded chunks around you, along with your position and current goal, into a file.",
+                "",
+                "Snapshots are replayed by the pathing regression harness, without a server. Only block and XZ goals can be saved.",
+                "",
+                "Usage:",
+                "> snapshot - Save 8 chunks around you to automatone/snapshots.",
+                "> snapshot <radius> [name] - Save the given number of chunks around you, optionally under a name of lowercase letters, digits, - and _."
+        );
+    }
+}
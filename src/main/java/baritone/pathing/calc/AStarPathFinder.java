@@ -20,16 +20,23 @@ package baritone.pathing.calc;
 import baritone.Automatone;
 import baritone.api.Settings;
 import baritone.api.pathing.calc.IPath;
+import baritone.api.pathing.calc.PathSearchRecord;
 import baritone.api.pathing.goals.Goal;
 import baritone.api.pathing.movement.ActionCosts;
 import baritone.api.utils.BetterBlockPos;
 import baritone.pathing.calc.openset.BinaryHeapOpenSet;
+import baritone.pathing.calc.openset.BucketOpenSet;
+import baritone.pathing.calc.openset.IOpenSet;
+import baritone.pathing.calc.openset.PairingHeapOpenSet;
 import baritone.pathing.movement.CalculationContext;
 import baritone.pathing.movement.Moves;
 import baritone.utils.pathing.BetterWorldBorder;
 import baritone.utils.pathing.Favoring;
 import baritone.utils.pathing.MutableMoveResult;
+import baritone.utils.pathing.PathingCategory;
+import net.minecraft.world.border.WorldBorder;
 
+import java.util.Locale;
 import java.util.Optional;
 
 /**
@@ -42,6 +49,34 @@ public final class AStarPathFinder extends AbstractNodeCostSearch {
     private final Favoring favoring;
     private final CalculationContext calcContext;
 
+    // the state of the search, kept in between slices when it's searched a slice at a time
+    // all settings are grabbed when it begins, so that changing settings during pathing doesn't cause a crash or unpredictable behavior
+    private Settings settings;
+    private IOpenSet openSet;
+    private double[] bestHeuristicSoFar; // keep track of the best node by the metric of (estimatedCostToGoal + cost / COEFFICIENTS[i])
+    private MutableMoveResult res;
+    private BetterWorldBorder worldBorder;
+    private long startTime;
+    private long searchedNanos; // in the slices before this one
+    private long primaryTimeout;
+    private long failureTimeout;
+    private boolean slowPath;
+    private boolean failing;
+    private int numNodes;
+    private int numMovementsConsidered;
+    private int numEmptyChunk;
+    private boolean isFavoring;
+    private int pathingMaxChunkBorderFetch;
+    private double minimumImprovement;
+    private boolean jumpPointPruning;
+    private boolean learnHeuristic;
+    private Moves[] allMoves;
+    private double weight; // how much more than the cost so far the heuristic counts
+    private PathNode incumbent; // the cheapest node in the goal an anytime search has popped so far
+    private double incumbentCost;
+    private PathNode reachedGoal;
+    private PathSearchRecord.Termination termination;
+
     public AStarPathFinder(int startX, int startY, int startZ, Goal goal, Favoring favoring, CalculationContext context) {
         super(startX, startY, startZ, goal, context);
         this.favoring = favoring;
@@ -49,43 +84,82 @@ public final class AStarPathFinder extends AbstractNodeCostSearch {
     }
 
     @Override
-    protected Optional<IPath> calculate0(long primaryTimeout, long failureTimeout) {
+    protected void beginSearch(long primaryTimeout, long failureTimeout) {
         startNode = getNodeAtPosition(startX, startY, startZ, BetterBlockPos.longHash(startX, startY, startZ));
         startNode.cost = 0;
         startNode.oxygenCost = calcContext.breathTime - calcContext.startingBreathTime;
-        startNode.combinedCost = startNode.estimatedCostToGoal;
-        BinaryHeapOpenSet openSet = new BinaryHeapOpenSet();
+        settings = calcContext.getBaritone().settings();
+        weight = settings.anytimePathing.get() ? Math.max(1, settings.anytimeInitialWeight.get()) : 1;
+        startNode.combinedCost = weight * startNode.estimatedCostToGoal;
+        openSet = createOpenSet(settings.pathingOpenSet.get());
         openSet.insert(startNode);
-        double[] bestHeuristicSoFar = new double[COEFFICIENTS.length];//keep track of the best node by the metric of (estimatedCostToGoal + cost / COEFFICIENTS[i])
+        bestHeuristicSoFar = new double[COEFFICIENTS.length];
         for (int i = 0; i < bestHeuristicSoFar.length; i++) {
             bestHeuristicSoFar[i] = startNode.estimatedCostToGoal;
             bestSoFar[i] = startNode;
         }
-        MutableMoveResult res = new MutableMoveResult();
-        BetterWorldBorder worldBorder = new BetterWorldBorder(calcContext.world.getWorldBorder());
-        long startTime = System.currentTimeMillis();
-        Settings settings = calcContext.getBaritone().settings();
-        boolean slowPath = settings.slowPath.get();
+        res = new MutableMoveResult();
+        worldBorder = new BetterWorldBorder(calcContext.world == null ? new WorldBorder() : calcContext.world.getWorldBorder()); // headless contexts have no world
+        startTime = System.currentTimeMillis();
+        slowPath = settings.slowPath.get();
         if (slowPath) {
             calcContext.baritone.logDebug("slowPath is on, path timeout will be " + settings.slowPathTimeoutMS.get() + "ms instead of " + primaryTimeout + "ms");
         }
-        long primaryTimeoutTime = startTime + (slowPath ? settings.slowPathTimeoutMS.get() : primaryTimeout);
-        long failureTimeoutTime = startTime + (slowPath ? settings.slowPathTimeoutMS.get() : failureTimeout);
-        boolean failing = true;
-        int numNodes = 0;
-        int numMovementsConsidered = 0;
-        int numEmptyChunk = 0;
-        boolean isFavoring = !favoring.isEmpty();
+        this.primaryTimeout = slowPath ? settings.slowPathTimeoutMS.get() : primaryTimeout;
+        this.failureTimeout = slowPath ? settings.slowPathTimeoutMS.get() : failureTimeout;
+        failing = true;
+        isFavoring = !favoring.isEmpty();
+        pathingMaxChunkBorderFetch = settings.pathingMaxChunkBorderFetch.get();
+        minimumImprovement = settings.minimumImprovementRepropagation.get() ? MIN_IMPROVEMENT : 0;
+        jumpPointPruning = settings.jumpPointPruning.get() && calcContext.requiredSideSpace == 0 && calcContext.height <= 2;
+        learnHeuristic = settings.segmentHeuristicLearning.get();
+        allMoves = Moves.values();
+        incumbentCost = Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    protected boolean continueSearch(long sliceNanos) {
+        long sliceStart = System.currentTimeMillis();
+        long sliceStartNanos = System.nanoTime();
+        int workBefore = work();
+        boolean over = search(sliceStart, sliceNanos == UNSLICED ? UNSLICED : sliceStartNanos + sliceNanos);
+        long tookNanos = System.nanoTime() - sliceStartNanos;
+        searchedNanos += tookNanos;
+        NodeRate.record(work() - workBefore, tookNanos);
+        return over;
+    }
+
+    /**
+     * @return What the node budgets are charged so far, every expanded node plus every movement whose cost was
+     * calculated from it
+     */
+    private int work() {
+        return numNodes + numMovementsConsidered;
+    }
+
+    private boolean search(long sliceStart, long sliceEndNanos) {
+        long searchedMS = searchedNanos / 1_000_000;
+        long primaryTimeoutTime = sliceStart - searchedMS + primaryTimeout;
+        long failureTimeoutTime = sliceStart - searchedMS + failureTimeout;
+        long backstopTime = sliceStart - searchedMS + failureTimeout * NODE_BUDGET_BACKSTOP;
         int timeCheckInterval = 1 << 6;
-        int pathingMaxChunkBorderFetch = settings.pathingMaxChunkBorderFetch.get(); // grab all settings beforehand so that changing settings during pathing doesn't cause a crash or unpredictable behavior
-        double minimumImprovement = settings.minimumImprovementRepropagation.get() ? MIN_IMPROVEMENT : 0;
-        Moves[] allMoves = Moves.values();
         while (!openSet.isEmpty() && numEmptyChunk < pathingMaxChunkBorderFetch && !cancelRequested) {
             if ((numNodes & (timeCheckInterval - 1)) == 0) { // only call this once every 64 nodes (about half a millisecond)
                 long now = System.currentTimeMillis(); // since nanoTime is slow on windows (takes many microseconds)
-                if (now - failureTimeoutTime >= 0 || (!failing && now - primaryTimeoutTime >= 0)) {
+                boolean failureTimedOut = failureNodeBudget > 0 ? work() >= failureNodeBudget || now - backstopTime >= 0 : now - failureTimeoutTime >= 0;
+                boolean primaryTimedOut = primaryNodeBudget > 0 ? work() >= primaryNodeBudget : now - primaryTimeoutTime >= 0;
+                if (failureTimedOut) {
+                    termination = PathSearchRecord.Termination.FAILURE_TIMEOUT;
+                    break;
+                }
+                if (!failing && incumbent == null && primaryTimedOut) { // an anytime search spends what's left refining
+                    termination = PathSearchRecord.Termination.PRIMARY_TIMEOUT;
                     break;
                 }
+                // tick slices are often shorter than a millisecond, worth the slower clock
+                if (sliceEndNanos != UNSLICED && System.nanoTime() - sliceEndNanos >= 0) {
+                    return false;
+                }
             }
             if (slowPath) {
                 try {
@@ -95,84 +169,135 @@ public final class AStarPathFinder extends AbstractNodeCostSearch {
                 } catch (InterruptedException ignored) {}
             }
             PathNode currentNode = openSet.removeLowest();
+            if (currentNode.cost >= incumbentCost) {
+                continue; // already costs as much as the path we have, whatever the heuristic says is left
+            }
             mostRecentConsidered = currentNode;
             numNodes++;
-            if (goal.isInGoal(currentNode.x, currentNode.y, currentNode.z)) {
-                calcContext.baritone.logDebug("Took " + (System.currentTimeMillis() - startTime) + "ms, " + numMovementsConsidered + " movements considered");
-                return Optional.of(new Path(startNode, currentNode, numNodes, goal, calcContext));
-            }
-            for (Moves moves : allMoves) {
-                int newX = currentNode.x + moves.xOffset;
-                int newZ = currentNode.z + moves.zOffset;
-                if ((newX >> 4 != currentNode.x >> 4 || newZ >> 4 != currentNode.z >> 4) && !calcContext.isLoaded(newX, newZ)) {
-                    // only need to check if the destination is a loaded chunk if it's in a different chunk than the start of the movement
-                    if (!moves.dynamicXZ) { // only increment the counter if the movement would have gone out of bounds guaranteed
-                        numEmptyChunk++;
-                    }
-                    continue;
-                }
-                if (!moves.dynamicXZ && !worldBorder.entirelyContains(newX, newZ)) {
-                    continue;
-                }
-                if (currentNode.y + moves.yOffset > calcContext.worldTop || currentNode.y + moves.yOffset < calcContext.worldBottom) {
-                    continue;
-                }
-                res.reset();
-                moves.apply(calcContext, currentNode.x, currentNode.y, currentNode.z, res);
-                numMovementsConsidered++;
-                double actionCost = res.cost;
-                if (actionCost >= ActionCosts.COST_INF) {
-                    continue;
-                }
-                if (res.oxygenCost + currentNode.oxygenCost >= calcContext.breathTime) {
+            if (compiledGoal.isInGoal(currentNode.x, currentNode.y, currentNode.z)) {
+                if (weight > 1) {
+                    // found a path, hand it over and look for a cheaper one with the heuristic counting for less
+                    incumbent = currentNode;
+                    incumbentCost = currentNode.cost;
+                    failing = false;
+                    pathRefined(currentNode, numNodes);
+                    weight = weight < 1.1 ? 1 : 1 + (weight - 1) / 2;
+                    openSet = reweigh(openSet, createOpenSet(settings.pathingOpenSet.get()), weight, incumbentCost);
                     continue;
                 }
-                if (actionCost <= 0 || Double.isNaN(actionCost)) {
-                    throw new IllegalStateException(moves + " calculated implausible cost " + actionCost);
-                }
-                // check destination after verifying it's not COST_INF -- some movements return a static IMPOSSIBLE object with COST_INF and destination being 0,0,0 to avoid allocating a new result for every failed calculation
-                if (moves.dynamicXZ && !worldBorder.entirelyContains(res.x, res.z)) { // see issue #218
-                    continue;
-                }
-                if (!moves.dynamicXZ && (res.x != newX || res.z != newZ)) {
-                    throw new IllegalStateException(moves + " " + res.x + " " + newX + " " + res.z + " " + newZ);
-                }
-                if (!moves.dynamicY && res.y != currentNode.y + moves.yOffset) {
-                    throw new IllegalStateException(moves + " " + res.y + " " + (currentNode.y + moves.yOffset));
+                reachedGoal = currentNode;
+                termination = PathSearchRecord.Termination.GOAL_REACHED;
+                return true;
+            }
+            expand(currentNode);
+        }
+        if (termination == null) {
+            if (cancelRequested) {
+                termination = PathSearchRecord.Termination.CANCELLED;
+            } else if (openSet.isEmpty() && incumbent != null) {
+                termination = PathSearchRecord.Termination.GOAL_REACHED; // nothing left that could beat it, so it's the best one
+            } else if (openSet.isEmpty()) {
+                termination = PathSearchRecord.Termination.OPEN_SET_EXHAUSTED;
+            } else {
+                termination = PathSearchRecord.Termination.CHUNK_BORDER_LIMIT;
+            }
+        }
+        return true;
+    }
+
+    private void expand(PathNode currentNode) {
+        int arrivedX = 0;
+        int arrivedZ = 0;
+        PathNode previous = currentNode.previous;
+        if (jumpPointPruning && previous != null && previous.y == currentNode.y
+                && Math.abs(currentNode.x - previous.x) <= 1 && Math.abs(currentNode.z - previous.z) <= 1
+                && isUniformFloor(currentNode, worldBorder, isFavoring)) {
+            arrivedX = currentNode.x - previous.x;
+            arrivedZ = currentNode.z - previous.z;
+        }
+        for (Moves moves : allMoves) {
+            if ((arrivedX != 0 || arrivedZ != 0) && isPruned(moves, arrivedX, arrivedZ)) {
+                continue;
+            }
+            int newX = currentNode.x + moves.xOffset;
+            int newZ = currentNode.z + moves.zOffset;
+            if ((newX >> 4 != currentNode.x >> 4 || newZ >> 4 != currentNode.z >> 4) && !calcContext.isLoaded(newX, newZ)) {
+                // only need to check if the destination is a loaded chunk if it's in a different chunk than the start of the movement
+                if (!moves.dynamicXZ) { // only increment the counter if the movement would have gone out of bounds guaranteed
+                    numEmptyChunk++;
                 }
-                long hashCode = BetterBlockPos.longHash(res.x, res.y, res.z);
-                if (isFavoring) {
-                    // see issue #18
-                    actionCost *= favoring.calculate(hashCode);
+                continue;
+            }
+            if (!moves.dynamicXZ && !worldBorder.entirelyContains(newX, newZ)) {
+                continue;
+            }
+            if (currentNode.y + moves.yOffset > calcContext.worldTop || currentNode.y + moves.yOffset < calcContext.worldBottom) {
+                continue;
+            }
+            res.reset();
+            moves.apply(calcContext, currentNode.x, currentNode.y, currentNode.z, res);
+            numMovementsConsidered++;
+            double actionCost = res.cost;
+            if (actionCost >= ActionCosts.COST_INF) {
+                continue;
+            }
+            if (res.oxygenCost + currentNode.oxygenCost >= calcContext.breathTime) {
+                continue;
+            }
+            if (actionCost <= 0 || Double.isNaN(actionCost)) {
+                throw new IllegalStateException(moves + " calculated implausible cost " + actionCost);
+            }
+            // check destination after verifying it's not COST_INF -- some movements return a static IMPOSSIBLE object with COST_INF and destination being 0,0,0 to avoid allocating a new result for every failed calculation
+            if (moves.dynamicXZ && !worldBorder.entirelyContains(res.x, res.z)) { // see issue #218
+                continue;
+            }
+            if (!moves.dynamicXZ && (res.x != newX || res.z != newZ)) {
+                throw new IllegalStateException(moves + " " + res.x + " " + newX + " " + res.z + " " + newZ);
+            }
+            if (!moves.dynamicY && res.y != currentNode.y + moves.yOffset) {
+                throw new IllegalStateException(moves + " " + res.y + " " + (currentNode.y + moves.yOffset));
+            }
+            long hashCode = BetterBlockPos.longHash(res.x, res.y, res.z);
+            if (isFavoring) {
+                // see issue #18
+                actionCost *= favoring.calculate(res.x, res.y, res.z, hashCode);
+            }
+            PathNode neighbor = getNodeAtPosition(res.x, res.y, res.z, hashCode);
+            double tentativeCost = currentNode.cost + actionCost;
+            if (neighbor.cost - tentativeCost > minimumImprovement && tentativeCost < incumbentCost) {
+                neighbor.previous = currentNode;
+                neighbor.cost = tentativeCost;
+                neighbor.oxygenCost = Math.max(0, currentNode.oxygenCost + res.oxygenCost);
+                neighbor.combinedCost = tentativeCost + weight * neighbor.estimatedCostToGoal;
+                if (neighbor.isOpen()) {
+                    openSet.update(neighbor);
+                } else {
+                    openSet.insert(neighbor);//dont double count, dont insert into open set if it's already there
                 }
-                PathNode neighbor = getNodeAtPosition(res.x, res.y, res.z, hashCode);
-                double tentativeCost = currentNode.cost + actionCost;
-                if (neighbor.cost - tentativeCost > minimumImprovement) {
-                    neighbor.previous = currentNode;
-                    neighbor.cost = tentativeCost;
-                    neighbor.oxygenCost = Math.max(0, currentNode.oxygenCost + res.oxygenCost);
-                    neighbor.combinedCost = tentativeCost + neighbor.estimatedCostToGoal;
-                    if (neighbor.isOpen()) {
-                        openSet.update(neighbor);
-                    } else {
-                        openSet.insert(neighbor);//dont double count, dont insert into open set if it's already there
-                    }
-                    // never leave a path dangling in the middle of water, best way to drown
-                    if (res.oxygenCost <= 0 || goal.isInGoal(neighbor.x, neighbor.y, neighbor.z)) {
-                        for (int i = 0; i < COEFFICIENTS.length; i++) {
-                            double heuristic = neighbor.estimatedCostToGoal + neighbor.cost / COEFFICIENTS[i];
-                            if (bestHeuristicSoFar[i] - heuristic > minimumImprovement) {
-                                bestHeuristicSoFar[i] = heuristic;
-                                bestSoFar[i] = neighbor;
-                                if (failing && getDistFromStartSq(neighbor) > MIN_DIST_PATH * MIN_DIST_PATH) {
-                                    failing = false;
-                                }
+                // never leave a path dangling in the middle of water, best way to drown
+                if (res.oxygenCost <= 0 || compiledGoal.isInGoal(neighbor.x, neighbor.y, neighbor.z)) {
+                    for (int i = 0; i < COEFFICIENTS.length; i++) {
+                        double heuristic = neighbor.estimatedCostToGoal + neighbor.cost / COEFFICIENTS[i];
+                        if (bestHeuristicSoFar[i] - heuristic > minimumImprovement) {
+                            bestHeuristicSoFar[i] = heuristic;
+                            bestSoFar[i] = neighbor;
+                            if (failing && getDistFromStartSq(neighbor) > MIN_DIST_PATH * MIN_DIST_PATH) {
+                                failing = false;
                             }
                         }
                     }
                 }
             }
         }
+    }
+
+    @Override
+    protected Optional<IPath> endSearch() {
+        searchFinished(numNodes, numMovementsConsidered, numEmptyChunk, termination);
+        if (reachedGoal != null) {
+            calcContext.baritone.logDebug("Took " + (System.currentTimeMillis() - startTime) + "ms, " + numMovementsConsidered + " movements considered");
+            return Optional.of(new Path(startNode, reachedGoal, numNodes, goal, calcContext));
+        }
         if (cancelRequested) {
             return Optional.empty();
         }
@@ -180,10 +305,93 @@ public final class AStarPathFinder extends AbstractNodeCostSearch {
         Automatone.LOGGER.debug("Open set size: " + openSet.size());
         Automatone.LOGGER.debug("PathNode map size: " + mapSize());
         Automatone.LOGGER.debug((int) (numNodes * 1.0 / ((System.currentTimeMillis() - startTime) / 1000F)) + " nodes per second");
+        if (incumbent != null) {
+            calcContext.baritone.logDebug("Took " + (System.currentTimeMillis() - startTime) + "ms, refined down to a heuristic weight of " + weight);
+            return Optional.of(new Path(startNode, incumbent, numNodes, goal, calcContext));
+        }
+        if (learnHeuristic && weight == 1 && !openSet.isEmpty()) {
+            learnHeuristic(openSet.removeLowest().combinedCost); // the search is over, the open set won't be needed again
+        }
         Optional<IPath> result = bestSoFar(true, numNodes);
         if (result.isPresent()) {
             calcContext.baritone.logDebug("Took " + (System.currentTimeMillis() - startTime) + "ms, " + numMovementsConsidered + " movements considered");
         }
         return result;
     }
+
+    /**
+     * Moves every open node over to a fresh open set, keyed for a lower heuristic weight, dropping the ones that can't
+     * beat the path we already have. Only the cost so far is compared, since most goals' heuristics can overestimate
+     * what's left and would drop nodes that lead somewhere cheaper. Since a node is opened again whenever its cost
+     * improves, what ARA* keeps in its inconsistent list is already in the open set here.
+     */
+    private static IOpenSet reweigh(IOpenSet from, IOpenSet to, double weight, double incumbentCost) {
+        while (!from.isEmpty()) {
+            PathNode node = from.removeLowest();
+            if (node.cost < incumbentCost) {
+                node.combinedCost = node.cost + weight * node.estimatedCostToGoal;
+                to.insert(node);
+            }
+        }
+        return to;
+    }
+
+    private static IOpenSet createOpenSet(String kind) {
+        switch (kind.toLowerCase(Locale.ROOT)) {
+            case "pairing":
+                return new PairingHeapOpenSet();
+            case "bucket":
+                return new BucketOpenSet();
+            case "binary":
+                return new BinaryHeapOpenSet();
+            default:
+                Automatone.LOGGER.warn("Unknown pathingOpenSet \"{}\", using binary", kind);
+                return new BinaryHeapOpenSet();
+        }
+    }
+
+    /**
+     * @return Whether the move is a walk or diagonal that, on uniform floor, can be reached from where we came from at
+     * least as cheaply without going through here: after walking straight, only carry on straight, and after a
+     * diagonal, only carry on diagonally or along either of its two components. This is the pruning rule of jump
+     * point search; on the 3x3 around us every walk costs the same, and every diagonal costs sqrt 2 times that.
+     */
+    private static boolean isPruned(Moves moves, int arrivedX, int arrivedZ) {
+        if (moves.yOffset != 0 || Math.abs(moves.xOffset) > 1 || Math.abs(moves.zOffset) > 1) {
+            return false; // anything that isn't a walk or a diagonal, those aren't symmetric
+        }
+        return !((moves.xOffset == 0 || moves.xOffset == arrivedX) && (moves.zOffset == 0 || moves.zOffset == arrivedZ));
+    }
+
+    /**
+     * @return Whether every walk and diagonal between the blocks of the 3x3 around the node costs the same: plain full
+     * blocks underfoot, air for our whole body, nothing favored or avoided more than anything else, and no world border
+     */
+    private boolean isUniformFloor(PathNode node, BetterWorldBorder worldBorder, boolean isFavoring) {
+        if (!worldBorder.entirelyContains(node.x - 1, node.z - 1) || !worldBorder.entirelyContains(node.x + 1, node.z + 1)) {
+            return false;
+        }
+        double favor = isFavoring ? favoring.calculate(node.x, node.y, node.z, BetterBlockPos.longHash(node.x, node.y, node.z)) : 1;
+        for (int x = node.x - 1; x <= node.x + 1; x++) {
+            for (int z = node.z - 1; z <= node.z + 1; z++) {
+                if (category(x, node.y - 1, z) != PathingCategory.SOLID) {
+                    return false;
+                }
+                for (int dy = 0; dy < calcContext.height; dy++) {
+                    if (category(x, node.y + dy, z) != PathingCategory.AIR) {
+                        return false;
+                    }
+                }
+                if (isFavoring && favoring.calculate(x, node.y, z, BetterBlockPos.longHash(x, node.y, z)) != favor) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private byte category(int x, int y, int z) {
+        byte category = calcContext.category(x, y, z);
+        return category == PathingCategory.UNKNOWN ? PathingCategory.of(calcContext.get(x, y, z)) : category;
+    }
 }
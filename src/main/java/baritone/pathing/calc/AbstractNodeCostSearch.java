@@ -21,15 +21,22 @@ import baritone.Automatone;
 import baritone.api.Settings;
 import baritone.api.pathing.calc.IPath;
 import baritone.api.pathing.calc.IPathFinder;
+import baritone.api.pathing.calc.PathSearchRecord;
+import baritone.api.pathing.goals.CompiledGoal;
 import baritone.api.pathing.goals.Goal;
+import baritone.api.pathing.movement.ActionCosts;
 import baritone.api.utils.BetterBlockPos;
 import baritone.api.utils.PathCalculationResult;
 import baritone.pathing.movement.CalculationContext;
 import baritone.utils.NotificationHelper;
 import baritone.utils.pathing.PathBase;
+import it.unimi.dsi.fastutil.longs.Long2DoubleOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Any pathfinding algorithm that keeps track of nodes recursively by their cost (e.g. A*, dijkstra)
@@ -44,6 +51,11 @@ public abstract class AbstractNodeCostSearch implements IPathFinder {
 
     protected final Goal goal;
 
+    /**
+     * {@link #goal}, compiled once so that creating and expanding nodes doesn't go through goal wrappers
+     */
+    protected final CompiledGoal compiledGoal;
+
     private final CalculationContext context;
 
     /**
@@ -61,6 +73,62 @@ public abstract class AbstractNodeCostSearch implements IPathFinder {
 
     protected boolean cancelRequested;
 
+    private int numNodes;
+    private int numMovementsConsidered;
+    private int numEmptyChunk;
+    private double coefficient = Double.NaN;
+    private PathSearchRecord.Termination termination = PathSearchRecord.Termination.EXCEPTION;
+    private volatile PathSearchRecord searchRecord;
+
+    /**
+     * When the first slice of a search run a slice at a time started, 0 before that
+     */
+    private long firstSliceTime;
+
+    private double budgetScale = 1;
+
+    /**
+     * How many nodes a millisecond of timeout is worth, 0 to go by what this thread has been expanding, or -1 to stop
+     * searches by the wall clock instead
+     */
+    private int nodesPerMS = -1;
+
+    /**
+     * How many times the failure timeout a search with node budgets may still take on the wall clock, in case the
+     * machine is far slower than the budgets assume
+     */
+    protected static final int NODE_BUDGET_BACKSTOP = 4;
+
+    /**
+     * Passed to {@link #continueSearch} to search in one go
+     */
+    protected static final long UNSLICED = Long.MAX_VALUE;
+
+    /**
+     * The timeouts turned into how many nodes may be expanded plus movements considered, or 0 when searching until
+     * the timeouts elapse. Movements are counted too since they are most of the work, and how many each node
+     * considers varies a lot with jump point pruning and the terrain around it.
+     */
+    protected int primaryNodeBudget;
+    protected int failureNodeBudget;
+
+    /**
+     * The latest path to the goal handed over by {@link #pathRefined}, while the search carries on improving it
+     */
+    private volatile IPath refined;
+
+    private Consumer<IPath> refinementListener;
+
+    /**
+     * What the search for the previous segment toward this goal learned, read when creating nodes
+     */
+    private LearnedHeuristic inherited;
+
+    /**
+     * What this search learned for the next segment, if it stopped short of the goal
+     */
+    private volatile LearnedHeuristic learned;
+
     /**
      * This is really complicated and hard to explain. I wrote a comment in the old version of MineBot but it was so
      * long it was easier as a Google Doc (because I could insert charts).
@@ -88,6 +156,7 @@ public abstract class AbstractNodeCostSearch implements IPathFinder {
         this.startY = startY;
         this.startZ = startZ;
         this.goal = goal;
+        this.compiledGoal = CompiledGoal.of(goal);
         this.context = context;
         this.map = new Long2ObjectOpenHashMap<>(context.baritone.settings().pathingMapDefaultSize.get(), context.baritone.settings().pathingMapLoadFactor.get());
     }
@@ -96,57 +165,250 @@ public abstract class AbstractNodeCostSearch implements IPathFinder {
         cancelRequested = true;
     }
 
+    /**
+     * Sets what is told, from the calculating thread and before {@link #calculate} returns, about every path to the
+     * goal that an anytime search finds while it keeps looking for a cheaper one
+     *
+     * @param refinementListener The listener, already post processed and cut off paths are passed to it
+     */
+    public void setRefinementListener(Consumer<IPath> refinementListener) {
+        this.refinementListener = refinementListener;
+    }
+
+    /**
+     * Records, for the {@link PathSearchRecord}, that the timeouts this search is going to be given were scaled
+     *
+     * @param budgetScale What the configured timeouts were multiplied by
+     */
+    public void setBudgetScale(double budgetScale) {
+        this.budgetScale = budgetScale;
+    }
+
+    /**
+     * Stops this search once it has expanded as many nodes and considered as many movements as it could in its
+     * timeouts, rather than once they elapse, so that it comes up with the same path no matter how busy the machine is
+     *
+     * @param nodesPerMS How many nodes plus movements a millisecond of timeout is worth, or 0 to go by how many the
+     *                   thread that runs the search has been getting through per millisecond
+     */
+    public void useNodeBudgets(int nodesPerMS) {
+        this.nodesPerMS = Math.max(0, nodesPerMS);
+    }
+
+    /**
+     * Starts this search off with what the search for the previous segment toward the very same goal learned. Must be
+     * called before {@link #calculate}.
+     *
+     * @param inherited The learned heuristic
+     */
+    public void inheritHeuristic(LearnedHeuristic inherited) {
+        this.inherited = inherited;
+    }
+
     @Override
     public synchronized PathCalculationResult calculate(long primaryTimeout, long failureTimeout) {
         if (isFinished) {
             throw new IllegalStateException("Path finder cannot be reused!");
         }
         cancelRequested = false;
+        long startTime = System.currentTimeMillis();
+        PathCalculationResult result = null;
         try {
-            IPath path = calculate0(primaryTimeout, failureTimeout).map(IPath::postProcess).orElse(null);
+            setNodeBudgets(primaryTimeout, failureTimeout);
+            beginSearch(primaryTimeout, failureTimeout);
+            continueSearch(UNSLICED);
+            result = calculatePath();
+        } catch (Exception e) {
+            result = exception(e);
+        } finally {
+            // this is run regardless of what exception may or may not be raised by the search
+            finish(startTime, primaryTimeout, failureTimeout, result);
+        }
+        return result;
+    }
 
-            if (cancelRequested) {
-                return new PathCalculationResult(PathCalculationResult.Type.CANCELLATION);
+    /**
+     * Like {@link #calculate}, but searches on the calling thread for only about sliceNanos at a time, picking up where
+     * the last slice left off. The timeouts count the time spent searching in all slices together, not the time in
+     * between them. Meanwhile, {@link #bestPathSoFar()} and {@link #pathToMostRecentNodeConsidered()} work just like
+     * they do while a threaded search is running.
+     *
+     * @param primaryTimeout The primary timeout, the same for every slice
+     * @param failureTimeout The failure timeout, the same for every slice
+     * @param sliceNanos     How long to search for this time, in nanoseconds, checked every 64 nodes
+     * @return The result once the search is done, or empty if it needs another slice
+     */
+    public synchronized Optional<PathCalculationResult> calculateSlice(long primaryTimeout, long failureTimeout, long sliceNanos) {
+        if (isFinished) {
+            throw new IllegalStateException("Path finder cannot be reused!");
+        }
+        long now = System.currentTimeMillis();
+        PathCalculationResult result = null;
+        try {
+            if (firstSliceTime == 0) {
+                firstSliceTime = now;
+                cancelRequested = false;
+                setNodeBudgets(primaryTimeout, failureTimeout);
+                beginSearch(primaryTimeout, failureTimeout);
             }
-
-            if (path == null) {
-                return new PathCalculationResult(PathCalculationResult.Type.FAILURE);
+            if (!continueSearch(sliceNanos)) {
+                return Optional.empty();
             }
+            result = calculatePath();
+        } catch (Exception e) {
+            result = exception(e);
+        }
+        finish(firstSliceTime, primaryTimeout, failureTimeout, result);
+        return Optional.of(result);
+    }
+
+    private void setNodeBudgets(long primaryTimeout, long failureTimeout) {
+        if (nodesPerMS < 0) {
+            return;
+        }
+        // budgets are for the timeouts as configured, a busy server already gets the same path slower
+        double rate = (nodesPerMS > 0 ? nodesPerMS : NodeRate.get()) / budgetScale;
+        primaryNodeBudget = (int) Math.max(1, Math.min(Integer.MAX_VALUE, primaryTimeout * rate));
+        failureNodeBudget = (int) Math.max(1, Math.min(Integer.MAX_VALUE, failureTimeout * rate));
+    }
 
-            int previousLength = path.length();
-            Settings settings = context.getBaritone().settings();
-            path = ((PathBase) path).cutoffAtLoadedChunks(context.bsi, settings);
+    private PathCalculationResult exception(Exception e) {
+        this.context.baritone.logDirect("Pathing exception: " + e);
+        Automatone.LOGGER.error("Pathing exception: ", e);
+        termination = PathSearchRecord.Termination.EXCEPTION;
+        return new PathCalculationResult(PathCalculationResult.Type.EXCEPTION);
+    }
 
-            if (path.length() < previousLength) {
-                context.baritone.logDebug("Cutting off path at edge of loaded chunks");
-                context.baritone.logDebug("Length decreased by " + (previousLength - path.length()));
-            } else {
-                context.baritone.logDebug("Path ends within loaded chunks");
+    private void finish(long startTime, long primaryTimeout, long failureTimeout, PathCalculationResult result) {
+        if (result != null) {
+            if (result.getType() == PathCalculationResult.Type.CANCELLATION) {
+                termination = PathSearchRecord.Termination.CANCELLED;
             }
+            searchRecord = new PathSearchRecord(startTime, System.currentTimeMillis() - startTime, primaryTimeout, failureTimeout, budgetScale, primaryNodeBudget, failureNodeBudget, numNodes, numMovementsConsidered, numEmptyChunk, result.getPath().isPresent() ? coefficient : Double.NaN, result.getType(), termination);
+            Automatone.LOGGER.debug("Path search finished: " + searchRecord);
+        }
+        isFinished = true;
+    }
 
-            previousLength = path.length();
-            path = ((PathBase) path).staticCutoff(goal, settings);
+    private PathCalculationResult calculatePath() {
+        IPath path = endSearch().map(IPath::postProcess).orElse(null);
 
-            if (path.length() < previousLength) {
-                context.baritone.logDebug("Static cutoff " + previousLength + " to " + path.length());
-            }
+        if (cancelRequested) {
+            return new PathCalculationResult(PathCalculationResult.Type.CANCELLATION);
+        }
+
+        if (path == null) {
+            return new PathCalculationResult(PathCalculationResult.Type.FAILURE);
+        }
+
+        path = cutoff(path);
+
+        if (goal.isInGoal(path.getDest())) {
+            return new PathCalculationResult(PathCalculationResult.Type.SUCCESS_TO_GOAL, path);
+        } else {
+            return new PathCalculationResult(PathCalculationResult.Type.SUCCESS_SEGMENT, path);
+        }
+    }
 
-            if (goal.isInGoal(path.getDest())) {
-                return new PathCalculationResult(PathCalculationResult.Type.SUCCESS_TO_GOAL, path);
-            } else {
-                return new PathCalculationResult(PathCalculationResult.Type.SUCCESS_SEGMENT, path);
+    private IPath cutoff(IPath path) {
+        int previousLength = path.length();
+        Settings settings = context.getBaritone().settings();
+        path = ((PathBase) path).cutoffAtLoadedChunks(context.bsi, settings);
+
+        if (path.length() < previousLength) {
+            context.baritone.logDebug("Cutting off path at edge of loaded chunks");
+            context.baritone.logDebug("Length decreased by " + (previousLength - path.length()));
+        } else {
+            context.baritone.logDebug("Path ends within loaded chunks");
+        }
+
+        previousLength = path.length();
+        path = ((PathBase) path).staticCutoff(goal, settings);
+
+        if (path.length() < previousLength) {
+            context.baritone.logDebug("Static cutoff " + previousLength + " to " + path.length());
+        }
+        return path;
+    }
+
+    /**
+     * Sets up the search, called once before the first {@link #continueSearch}
+     *
+     * @param primaryTimeout The primary timeout, in milliseconds of searching
+     * @param failureTimeout The failure timeout, in milliseconds of searching
+     */
+    protected abstract void beginSearch(long primaryTimeout, long failureTimeout);
+
+    /**
+     * Searches until the search is over or the slice is up, whichever comes first
+     *
+     * @param sliceNanos How long to search for before putting the search down until the next call, or
+     *                   {@link #UNSLICED} to search until it is over
+     * @return Whether the search is over, and {@link #endSearch} should be called
+     */
+    protected abstract boolean continueSearch(long sliceNanos);
+
+    /**
+     * @return The path the search came up with, if any
+     */
+    protected abstract Optional<IPath> endSearch();
+
+    /**
+     * Called by implementations once their search loop has stopped, to fill in the {@link PathSearchRecord}
+     *
+     * @param numNodes               The number of nodes expanded
+     * @param numMovementsConsidered The number of movements whose cost was calculated
+     * @param numEmptyChunk          The number of movements that ran into unloaded chunks
+     * @param termination            Why the search loop stopped
+     */
+    protected void searchFinished(int numNodes, int numMovementsConsidered, int numEmptyChunk, PathSearchRecord.Termination termination) {
+        this.numNodes = numNodes;
+        this.numMovementsConsidered = numMovementsConsidered;
+        this.numEmptyChunk = numEmptyChunk;
+        this.termination = termination;
+        if (termination == PathSearchRecord.Termination.GOAL_REACHED) {
+            this.coefficient = 1;
+        }
+    }
+
+    /**
+     * Called by implementations whose search stopped short of the goal, to learn what the search for the next segment
+     * can inherit
+     *
+     * @param lowestCombinedCost The lowest unweighted combined cost left in the open set
+     * @see LearnedHeuristic
+     */
+    protected void learnHeuristic(double lowestCombinedCost) {
+        Long2DoubleOpenHashMap estimates = new Long2DoubleOpenHashMap();
+        for (Long2ObjectMap.Entry<PathNode> entry : Long2ObjectMaps.fastIterable(map)) {
+            PathNode node = entry.getValue();
+            if (node.isOpen() || node.cost >= ActionCosts.COST_INF) {
+                continue; // only the expanded ones
+            }
+            double estimate = lowestCombinedCost - node.cost;
+            if (estimate > node.estimatedCostToGoal) {
+                estimates.put(entry.getLongKey(), estimate);
             }
-        } catch (Exception e) {
-            this.context.baritone.logDirect("Pathing exception: " + e);
-            Automatone.LOGGER.error("Pathing exception: ", e);
-            return new PathCalculationResult(PathCalculationResult.Type.EXCEPTION);
-        } finally {
-            // this is run regardless of what exception may or may not be raised by calculate0
-            isFinished = true;
         }
+        learned = new LearnedHeuristic(estimates);
+        context.baritone.logDebug("Learned a higher heuristic for " + estimates.size() + " nodes");
     }
 
-    protected abstract Optional<IPath> calculate0(long primaryTimeout, long failureTimeout);
+    /**
+     * Called by anytime implementations every time they pop a node in the goal more cheaply than before, but are going
+     * to keep searching for an even cheaper one instead of returning
+     *
+     * @param end      The node in the goal
+     * @param numNodes The number of nodes expanded so far
+     */
+    protected void pathRefined(PathNode end, int numNodes) {
+        IPath path = cutoff(new Path(startNode, end, numNodes, goal, context).postProcess());
+        coefficient = 1;
+        refined = path;
+        if (refinementListener != null && !cancelRequested) {
+            refinementListener.accept(path);
+        }
+    }
 
     /**
      * Determines the distance squared from the specified node to the start
@@ -179,7 +441,7 @@ public abstract class AbstractNodeCostSearch implements IPathFinder {
     protected PathNode getNodeAtPosition(int x, int y, int z, long hashCode) {
         PathNode node = map.get(hashCode);
         if (node == null) {
-            node = new PathNode(x, y, z, goal);
+            node = inherited == null ? new PathNode(x, y, z, compiledGoal) : new PathNode(x, y, z, compiledGoal, inherited.get(hashCode));
             map.put(hashCode, node);
         }
         return node;
@@ -192,6 +454,10 @@ public abstract class AbstractNodeCostSearch implements IPathFinder {
 
     @Override
     public Optional<IPath> bestPathSoFar() {
+        IPath refined = this.refined;
+        if (refined != null) {
+            return Optional.of(refined);
+        }
         return bestSoFar(false, 0);
     }
 
@@ -217,6 +483,7 @@ public abstract class AbstractNodeCostSearch implements IPathFinder {
                     }
                     Automatone.LOGGER.info("Path goes for " + Math.sqrt(dist) + " blocks");
                     context.baritone.logDebug("A* cost coefficient " + COEFFICIENTS[i]);
+                    coefficient = COEFFICIENTS[i];
                 }
                 return Optional.of(new Path(startNode, bestSoFar[i], numNodes, goal, context));
             }
@@ -233,6 +500,11 @@ public abstract class AbstractNodeCostSearch implements IPathFinder {
         return Optional.empty();
     }
 
+    @Override
+    public Optional<PathSearchRecord> getSearchRecord() {
+        return Optional.ofNullable(searchRecord);
+    }
+
     @Override
     public final boolean isFinished() {
         return isFinished;
@@ -243,6 +515,20 @@ public abstract class AbstractNodeCostSearch implements IPathFinder {
         return goal;
     }
 
+    /**
+     * @return What this search learned for the search of the next segment toward the same goal, if anything
+     */
+    public Optional<LearnedHeuristic> getLearnedHeuristic() {
+        return Optional.ofNullable(learned);
+    }
+
+    /**
+     * @return Whether this search has already handed over a path to its refinement listener
+     */
+    public boolean hasRefinedPath() {
+        return refined != null;
+    }
+
     public BetterBlockPos getStart() {
         return new BetterBlockPos(startX, startY, startZ);
     }
@@ -0,0 +1,56 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.pathing.calc;
+
+import it.unimi.dsi.fastutil.longs.Long2DoubleOpenHashMap;
+
+/**
+ * Heuristic values that a search which stopped short of its goal learned to be too low, to be carried over to the search
+ * for the next segment toward the same goal.
+ * <p>
+ * This is the update of real-time adaptive A* (RTAA*): when a search stops, the lowest combined cost in its open set
+ * minus an expanded node's cost is taken as the estimate of what is left from that node to the goal, wherever that is
+ * more than the goal's own heuristic. That would be a lower bound if the heuristic were admissible and the world stood
+ * still, but neither holds here: goal heuristics overestimate on purpose, favoring and avoidance change costs, and
+ * blocks change between segments. So treat it as a better guess, not a guarantee. It mostly raises the nodes in dead
+ * ends and behind walls that the last search already wasted its time on, so the next one doesn't walk straight back
+ * into them.
+ *
+ * @see AbstractNodeCostSearch#inheritHeuristic(LearnedHeuristic)
+ */
+public final class LearnedHeuristic {
+
+    private final Long2DoubleOpenHashMap estimates;
+
+    LearnedHeuristic(Long2DoubleOpenHashMap estimates) {
+        this.estimates = estimates;
+        this.estimates.defaultReturnValue(Double.NEGATIVE_INFINITY);
+    }
+
+    /**
+     * @param hash The position, as given by {@link baritone.api.utils.BetterBlockPos#longHash(int, int, int)}
+     * @return The learned estimate of the cost to the goal, or negative infinity if nothing was learned there
+     */
+    public double get(long hash) {
+        return estimates.get(hash);
+    }
+
+    public int size() {
+        return estimates.size();
+    }
+}
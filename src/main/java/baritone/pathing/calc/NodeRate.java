@@ -0,0 +1,79 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.pathing.calc;
+
+/**
+ * How many nodes plus movements per millisecond searches get through on each thread, for turning timeouts into node
+ * budgets. Measured
+ * from the first searches that run on the thread, then frozen, so that later searches get the same budgets no matter
+ * how busy the machine happens to be while they run.
+ *
+ * @see baritone.api.Settings#pathingNodeBudgets
+ */
+final class NodeRate {
+
+    /**
+     * What is assumed before anything was measured, 64 nodes take about half a millisecond and each of them
+     * considers about 20 of the movements
+     */
+    private static final double INITIAL_NODES_PER_MS = 128 * 21;
+
+    /**
+     * Slices shorter than this are mostly the overshoot past their end, since the time is only checked every 64 nodes
+     */
+    private static final long MIN_SAMPLE_NANOS = 1_000_000;
+
+    /**
+     * How much searching is measured before the rate is frozen
+     */
+    private static final long CALIBRATION_NANOS = 2_000_000_000L;
+
+    private static final ThreadLocal<NodeRate> RATES = ThreadLocal.withInitial(NodeRate::new);
+
+    private double nodesPerMS = INITIAL_NODES_PER_MS;
+    private long measuredNodes;
+    private long measuredNanos;
+
+    private NodeRate() {}
+
+    /**
+     * @return The rate measured on the calling thread
+     */
+    static double get() {
+        return RATES.get().nodesPerMS;
+    }
+
+    /**
+     * Adds a search, or a slice of one, that ran on the calling thread, unless the rate is already frozen
+     *
+     * @param work      The number of nodes it expanded plus movements it considered
+     * @param tookNanos How long that took, in nanoseconds
+     */
+    static void record(int work, long tookNanos) {
+        if (tookNanos < MIN_SAMPLE_NANOS) {
+            return;
+        }
+        NodeRate rate = RATES.get();
+        if (rate.measuredNanos >= CALIBRATION_NANOS) {
+            return;
+        }
+        rate.measuredNodes += work;
+        rate.measuredNanos += tookNanos;
+        rate.nodesPerMS = rate.measuredNodes * 1_000_000D / rate.measuredNanos;
+    }
+}
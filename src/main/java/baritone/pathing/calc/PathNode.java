@@ -17,7 +17,7 @@
 
 package baritone.pathing.calc;
 
-import baritone.api.pathing.goals.Goal;
+import baritone.api.pathing.goals.CompiledGoal;
 import baritone.api.pathing.movement.ActionCosts;
 import baritone.api.utils.BetterBlockPos;
 
@@ -38,7 +38,10 @@ public final class PathNode {
     public final int z;
 
     /**
-     * Cached, should always be equal to goal.heuristic(pos)
+     * Cached, should always be equal to goal.heuristic(pos), or more where an earlier search toward the same goal
+     * learned that it's further
+     *
+     * @see LearnedHeuristic
      */
     public final double estimatedCostToGoal;
 
@@ -71,14 +74,27 @@ public final class PathNode {
 
     /**
      * Where is this node in the array flattenization of the binary heap? Needed for decrease-key operations.
+     * -1 when the node isn't in the open set, other open sets store whatever they need to find it again in here.
      */
     public int heapPosition;
 
-    public PathNode(int x, int y, int z, Goal goal) {
+    /**
+     * Links of the {@link baritone.pathing.calc.openset.PairingHeapOpenSet}: the first child, the next sibling, and
+     * the previous sibling, or the parent for a first child
+     */
+    public PathNode pairingChild;
+    public PathNode pairingSibling;
+    public PathNode pairingPrevious;
+
+    public PathNode(int x, int y, int z, CompiledGoal goal) {
+        this(x, y, z, goal, Double.NEGATIVE_INFINITY);
+    }
+
+    public PathNode(int x, int y, int z, CompiledGoal goal, double learnedEstimate) {
         this.previous = null;
         this.cost = ActionCosts.COST_INF;
         this.oxygenCost = 0;
-        this.estimatedCostToGoal = goal.heuristic(x, y, z);
+        this.estimatedCostToGoal = Math.max(goal.heuristic(x, y, z), learnedEstimate);
         if (Double.isNaN(estimatedCostToGoal)) {
             throw new IllegalStateException(goal + " calculated implausible heuristic");
         }
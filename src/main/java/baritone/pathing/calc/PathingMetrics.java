@@ -0,0 +1,172 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.pathing.calc;
+
+import baritone.api.pathing.calc.IPathingMetrics;
+import baritone.api.pathing.calc.PathSearchRecord;
+import baritone.api.utils.PathCalculationResult;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fixed size ring buffer of {@link PathSearchRecord}s, with histograms and counters that are kept in sync
+ * as records enter and leave the window. Records are added from the pathing threads, so every access is synchronized.
+ */
+public final class PathingMetrics implements IPathingMetrics {
+
+    private static final PathCalculationResult.Type[] TYPES = PathCalculationResult.Type.values();
+    private static final PathSearchRecord.Termination[] TERMINATIONS = PathSearchRecord.Termination.values();
+
+    private final PathSearchRecord[] window;
+    private int head;
+    private int size;
+    private long totalSearches;
+
+    private final long[] durationHistogram = new long[HISTOGRAM_BUCKETS];
+    private final long[] nodeHistogram = new long[HISTOGRAM_BUCKETS];
+    private final int[] typeCounts = new int[TYPES.length];
+    private final int[] terminationCounts = new int[TERMINATIONS.length];
+
+    public PathingMetrics(int capacity) {
+        this.window = new PathSearchRecord[Math.max(1, capacity)];
+    }
+
+    public synchronized void record(PathSearchRecord record) {
+        if (size == window.length) {
+            apply(window[head], -1);
+        } else {
+            size++;
+        }
+        window[head] = record;
+        head = (head + 1) % window.length;
+        apply(record, 1);
+        totalSearches++;
+    }
+
+    private void apply(PathSearchRecord record, int delta) {
+        durationHistogram[IPathingMetrics.bucketOf(record.durationMS)] += delta;
+        nodeHistogram[IPathingMetrics.bucketOf(record.nodesExpanded)] += delta;
+        typeCounts[record.resultType.ordinal()] += delta;
+        terminationCounts[record.termination.ordinal()] += delta;
+    }
+
+    @Override
+    public synchronized List<PathSearchRecord> getRecords() {
+        List<PathSearchRecord> records = new ArrayList<>(size);
+        int start = (head - size + window.length) % window.length;
+        for (int i = 0; i < size; i++) {
+            records.add(window[(start + i) % window.length]);
+        }
+        return records;
+    }
+
+    @Override
+    public synchronized long getTotalSearches() {
+        return totalSearches;
+    }
+
+    @Override
+    public synchronized int count(PathCalculationResult.Type type) {
+        return typeCounts[type.ordinal()];
+    }
+
+    @Override
+    public synchronized int count(PathSearchRecord.Termination termination) {
+        return terminationCounts[termination.ordinal()];
+    }
+
+    @Override
+    public synchronized long[] getDurationHistogram() {
+        return durationHistogram.clone();
+    }
+
+    @Override
+    public synchronized long[] getNodeHistogram() {
+        return nodeHistogram.clone();
+    }
+
+    @Override
+    public long durationPercentile(double percentile) {
+        List<PathSearchRecord> records = getRecords();
+        long[] durations = new long[records.size()];
+        for (int i = 0; i < durations.length; i++) {
+            durations[i] = records.get(i).durationMS;
+        }
+        Arrays.sort(durations);
+        return durations.length == 0 ? 0 : durations[rank(percentile, durations.length)];
+    }
+
+    @Override
+    public int nodesPercentile(double percentile) {
+        List<PathSearchRecord> records = getRecords();
+        int[] nodes = new int[records.size()];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = records.get(i).nodesExpanded;
+        }
+        Arrays.sort(nodes);
+        return nodes.length == 0 ? 0 : nodes[rank(percentile, nodes.length)];
+    }
+
+    private static int rank(double percentile, int length) {
+        int rank = (int) Math.ceil(Math.max(0, Math.min(100, percentile)) / 100 * length) - 1;
+        return Math.max(0, rank);
+    }
+
+    @Override
+    public synchronized void reset() {
+        Arrays.fill(window, null);
+        head = 0;
+        size = 0;
+        totalSearches = 0;
+        Arrays.fill(durationHistogram, 0);
+        Arrays.fill(nodeHistogram, 0);
+        Arrays.fill(typeCounts, 0);
+        Arrays.fill(terminationCounts, 0);
+    }
+
+    @Override
+    public void export(Path file) throws IOException {
+        List<PathSearchRecord> records = getRecords();
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write("startTime,durationMS,primaryTimeoutMS,failureTimeoutMS,budgetScale,primaryNodeBudget,failureNodeBudget,nodesExpanded,movementsConsidered,emptyChunkHits,nodesPerSecond,coefficient,resultType,termination\n");
+            for (PathSearchRecord record : records) {
+                out.write(record.startTime + "," +
+                        record.durationMS + "," +
+                        record.primaryTimeoutMS + "," +
+                        record.failureTimeoutMS + "," +
+                        record.budgetScale + "," +
+                        record.primaryNodeBudget + "," +
+                        record.failureNodeBudget + "," +
+                        record.nodesExpanded + "," +
+                        record.movementsConsidered + "," +
+                        record.emptyChunkHits + "," +
+                        record.nodesPerSecond() + "," +
+                        (Double.isNaN(record.coefficient) ? "" : record.coefficient) + "," +
+                        record.resultType + "," +
+                        record.termination + "\n");
+            }
+        }
+    }
+}
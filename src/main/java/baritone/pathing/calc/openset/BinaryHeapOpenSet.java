@@ -22,7 +22,7 @@ import baritone.pathing.calc.PathNode;
 import java.util.Arrays;
 
 /**
- * A binary heap implementation of an open set. This is the one used in the AStarPathFinder.
+ * A binary heap implementation of an open set. This is the one the AStarPathFinder uses by default.
  *
  * @author leijurv
  */
@@ -52,6 +52,7 @@ public final class BinaryHeapOpenSet implements IOpenSet {
         this.array = new PathNode[size];
     }
 
+    @Override
     public int size() {
         return size;
     }
@@ -0,0 +1,167 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.pathing.calc.openset;
+
+import baritone.pathing.calc.PathNode;
+
+import java.util.Arrays;
+
+/**
+ * A bucket queue implementation of an open set. Nodes are sorted into buckets of a fixed width of combined cost, and
+ * removeLowest only has to look through the lowest bucket that isn't empty. Since most movement costs are a few
+ * ticks, with a width of about a tick the buckets stay small and inserts and decrease-keys are constant time.
+ * <p>
+ * Nodes are still removed in exact order of combined cost, the buckets only narrow down where to look.
+ * <p>
+ * A decrease-key leaves the node's old entry behind, to be dropped the next time its bucket is looked through. The
+ * bucket a node is in is kept in {@link PathNode#heapPosition}. This relies on the cost of a node only ever going down,
+ * so that it never comes back to a bucket it left.
+ */
+public final class BucketOpenSet implements IOpenSet {
+
+    /**
+     * The default width of a bucket, in ticks
+     */
+    public static final double DEFAULT_WIDTH = 1;
+
+    /**
+     * Anything this far above the first node goes in the last bucket, which is still correct, just slower
+     */
+    private static final int MAX_BUCKETS = 1 << 16;
+
+    private final double width;
+    private PathNode[][] buckets = new PathNode[64][];
+    private int[] counts = new int[64];
+    /**
+     * The cost the first bucket starts at. Anything cheaper goes in there too.
+     */
+    private double base = Double.NaN;
+    /**
+     * Every bucket below this one is empty
+     */
+    private int lowest;
+    private int size;
+
+    public BucketOpenSet() {
+        this(DEFAULT_WIDTH);
+    }
+
+    public BucketOpenSet(double width) {
+        this.width = width;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void insert(PathNode node) {
+        if (Double.isNaN(base)) {
+            base = node.combinedCost;
+        }
+        int bucket = bucketOf(node.combinedCost);
+        node.heapPosition = bucket;
+        add(bucket, node);
+        size++;
+    }
+
+    @Override
+    public void update(PathNode node) {
+        int bucket = bucketOf(node.combinedCost);
+        if (bucket != node.heapPosition) {
+            node.heapPosition = bucket;
+            add(bucket, node);
+        }
+    }
+
+    @Override
+    public PathNode removeLowest() {
+        if (size == 0) {
+            throw new IllegalStateException();
+        }
+        while (true) {
+            PathNode[] bucket = buckets[lowest];
+            int count = counts[lowest];
+            int best = -1;
+            double bestCost = Double.POSITIVE_INFINITY;
+            int i = 0;
+            while (i < count) {
+                PathNode node = bucket[i];
+                if (node.heapPosition != lowest) {
+                    // left behind by a decrease-key, or already removed
+                    bucket[i] = bucket[--count];
+                    bucket[count] = null;
+                    continue;
+                }
+                if (node.combinedCost < bestCost) {
+                    bestCost = node.combinedCost;
+                    best = i;
+                }
+                i++;
+            }
+            if (best == -1) {
+                counts[lowest] = 0;
+                lowest++;
+                continue;
+            }
+            PathNode result = bucket[best];
+            bucket[best] = bucket[--count];
+            bucket[count] = null;
+            counts[lowest] = count;
+            result.heapPosition = -1;
+            size--;
+            return result;
+        }
+    }
+
+    private int bucketOf(double cost) {
+        double bucket = Math.floor((cost - base) / width);
+        if (bucket <= 0) {
+            return 0;
+        }
+        return bucket >= MAX_BUCKETS - 1 ? MAX_BUCKETS - 1 : (int) bucket;
+    }
+
+    private void add(int index, PathNode node) {
+        if (index >= buckets.length) {
+            int length = Math.min(MAX_BUCKETS, Math.max(index + 1, buckets.length << 1));
+            buckets = Arrays.copyOf(buckets, length);
+            counts = Arrays.copyOf(counts, length);
+        }
+        PathNode[] bucket = buckets[index];
+        int count = counts[index];
+        if (bucket == null) {
+            bucket = new PathNode[16];
+            buckets[index] = bucket;
+        } else if (count == bucket.length) {
+            bucket = Arrays.copyOf(bucket, count << 1);
+            buckets[index] = bucket;
+        }
+        bucket[count] = node;
+        counts[index] = count + 1;
+        if (index < lowest) {
+            lowest = index;
+        }
+    }
+}
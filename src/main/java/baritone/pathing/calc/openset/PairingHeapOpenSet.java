@@ -0,0 +1,149 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.pathing.calc.openset;
+
+import baritone.pathing.calc.PathNode;
+
+import java.util.Arrays;
+
+/**
+ * A pairing heap implementation of an open set. Inserts and decrease-keys are a constant time link at the root, all
+ * the restructuring is deferred to removeLowest, which pairs up the children of the old root.
+ * <p>
+ * A* does far more inserts and decrease-keys than removals, which is what this is good at.
+ */
+public final class PairingHeapOpenSet implements IOpenSet {
+
+    private PathNode root;
+    private int size;
+    /**
+     * Scratch space for the two pass merge in removeLowest
+     */
+    private PathNode[] pairs = new PathNode[64];
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void insert(PathNode node) {
+        node.heapPosition = 0; // anything but -1 means open
+        node.pairingChild = null;
+        node.pairingSibling = null;
+        node.pairingPrevious = null;
+        root = root == null ? node : link(root, node);
+        size++;
+    }
+
+    @Override
+    public void update(PathNode node) {
+        if (node == root) {
+            return;
+        }
+        // cut the node and its subtree out of its parent, and link it back in at the root
+        PathNode previous = node.pairingPrevious;
+        if (previous.pairingChild == node) {
+            previous.pairingChild = node.pairingSibling;
+        } else {
+            previous.pairingSibling = node.pairingSibling;
+        }
+        if (node.pairingSibling != null) {
+            node.pairingSibling.pairingPrevious = previous;
+        }
+        node.pairingSibling = null;
+        node.pairingPrevious = null;
+        root = link(root, node);
+    }
+
+    @Override
+    public PathNode removeLowest() {
+        if (size == 0) {
+            throw new IllegalStateException();
+        }
+        PathNode result = root;
+        root = mergePairs(result.pairingChild);
+        result.pairingChild = null;
+        result.heapPosition = -1;
+        size--;
+        return result;
+    }
+
+    /**
+     * Makes the root with the higher cost the first child of the other one. Both must be roots, without siblings.
+     *
+     * @return The new root
+     */
+    private static PathNode link(PathNode a, PathNode b) {
+        if (b.combinedCost < a.combinedCost) {
+            PathNode swap = a;
+            a = b;
+            b = swap;
+        }
+        PathNode firstChild = a.pairingChild;
+        b.pairingSibling = firstChild;
+        b.pairingPrevious = a;
+        if (firstChild != null) {
+            firstChild.pairingPrevious = b;
+        }
+        a.pairingChild = b;
+        return a;
+    }
+
+    /**
+     * Links the siblings starting at first together in pairs from left to right, then links the results from right
+     * to left
+     *
+     * @return The new root, without siblings
+     */
+    private PathNode mergePairs(PathNode first) {
+        if (first == null) {
+            return null;
+        }
+        int count = 0;
+        PathNode current = first;
+        while (current != null) {
+            PathNode a = current;
+            PathNode b = a.pairingSibling;
+            current = b == null ? null : b.pairingSibling;
+            a.pairingSibling = null;
+            a.pairingPrevious = null;
+            if (b != null) {
+                b.pairingSibling = null;
+                b.pairingPrevious = null;
+                a = link(a, b);
+            }
+            if (count == pairs.length) {
+                pairs = Arrays.copyOf(pairs, pairs.length << 1);
+            }
+            pairs[count++] = a;
+        }
+        PathNode result = pairs[--count];
+        pairs[count] = null;
+        while (count > 0) {
+            result = link(pairs[--count], result);
+            pairs[count] = null;
+        }
+        return result;
+    }
+}
@@ -23,16 +23,20 @@ import baritone.api.IBaritone;
 import baritone.api.minefortress.IMinefortressEntity;
 import baritone.api.pathing.movement.ActionCosts;
 import baritone.behavior.InventoryBehavior;
+import baritone.cache.ClearanceMap;
 import baritone.cache.WorldData;
 import baritone.utils.BlockStateInterface;
 import baritone.utils.ToolSet;
 import baritone.utils.accessor.ILivingEntityAccessor;
+import baritone.utils.pathing.PathingCategory;
+import baritone.utils.source.LiveBlockSource;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
 import net.minecraft.enchantment.EnchantmentHelper;
 import net.minecraft.entity.EntityDimensions;
 import net.minecraft.entity.EntityPose;
+import net.minecraft.entity.EntityType;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.entity.player.PlayerInventory;
@@ -96,23 +100,53 @@ public class CalculationContext {
     public final boolean allowSwimming;
     private final int airIncreaseOnLand;
     private final int airDecreaseInWater;
+    /**
+     * Null when not reading a live world
+     */
+    private final ClearanceMap.View clearance;
+    /**
+     * Whether our body is big enough that checking it through {@link #clearance} beats reading it block by block
+     */
+    private final boolean bigBody;
 
     public CalculationContext(IBaritone baritone) {
         this(baritone, false);
     }
 
     public CalculationContext(IBaritone baritone, boolean forUseOnAnotherThread) {
+        this(baritone, forUseOnAnotherThread, baritone.getPlayerContext().entity(), baritone.getPlayerContext().world(), new BlockStateInterface(baritone.getPlayerContext().world()));
+    }
+
+    /**
+     * Creates a context that is not tied to any entity or server world, for running the pathfinder headless
+     * (benchmarks, regression runs). The entity is assumed to be a player sized mob with default air,
+     * no tools, and an unlimited supply of throwaway blocks if placing is allowed.
+     *
+     * @param baritone Provides the settings
+     * @param bsi      The blocks to path through
+     */
+    public CalculationContext(IBaritone baritone, BlockStateInterface bsi) {
+        this(baritone, true, null, null, bsi);
+    }
+
+    private CalculationContext(IBaritone baritone, boolean forUseOnAnotherThread, @Nullable LivingEntity livingEntity, @Nullable World world, BlockStateInterface bsi) {
         this.safeForThreadedUse = forUseOnAnotherThread;
         this.baritone = baritone;
-        this.livingEntity =  baritone.getPlayerContext().entity();
-        this.mfEntity = IMinefortressEntity.of(livingEntity);
-        this.world = baritone.getPlayerContext().world();
-        this.worldData = (WorldData) baritone.getWorldProvider().getCurrentWorld();
-        this.bsi = new BlockStateInterface(world);
-        this.toolSet = new ToolSet(livingEntity);
-        this.hasThrowaway = baritone.settings().allowPlace.get() && ((Baritone) baritone).getInventoryBehavior().hasGenericThrowaway();
-        this.hasWaterBucket = baritone.settings().allowWaterBucketFall.get() && PlayerInventory.isValidHotbarIndex(InventoryBehavior.getSlotWithStack(mfEntity.getInventory(), Automatone.WATER_BUCKETS)) && !world.getDimension().ultrawarm();
-        this.canSprint = baritone.settings().allowSprint.get() && mfEntity.getHungerManager().getFoodLevel() > 6;
+        this.livingEntity = livingEntity;
+        this.mfEntity = livingEntity == null ? null : IMinefortressEntity.of(livingEntity);
+        this.world = world;
+        this.worldData = world == null ? null : (WorldData) baritone.getWorldProvider().getCurrentWorld();
+        this.bsi = bsi;
+        this.toolSet = livingEntity == null ? null : new ToolSet(livingEntity);
+        if (livingEntity != null) {
+            this.hasThrowaway = baritone.settings().allowPlace.get() && ((Baritone) baritone).getInventoryBehavior().hasGenericThrowaway();
+            this.hasWaterBucket = baritone.settings().allowWaterBucketFall.get() && PlayerInventory.isValidHotbarIndex(InventoryBehavior.getSlotWithStack(mfEntity.getInventory(), Automatone.WATER_BUCKETS)) && !world.getDimension().ultrawarm();
+            this.canSprint = baritone.settings().allowSprint.get() && mfEntity.getHungerManager().getFoodLevel() > 6;
+        } else {
+            this.hasThrowaway = baritone.settings().allowPlace.get();
+            this.hasWaterBucket = false;
+            this.canSprint = baritone.settings().allowSprint.get();
+        }
         this.placeBlockCost = baritone.settings().blockPlacementPenalty.get();
         this.allowBreak = baritone.settings().allowBreak.get();
         this.allowParkour = baritone.settings().allowParkour.get();
@@ -125,7 +159,7 @@ public class CalculationContext {
         this.allowDownward = baritone.settings().allowDownward.get();
         this.maxFallHeightNoWater = baritone.settings().maxFallHeightNoWater.get();
         this.maxFallHeightBucket = baritone.settings().maxFallHeightBucket.get();
-        int depth = EnchantmentHelper.getDepthStrider(livingEntity);
+        int depth = livingEntity == null ? 0 : EnchantmentHelper.getDepthStrider(livingEntity);
         if (depth > 3) {
             depth = 3;
         }
@@ -138,19 +172,29 @@ public class CalculationContext {
         // why cache these things here, why not let the movements just get directly from settings?
         // because if some movements are calculated one way and others are calculated another way,
         // then you get a wildly inconsistent path that isn't optimal for either scenario.
-        this.worldTop = world.getTopY();
-        this.worldBottom = world.getBottomY();
-        EntityDimensions dimensions = livingEntity.getDimensions(EntityPose.STANDING);
+        this.worldTop = bsi.access.getTopY();
+        this.worldBottom = bsi.access.getBottomY();
+        EntityDimensions dimensions = livingEntity == null ? EntityType.PLAYER.getDimensions() : livingEntity.getDimensions(EntityPose.STANDING);
         this.width = MathHelper.ceil(dimensions.width);
         // Note: if width is less than 1 (but not negative), we get side space of 0
         this.requiredSideSpace = getRequiredSideSpace(dimensions);
         this.height = MathHelper.ceil(dimensions.height);
         this.blockPos = new BlockPos.Mutable();
+        this.clearance = world != null && bsi.getSource() instanceof LiveBlockSource ? ClearanceMap.get(world).view(bsi) : null;
+        this.bigBody = requiredSideSpace > 0 || height > 2;
         this.allowSwimming = baritone.settings().allowSwimming.get();
-        this.breathTime = baritone.settings().ignoreBreath.get() ? Integer.MAX_VALUE : livingEntity.getMaxAir();
-        this.startingBreathTime = livingEntity.getAir();
-        this.airIncreaseOnLand = ((ILivingEntityAccessor) livingEntity).automatone$getNextAirOnLand(0);
-        this.airDecreaseInWater = breathTime - ((ILivingEntityAccessor) livingEntity).automatone$getNextAirUnderwater(breathTime);
+        if (livingEntity != null) {
+            this.breathTime = baritone.settings().ignoreBreath.get() ? Integer.MAX_VALUE : livingEntity.getMaxAir();
+            this.startingBreathTime = livingEntity.getAir();
+            this.airIncreaseOnLand = ((ILivingEntityAccessor) livingEntity).automatone$getNextAirOnLand(0);
+            this.airDecreaseInWater = breathTime - ((ILivingEntityAccessor) livingEntity).automatone$getNextAirUnderwater(breathTime);
+        } else {
+            // vanilla defaults for an entity without respiration
+            this.breathTime = baritone.settings().ignoreBreath.get() ? Integer.MAX_VALUE : 300;
+            this.startingBreathTime = 300;
+            this.airIncreaseOnLand = 4;
+            this.airDecreaseInWater = 1;
+        }
     }
 
     public static int getRequiredSideSpace(EntityDimensions dimensions) {
@@ -169,6 +213,43 @@ public class CalculationContext {
         return bsi.isLoaded(x, z);
     }
 
+    /**
+     * @return Whether every block in the box starting at x,y,z is air. False means it has to be checked block by block.
+     */
+    public boolean isClear(int x, int y, int z, int sizeX, int sizeY, int sizeZ) {
+        return bigBody && clearance != null && clearance.isClear(x, y, z, sizeX, sizeY, sizeZ);
+    }
+
+    /**
+     * @return Whether the wall of blocks that our body walks into when moving along movX, movZ into x,y,z is all air,
+     * that is {@link #height} blocks up from y and {@link #requiredSideSpace} blocks to each side of x,z.
+     * False means it has to be checked block by block.
+     */
+    public boolean isWallClear(int x, int y, int z, int movX, int movZ) {
+        if (!bigBody || clearance == null || (movX != 0 && movZ != 0)) {
+            return false;
+        }
+        int sideLength = requiredSideSpace * 2 + 1;
+        return movX == 0
+                ? clearance.isClear(x - requiredSideSpace, y, z, sideLength, height, 1)
+                : clearance.isClear(x, y, z - requiredSideSpace, 1, height, sideLength);
+    }
+
+    /**
+     * @return The {@link PathingCategory} of the block, {@link PathingCategory#UNKNOWN} if it has to be looked at in full
+     */
+    public byte category(int x, int y, int z) {
+        return clearance == null ? PathingCategory.UNKNOWN : clearance.category(x, y, z);
+    }
+
+    /**
+     * @return The highest y at or below the given one whose block isn't known to be air, or something below
+     * {@link #worldBottom} if it's air all the way down. Everything above it, up to and including the given y, is air.
+     */
+    public int nonAirBelow(int x, int y, int z) {
+        return clearance == null ? y : clearance.nonAirBelow(x, y, z, worldBottom);
+    }
+
     public BlockState get(BlockPos pos) {
         return get(pos.getX(), pos.getY(), pos.getZ());
     }
@@ -214,8 +295,11 @@ public class CalculationContext {
     }
 
     public boolean isProtected(int x, int y, int z) {
-        final var player = mfEntity.getPlayer();
         this.blockPos.set(x, y, z);
+        if (mfEntity == null) {
+            return y < worldBottom || y >= worldTop;
+        }
+        final var player = mfEntity.getPlayer();
         if(Objects.isNull(player)) {
             return !world.isInBuildLimit(blockPos);
         }
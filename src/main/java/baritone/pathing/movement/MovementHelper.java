@@ -33,6 +33,7 @@ import baritone.api.utils.input.Input;
 import baritone.pathing.movement.MovementState.MovementTarget;
 import baritone.utils.BlockStateInterface;
 import baritone.utils.ToolSet;
+import baritone.utils.pathing.PathingCategory;
 import net.minecraft.block.*;
 import net.minecraft.block.enums.SlabType;
 import net.minecraft.entity.LivingEntity;
@@ -98,6 +99,17 @@ public interface MovementHelper extends ActionCosts {
         return canWalkThrough(new BlockStateInterface(ctx), pos.x, pos.y, pos.z, ctx.baritone().settings());
     }
 
+    static boolean canWalkThrough(CalculationContext context, int x, int y, int z) {
+        byte category = context.category(x, y, z);
+        if (category == PathingCategory.AIR) {
+            return true;
+        }
+        if (category == PathingCategory.SOLID) {
+            return false;
+        }
+        return canWalkThrough(context.bsi, x, y, z, context.baritone.settings());
+    }
+
     static boolean canWalkThrough(BlockStateInterface bsi, int x, int y, int z, Settings settings) {
         return canWalkThrough(bsi, x, y, z, bsi.get0(x, y, z), settings);
     }
@@ -179,6 +191,13 @@ public interface MovementHelper extends ActionCosts {
      * @return Whether or not the block at the specified position
      */
     static boolean fullyPassable(CalculationContext context, int x, int y, int z) {
+        byte category = context.category(x, y, z);
+        if (category == PathingCategory.AIR) {
+            return true;
+        }
+        if (category == PathingCategory.SOLID) {
+            return false;
+        }
         return fullyPassable(
                 context.bsi.access,
                 context.bsi.isPassableBlockPos.set(x, y, z),
@@ -382,6 +401,17 @@ public interface MovementHelper extends ActionCosts {
         return canWalkOn(new BlockStateInterface(ctx), pos.x, pos.y, pos.z, ctx.baritone().settings());
     }
 
+    static boolean canWalkOn(CalculationContext context, int x, int y, int z) {
+        byte category = context.category(x, y, z);
+        if (category == PathingCategory.AIR) {
+            return false;
+        }
+        if (category == PathingCategory.SOLID) {
+            return true;
+        }
+        return canWalkOn(context.bsi, x, y, z, context.baritone.settings());
+    }
+
     static boolean canWalkOn(BlockStateInterface bsi, int x, int y, int z, Settings settings) {
         return canWalkOn(bsi, x, y, z, bsi.get0(x, y, z), settings);
     }
@@ -406,6 +436,9 @@ public interface MovementHelper extends ActionCosts {
     }
 
     static double getMiningDurationTicks(CalculationContext context, int x, int y, int z, boolean includeFalling) {
+        if (context.category(x, y, z) == PathingCategory.AIR) {
+            return 0;
+        }
         return getMiningDurationTicks(context, x, y, z, context.get(x, y, z), includeFalling);
     }
 
@@ -497,6 +530,14 @@ public interface MovementHelper extends ActionCosts {
         return state.getFluidState().isIn(FluidTags.WATER);
     }
 
+    static boolean isWater(CalculationContext context, int x, int y, int z) {
+        byte category = context.category(x, y, z);
+        if (category != PathingCategory.UNKNOWN && category != PathingCategory.OTHER) {
+            return category == PathingCategory.WATER;
+        }
+        return isWater(context.get(x, y, z));
+    }
+
     /**
      * Returns whether or not the block at the specified pos is
      * water, regardless of whether or not it is flowing.
@@ -142,13 +142,16 @@ public class MovementAscend extends Movement {
             return;
         }
         boolean inLiquid = MovementHelper.isLiquid(srcDown);
-        for (int dx = -context.requiredSideSpace; dx <= context.requiredSideSpace; dx++) {
+        int sideLength = context.requiredSideSpace * 2 + 1;
+        // nothing to mine and nothing that could fall on us if the ceiling and the block above it are air
+        boolean ceilingClear = context.isClear(x - context.requiredSideSpace, y + context.height, z - context.requiredSideSpace, sideLength, 2, sideLength);
+        for (int dx = -context.requiredSideSpace; dx <= context.requiredSideSpace && !ceilingClear; dx++) {
             for (int dz = -context.requiredSideSpace; dz <= context.requiredSideSpace; dz++) {
                 int x1 = x + dx;
                 int y1 = y + context.height;
                 int z1 = z + dz;
                 BlockState aboveHead = context.get(x1, y1, z1); // used lower down anyway
-                if (context.get(x1, y1 + 1, z1).getBlock() instanceof FallingBlock && (MovementHelper.canWalkThrough(context.bsi, x1, y1 - 1, z1, context.baritone.settings()) || !(aboveHead.getBlock() instanceof FallingBlock))) {//it would fall on us and possibly suffocate us
+                if (context.get(x1, y1 + 1, z1).getBlock() instanceof FallingBlock && (MovementHelper.canWalkThrough(context, x1, y1 - 1, z1) || !(aboveHead.getBlock() instanceof FallingBlock))) {//it would fall on us and possibly suffocate us
                     // HOWEVER, we assume that we're standing in the start position
                     // that means that src and src.up(1) are both traversable
                     // maybe they aren't now, but they will be by the time this starts
@@ -204,7 +207,8 @@ public class MovementAscend extends Movement {
         if (totalCost >= COST_INF) {
             return;
         }
-        for (int dxz = -context.requiredSideSpace; dxz <= context.requiredSideSpace; dxz++) {
+        boolean wallClear = context.isWallClear(placeX, y + 1, placeZ, diffX, diffZ);
+        for (int dxz = -context.requiredSideSpace; dxz <= context.requiredSideSpace && !wallClear; dxz++) {
             for (int dy = 0; dy < context.height; dy++) {
                 miningTicks = MovementHelper.getMiningDurationTicks(
                         context,
@@ -31,6 +31,7 @@ import baritone.pathing.movement.MovementState;
 import baritone.utils.BlockStateInterface;
 import baritone.utils.pathing.MutableMoveResult;
 import com.google.common.collect.ImmutableSet;
+import net.minecraft.block.AirBlock;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
@@ -185,6 +186,11 @@ public class MovementDescend extends Movement {
                 return false;
             }
             BlockState ontoBlock = context.get(destX, newY, destZ);
+            if (ontoBlock.getBlock() instanceof AirBlock) {
+                // nothing to check while falling through air, so skip to wherever it ends in one go
+                fallHeight = y - context.nonAirBelow(destX, newY - 1, destZ) - 1;
+                continue;
+            }
             int unprotectedFallHeight = fallHeight - (y - effectiveStartHeight); // equal to fallHeight - y + effectiveFallHeight, which is equal to -newY + effectiveFallHeight, which is equal to effectiveFallHeight - newY
             double fallCost = FALL_N_BLOCKS_COST[unprotectedFallHeight] + costSoFar;
             double tentativeCost = WALK_OFF_BLOCK_COST + fallCost + frontBreak;
@@ -198,7 +204,7 @@ public class MovementDescend extends Movement {
                 if (MovementHelper.isFlowing(destX, newY, destZ, ontoBlock, context.bsi)) {
                     return false; // TODO flowing check required here?
                 }
-                if (!MovementHelper.canWalkOn(context.bsi, destX, newY - 1, destZ, context.baritone.settings())) {
+                if (!MovementHelper.canWalkOn(context, destX, newY - 1, destZ)) {
                     // we could punch right through the water into something else
                     return false;
                 }
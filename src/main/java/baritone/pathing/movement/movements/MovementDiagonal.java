@@ -135,7 +135,7 @@ public class MovementDiagonal extends Movement {
     }
 
     public static void cost(CalculationContext context, int x, int y, int z, int destX, int destZ, MutableMoveResult res) {
-        if (!MovementHelper.canWalkThrough(context.bsi, destX, y + 1, destZ, context.baritone.settings())) {
+        if (!MovementHelper.canWalkThrough(context, destX, y + 1, destZ)) {
             return;
         }
         if (context.width > 1 || context.height > 2) {    // TODO handle larger entities
@@ -147,7 +147,7 @@ public class MovementDiagonal extends Movement {
         boolean descend = false;
         if (!MovementHelper.canWalkThrough(context.bsi, destX, y, destZ, destInto, context.baritone.settings())) {
             ascend = true;
-            if (!context.allowDiagonalAscend || !MovementHelper.canWalkThrough(context.bsi, x, y + 2, z, context.baritone.settings()) || !MovementHelper.canWalkOn(context.bsi, destX, y, destZ, destInto, context.baritone.settings()) || !MovementHelper.canWalkThrough(context.bsi, destX, y + 2, destZ, context.baritone.settings())) {
+            if (!context.allowDiagonalAscend || !MovementHelper.canWalkThrough(context, x, y + 2, z) || !MovementHelper.canWalkOn(context.bsi, destX, y, destZ, destInto, context.baritone.settings()) || !MovementHelper.canWalkThrough(context, destX, y + 2, destZ)) {
                 return;
             }
             destWalkOn = destInto;
@@ -155,7 +155,7 @@ public class MovementDiagonal extends Movement {
             destWalkOn = context.get(destX, y - 1, destZ);
             if (!MovementHelper.canWalkOn(context.bsi, destX, y - 1, destZ, destWalkOn, context.baritone.settings())) {
                 descend = true;
-                if (!context.allowDiagonalDescend || !MovementHelper.canWalkOn(context.bsi, destX, y - 2, destZ, context.baritone.settings()) || !MovementHelper.canWalkThrough(context.bsi, destX, y - 1, destZ, destWalkOn, context.baritone.settings())) {
+                if (!context.allowDiagonalDescend || !MovementHelper.canWalkOn(context, destX, y - 2, destZ) || !MovementHelper.canWalkThrough(context.bsi, destX, y - 1, destZ, destWalkOn, context.baritone.settings())) {
                     return;
                 }
             }
@@ -196,11 +196,11 @@ public class MovementDiagonal extends Movement {
         BlockState diagonalA = context.get(x, y, destZ);
         BlockState diagonalB = context.get(destX, y, z);
         if (ascend) {
-            boolean ATop = smol || MovementHelper.canWalkThrough(context.bsi, x, y + 2, destZ, context.baritone.settings());
-            boolean AMid = MovementHelper.canWalkThrough(context.bsi, x, y + 1, destZ, context.baritone.settings());
+            boolean ATop = smol || MovementHelper.canWalkThrough(context, x, y + 2, destZ);
+            boolean AMid = MovementHelper.canWalkThrough(context, x, y + 1, destZ);
             boolean ALow = MovementHelper.canWalkThrough(context.bsi, x, y, destZ, diagonalA, context.baritone.settings());
-            boolean BTop = smol || MovementHelper.canWalkThrough(context.bsi, destX, y + 2, z, context.baritone.settings());
-            boolean BMid = MovementHelper.canWalkThrough(context.bsi, destX, y + 1, z, context.baritone.settings());
+            boolean BTop = smol || MovementHelper.canWalkThrough(context, destX, y + 2, z);
+            boolean BMid = MovementHelper.canWalkThrough(context, destX, y + 1, z);
             boolean BLow = MovementHelper.canWalkThrough(context.bsi, destX, y, z, diagonalB, context.baritone.settings());
             if ((!(ATop && AMid && ALow) && !(BTop && BMid && BLow)) // no option
                     || MovementHelper.avoidWalkingInto(diagonalA) // bad
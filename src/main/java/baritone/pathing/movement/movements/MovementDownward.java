@@ -101,7 +101,7 @@ public class MovementDownward extends Movement {
         if (!context.allowDownward) {
             return;
         }
-        if (!MovementHelper.canWalkOn(context.bsi, x, y - 2, z, context.baritone.settings())) {
+        if (!MovementHelper.canWalkOn(context, x, y - 2, z)) {
             return;
         }
         BlockState downBlock = context.get(x, y - 1, z);
@@ -128,7 +128,9 @@ public class MovementDownward extends Movement {
             boolean waterFloor = false;
             BlockState headState = context.get(x, y + context.height - 1, z);
             boolean inWater = MovementHelper.isWater(headState);
-            for (int dx = -requiredSideSpace; dx <= requiredSideSpace; dx++) {
+            int sideLength = requiredSideSpace * 2 + 1;
+            boolean floorClear = context.isClear(x - requiredSideSpace, y - 1, z - requiredSideSpace, sideLength, 1, sideLength);
+            for (int dx = -requiredSideSpace; dx <= requiredSideSpace && !floorClear; dx++) {
                 for (int dz = -requiredSideSpace; dz <= requiredSideSpace; dz++) {
                     // If we are at the starting position, we already cleared enough space to stand there
                     // So only need to check the blocks below us
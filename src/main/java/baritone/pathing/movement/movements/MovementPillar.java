@@ -123,7 +123,11 @@ public class MovementPillar extends Movement {
         double totalHardness = 0;
         boolean swimmable = false;
         int requiredSideSpace = context.requiredSideSpace;
-        for (int dx = -requiredSideSpace; dx <= requiredSideSpace; dx++) {
+        int sideLength = requiredSideSpace * 2 + 1;
+        // an air ceiling has nothing to mine, as long as we aren't swimming up a water column
+        boolean ceilingClear = context.isClear(x - requiredSideSpace, y + context.height, z - requiredSideSpace, sideLength, 1, sideLength)
+                && !MovementHelper.isWater(context, x, y + context.height - 1, z);
+        for (int dx = -requiredSideSpace; dx <= requiredSideSpace && !ceilingClear; dx++) {
             for (int dz = -requiredSideSpace; dz <= requiredSideSpace; dz++) {
                 // If we are at the starting position, we already cleared enough space to stand there
                 // So only need to check the block above our head
@@ -139,6 +139,8 @@ public class MovementTraverse extends Movement {
         int checkedZShift = movZ * context.requiredSideSpace;
         int checkedX = destX + checkedXShift;
         int checkedZ = destZ + checkedZShift;
+        // for big entities this saves reading the whole wall when there's nothing in it
+        boolean wallClear = context.isWallClear(checkedX, y, checkedZ, movX, movZ);
 
         if (MovementHelper.canWalkOn(context.bsi, destX, y - 1, destZ, destOn, context.baritone.settings())) {//this is a walk, not a bridge
             double WC = 0;
@@ -149,7 +151,7 @@ public class MovementTraverse extends Movement {
                 water = true;
             } else {
                 for (int dy = 0; dy < context.height - 1; dy++) {
-                    if (MovementHelper.isWater(context.get(destX, y+dy, destZ))) {
+                    if (MovementHelper.isWater(context, destX, y + dy, destZ)) {
                         WC = context.waterWalkSpeed;
                         water = true;
                         break;
@@ -169,7 +171,7 @@ public class MovementTraverse extends Movement {
             double hardness = 0;
             BlockState srcHeadState = context.get(x, y + context.height - 1, z);
             int hardnessModifier = MovementHelper.isWater(srcHeadState) || srcOnBlock == Blocks.LADDER || srcOnBlock == Blocks.VINE ? 5 : 1;
-            for (int dxz = -context.requiredSideSpace; dxz <= context.requiredSideSpace; dxz++) {
+            for (int dxz = -context.requiredSideSpace; dxz <= context.requiredSideSpace && !wallClear; dxz++) {
                 for (int dy = 0; dy < context.height; dy++) {
                     hardness += MovementHelper.getMiningDurationTicks(
                             context,
@@ -200,7 +202,7 @@ public class MovementTraverse extends Movement {
             if (MovementHelper.isReplaceable(destX, y - 1, destZ, destOn, context.bsi)) {
                 boolean throughWater = false;
                 for (int dy = 0; dy < context.height; dy++) {
-                    if (MovementHelper.isWater(context.get(destX, y+dy, destZ))) {
+                    if (MovementHelper.isWater(context, destX, y + dy, destZ)) {
                         throughWater = true;
                         if (MovementHelper.isWater(destOn)) {
                             // this happens when assume walk on water is true and this is a traverse in water, which isn't allowed
@@ -216,7 +218,7 @@ public class MovementTraverse extends Movement {
                 }
 
                 double hardness = 0;
-                for (int dxz = -context.requiredSideSpace; dxz <= context.requiredSideSpace; dxz++) {
+                for (int dxz = -context.requiredSideSpace; dxz <= context.requiredSideSpace && !wallClear; dxz++) {
                     for (int dy = 0; dy < context.height; dy++) {
                         hardness += MovementHelper.getMiningDurationTicks(
                                 context,
@@ -246,9 +248,9 @@ public class MovementTraverse extends Movement {
                     }
                 }
                 // now that we've checked all possible directions to side place, we actually need to backplace
-                // none of the vanilla impls do a blocking or thread unsafe call, so passing the world directly should be fine
+                // none of the vanilla impls do a blocking or thread unsafe call, so passing the block access directly should be fine
                 // also none of the full cubes actually use the pos, so we should be fine not creating a real BlockPos for this
-                if (!srcOn.isReplaceable() && !srcOn.isFullCube(context.world, BlockPos.ORIGIN)) {
+                if (!srcOn.isReplaceable() && !srcOn.isFullCube(context.bsi.access, BlockPos.ORIGIN)) {
                     // If srcOn is currently replaceable, we will have a proper block when we stand on it
                     return; // can't sneak and backplace against eg. soul sand or half slabs (regardless of whether it's top half or bottom half) =/
                 }
@@ -0,0 +1,108 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.process;
+
+import baritone.cache.BlockChangeTracker;
+import baritone.pathing.movement.CalculationContext;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.registry.tag.TagKey;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+/**
+ * Remembers {@link MineProcess#plausibleToBreak} and {@link MineProcess#isNextToAir} per position, so that pruning the
+ * same candidates over and over only costs a lookup. An answer is reused for as long as the {@link BlockChangeTracker}
+ * reports no change around the position. Positions in chunks that aren't loaded are never remembered, since what the
+ * cache says about them can change without a block change.
+ * <p>
+ * The settings that decide what may be broken don't show up as block changes, so everything is forgotten when they
+ * change. Whether a position is protected is checked on every lookup, since nothing tells when that changes.
+ */
+final class BreakPlausibilityCache {
+
+    private static final int MAX_ENTRIES = 8192;
+
+    /**
+     * How far above a position falling blocks are taken into account when it is mined
+     */
+    private static final int FALLING_MARGIN = 16;
+
+    private final Long2ObjectOpenHashMap<Entry> entries = new Long2ObjectOpenHashMap<>();
+    private World world;
+    private boolean allowBreak;
+    private TagKey<Block> blocksToAvoidBreaking;
+
+    synchronized boolean plausibleToBreak(CalculationContext ctx, BlockPos pos) {
+        Entry entry = entry(ctx, pos);
+        if (entry == null) {
+            return MineProcess.plausibleToBreak(ctx, pos);
+        }
+        boolean isProtected = ctx.isProtected(pos.getX(), pos.getY(), pos.getZ());
+        if (entry.plausibleAt == Long.MIN_VALUE || entry.plausibleProtected != isProtected || changed(ctx, entry.plausibleAt, pos, 1, FALLING_MARGIN)) {
+            entry.plausibleAt = BlockChangeTracker.get(ctx.world).now();
+            entry.plausibleProtected = isProtected;
+            entry.plausible = MineProcess.plausibleToBreak(ctx, pos);
+        }
+        return entry.plausible;
+    }
+
+    synchronized boolean isNextToAir(CalculationContext ctx, BlockPos pos) {
+        Entry entry = entry(ctx, pos);
+        if (entry == null) {
+            return MineProcess.isNextToAir(ctx, pos);
+        }
+        int radius = ctx.getBaritone().settings().allowOnlyExposedOresDistance.get();
+        if (entry.nextToAirAt == Long.MIN_VALUE || entry.nextToAirRadius != radius || changed(ctx, entry.nextToAirAt, pos, radius, radius)) {
+            entry.nextToAirAt = BlockChangeTracker.get(ctx.world).now();
+            entry.nextToAirRadius = radius;
+            entry.nextToAir = MineProcess.isNextToAir(ctx, pos);
+        }
+        return entry.nextToAir;
+    }
+
+    private Entry entry(CalculationContext ctx, BlockPos pos) {
+        if (!ctx.bsi.worldContainsLoadedChunk(pos.getX(), pos.getZ())) {
+            return null;
+        }
+        TagKey<Block> avoid = ctx.getBaritone().settings().blocksToAvoidBreaking.get();
+        if (world != ctx.world || allowBreak != ctx.allowBreak || !avoid.equals(blocksToAvoidBreaking) || entries.size() >= MAX_ENTRIES) {
+            world = ctx.world;
+            allowBreak = ctx.allowBreak;
+            blocksToAvoidBreaking = avoid;
+            entries.clear();
+        }
+        return entries.computeIfAbsent(pos.asLong(), key -> new Entry());
+    }
+
+    private static boolean changed(CalculationContext ctx, long tick, BlockPos pos, int radius, int above) {
+        return BlockChangeTracker.get(ctx.world).changedSince(tick,
+                pos.getX() - radius, pos.getY() - radius, pos.getZ() - radius,
+                pos.getX() + radius, pos.getY() + above, pos.getZ() + radius);
+    }
+
+    private static final class Entry {
+
+        private long plausibleAt = Long.MIN_VALUE;
+        private boolean plausibleProtected;
+        private boolean plausible;
+        private long nextToAirAt = Long.MIN_VALUE;
+        private int nextToAirRadius;
+        private boolean nextToAir;
+    }
+}
@@ -22,11 +22,13 @@ import baritone.Baritone;
 import baritone.api.minefortress.IMinefortressEntity;
 import baritone.api.pathing.goals.Goal;
 import baritone.api.pathing.goals.GoalBlock;
+import baritone.api.pathing.goals.GoalCompiler;
 import baritone.api.pathing.goals.GoalComposite;
 import baritone.api.pathing.goals.GoalGetToBlock;
 import baritone.api.process.IBuilderProcess;
 import baritone.api.process.PathingCommand;
 import baritone.api.process.PathingCommandType;
+import baritone.api.process.SharedJob;
 import baritone.api.schematic.FillSchematic;
 import baritone.api.schematic.ISchematic;
 import baritone.api.schematic.IStaticSchematic;
@@ -85,6 +87,11 @@ import static baritone.api.pathing.movement.ActionCosts.COST_INF;
 
 public final class BuilderProcess extends BaritoneProcessHelper implements IBuilderProcess {
 
+    /**
+     * Minimum ticks between full recalculations of a shared job, by any of the builders attached to it
+     */
+    private static final int SHARED_RECALC_INTERVAL = 20;
+
     private HashSet<BetterBlockPos> incorrectPositions;
     private LongOpenHashSet observedCompleted; // positions that are completed even if they're out of render distance and we can't make sure right now
     private String name;
@@ -96,13 +103,21 @@ public final class BuilderProcess extends BaritoneProcessHelper implements IBuil
     private int layer;
     private int numRepeats;
     private List<BlockState> approxPlaceable;
+    private SharedJob job;
 
     public BuilderProcess(Baritone baritone) {
         super(baritone);
     }
 
     @Override
-    public void build(String name, ISchematic schematic, Vec3i origin) {
+    public void build(String name, ISchematic schematic, Vec3i origin, SharedJob job) {
+        if (this.job != null && this.job != job) {
+            this.job.detach(baritone);
+        }
+        this.job = job;
+        if (job != null) {
+            job.attach(baritone);
+        }
         this.name = name;
         this.schematic = schematic;
         this.realSchematic = null;
@@ -231,7 +246,7 @@ public final class BuilderProcess extends BaritoneProcessHelper implements IBuil
                     BlockState curr = bcc.bsi.get0(x, y, z);
                     if (!(curr.getBlock() instanceof AirBlock) && !(curr.getBlock() == Blocks.WATER || curr.getBlock() == Blocks.LAVA) && !valid(curr, desired, false)) {
                         BetterBlockPos pos = new BetterBlockPos(x, y, z);
-                        Optional<Rotation> rot = RotationUtils.reachable(ctx.entity(), pos, ctx.playerController().getBlockReachDistance());
+                        Optional<Rotation> rot = baritone.getReachabilityCache().reachable(pos);
                         if (rot.isPresent()) {
                             return Optional.of(new Pair<>(pos, rot.get()));
                         }
@@ -401,6 +416,10 @@ public final class BuilderProcess extends BaritoneProcessHelper implements IBuil
         if (paused) {
             return new PathingCommand(null, PathingCommandType.CANCEL_AND_SET_GOAL);
         }
+        if (job != null) {
+            // catch up with whoever moved on to the next layer first
+            layer = Math.max(layer, job.getPhase());
+        }
         if (baritone.settings().buildInLayers.get()) {
             if (realSchematic == null) {
                 realSchematic = schematic;
@@ -454,12 +473,16 @@ public final class BuilderProcess extends BaritoneProcessHelper implements IBuil
             if (baritone.settings().buildInLayers.get() && layer < realSchematic.heightY()) {
                 logDirect("Starting layer " + layer);
                 layer++;
+                if (job != null) {
+                    job.advancePhase(layer);
+                }
                 return onTick(calcFailed, isSafeToCancel, recursions + 1);
             }
             Vec3i repeat = baritone.settings().buildRepeat.get();
             int max = baritone.settings().buildRepeatCount.get();
             numRepeats++;
-            if (repeat.equals(new Vec3i(0, 0, 0)) || (max != -1 && numRepeats >= max)) {
+            // a shared job is a single structure, it doesn't repeat
+            if (repeat.equals(new Vec3i(0, 0, 0)) || (max != -1 && numRepeats >= max) || job != null) {
                 logDirect("Done building");
                 if (baritone.settings().desktopNotifications.get() && baritone.settings().notificationOnBuildFinished.get()) {
                     NotificationHelper.notify("Done building", false);
@@ -476,6 +499,19 @@ public final class BuilderProcess extends BaritoneProcessHelper implements IBuil
             logDirect("Repeating build in vector " + repeat + ", new origin is " + origin);
             return onTick(calcFailed, isSafeToCancel, recursions + 1);
         }
+        if (job != null) {
+            if (calcFailed) {
+                // couldn't get to any of them, let the others try
+                for (BetterBlockPos pos : incorrectPositions) {
+                    job.fail(baritone, pos);
+                }
+                incorrectPositions.clear();
+            }
+            if (incorrectPositions.isEmpty()) {
+                // everything left is leased to someone else, wait for it to be done or handed back
+                return new PathingCommand(null, PathingCommandType.REQUEST_PAUSE);
+            }
+        }
         if (baritone.settings().distanceTrim.get()) {
             trim();
         }
@@ -544,6 +580,9 @@ public final class BuilderProcess extends BaritoneProcessHelper implements IBuil
                 if (baritone.settings().skipFailedLayers.get() && baritone.settings().buildInLayers.get() && layer < realSchematic.heightY()) {
                     logDirect("Skipping layer that I cannot construct! Layer #" + layer);
                     layer++;
+                    if (job != null) {
+                        job.advancePhase(layer);
+                    }
                     return onTick(calcFailed, isSafeToCancel, recursions + 1);
                 }
                 logDirect("Unable to do it. Pausing. resume to resume, cancel to cancel");
@@ -555,6 +594,9 @@ public final class BuilderProcess extends BaritoneProcessHelper implements IBuil
     }
 
     private boolean recalc(BuilderCalculationContext bcc) {
+        if (job != null) {
+            return recalcShared(bcc);
+        }
         if (incorrectPositions == null) {
             incorrectPositions = new HashSet<>();
             fullRecalc(bcc);
@@ -569,6 +611,29 @@ public final class BuilderProcess extends BaritoneProcessHelper implements IBuil
         return !incorrectPositions.isEmpty();
     }
 
+    /**
+     * Like {@link #recalc}, but with the incorrect positions held by the job. Only one of the attached builders does a
+     * full recalculation at a time, the others lease from what it found.
+     *
+     * @return Whether there is anything left to do for any of the attached builders
+     */
+    private boolean recalcShared(BuilderCalculationContext bcc) {
+        boolean scanned = false;
+        if (job.isEmpty() && job.claimScan(ctx.world().getTime(), SHARED_RECALC_INTERVAL)) {
+            fullRecalc(bcc);
+            job.offer(incorrectPositions);
+            scanned = true;
+        }
+        incorrectPositions = new HashSet<>();
+        recalcNearby(bcc);
+        incorrectPositions = new HashSet<>();
+        for (BlockPos pos : job.lease(baritone, ctx.feetPos(), baritone.settings().incorrectSize.get())) {
+            incorrectPositions.add(new BetterBlockPos(pos));
+        }
+        // if someone else scanned recently, wait for the next scan rather than skipping ahead on our own
+        return !job.isEmpty() || !scanned;
+    }
+
     private void trim() {
         HashSet<BetterBlockPos> copy = new HashSet<>(incorrectPositions);
         copy.removeIf(pos -> pos.getSquaredDistance(ctx.entity().getBlockPos()) > 200);
@@ -593,9 +658,15 @@ public final class BuilderProcess extends BaritoneProcessHelper implements IBuil
                         if (valid(bcc.bsi.get0(x, y, z), desired, false)) {
                             incorrectPositions.remove(pos);
                             observedCompleted.add(BetterBlockPos.longHash(pos));
+                            if (job != null) {
+                                job.complete(pos);
+                            }
                         } else {
                             incorrectPositions.add(pos);
                             observedCompleted.remove(BetterBlockPos.longHash(pos));
+                            if (job != null) {
+                                job.offer(pos);
+                            }
                         }
                     }
                 }
@@ -728,6 +799,29 @@ public final class BuilderProcess extends BaritoneProcessHelper implements IBuil
             return primary.heuristic(x, y, z);
         }
 
+        @Override
+        public void compile(GoalCompiler compiler) {
+            primary.compile(compiler);
+            compiler.membershipOnly(fallback);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            JankyGoalComposite goal = (JankyGoalComposite) o;
+            return primary.equals(goal.primary) && fallback.equals(goal.fallback);
+        }
+
+        @Override
+        public int hashCode() {
+            return primary.hashCode() * 31 + fallback.hashCode();
+        }
+
         @Override
         public String toString() {
             return "JankyComposite Primary: " + primary + " Fallback: " + fallback;
@@ -749,6 +843,11 @@ public final class BuilderProcess extends BaritoneProcessHelper implements IBuil
             // but any other adjacent works for breaking, including inside or below
             return super.isInGoal(x, y, z);
         }
+
+        @Override
+        public void compile(GoalCompiler compiler) {
+            compiler.getToBlock(x, y, z).membership(this);
+        }
     }
 
     private Goal placementGoal(BlockPos pos, BuilderCalculationContext bcc) {
@@ -776,6 +875,11 @@ public final class BuilderProcess extends BaritoneProcessHelper implements IBuil
                     }
                     return super.isInGoal(x, y, z);
                 }
+
+                @Override
+                public void compile(GoalCompiler compiler) {
+                    compiler.getToBlock(x, y, z).membership(this);
+                }
             });
         }
         return new GoalBreak(pos);
@@ -812,6 +916,25 @@ public final class BuilderProcess extends BaritoneProcessHelper implements IBuil
             // prioritize lower y coordinates
             return this.y * 100 + super.heuristic(x, y, z);
         }
+
+        @Override
+        public void compile(GoalCompiler compiler) {
+            compiler.getToBlock(x, y, z).offset(this.y * 100).membership(this);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!super.equals(o)) {
+                return false;
+            }
+            GoalAdjacent goal = (GoalAdjacent) o;
+            return allowSameLevel == goal.allowSameLevel && no.equals(goal.no);
+        }
+
+        @Override
+        public int hashCode() {
+            return super.hashCode() * 31 + no.hashCode();
+        }
     }
 
     public static class GoalPlace extends GoalBlock {
@@ -824,10 +947,19 @@ public final class BuilderProcess extends BaritoneProcessHelper implements IBuil
             // prioritize lower y coordinates
             return this.y * 100 + super.heuristic(x, y, z);
         }
+
+        @Override
+        public void compile(GoalCompiler compiler) {
+            compiler.block(x, y, z).offset(this.y * 100);
+        }
     }
 
     @Override
     public void onLostControl() {
+        if (job != null) {
+            job.detach(baritone);
+            job = null;
+        }
         incorrectPositions = null;
         name = null;
         schematic = null;
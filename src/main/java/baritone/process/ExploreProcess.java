@@ -20,6 +20,7 @@ package baritone.process;
 import baritone.Baritone;
 import baritone.api.cache.ICachedWorld;
 import baritone.api.pathing.goals.Goal;
+import baritone.api.pathing.goals.GoalCompiler;
 import baritone.api.pathing.goals.GoalComposite;
 import baritone.api.pathing.goals.GoalXZ;
 import baritone.api.pathing.goals.GoalYLevel;
@@ -31,6 +32,8 @@ import baritone.utils.BaritoneProcessHelper;
 import baritone.utils.NotificationHelper;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongHeapPriorityQueue;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
@@ -38,8 +41,6 @@ import net.minecraft.util.math.ChunkPos;
 import java.io.InputStreamReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.List;
 
 public final class ExploreProcess extends BaritoneProcessHelper implements IExploreProcess {
 
@@ -47,7 +48,7 @@ public final class ExploreProcess extends BaritoneProcessHelper implements IExpl
 
     private IChunkFilter filter;
 
-    private int distanceCompleted;
+    private Frontier frontier;
 
     public ExploreProcess(Baritone baritone) {
         super(baritone);
@@ -61,12 +62,16 @@ public final class ExploreProcess extends BaritoneProcessHelper implements IExpl
     @Override
     public void explore(int centerX, int centerZ) {
         explorationOrigin = new BlockPos(centerX, 0, centerZ);
-        distanceCompleted = 0;
+        frontier = new Frontier(centerX >> 4, centerZ >> 4);
     }
 
     @Override
     public void applyJsonFilter(Path path, boolean invert) throws Exception {
         filter = new JsonChunkFilter(path, invert);
+        if (explorationOrigin != null) {
+            // what the frontier knows came from the old filter
+            frontier = new Frontier(explorationOrigin.getX() >> 4, explorationOrigin.getZ() >> 4);
+        }
     }
 
     public IChunkFilter calcFilter() {
@@ -89,6 +94,7 @@ public final class ExploreProcess extends BaritoneProcessHelper implements IExpl
             onLostControl();
             return null;
         }
+        frontier.visit(ctx.feetPos().x >> 4, ctx.feetPos().z >> 4);
         IChunkFilter filter = calcFilter();
         if (!baritone.settings().disableCompletionCheck.get() && filter.countRemain() == 0) {
             logDirect("Explored all chunks");
@@ -110,54 +116,31 @@ public final class ExploreProcess extends BaritoneProcessHelper implements IExpl
         int chunkX = center.getX() >> 4;
         int chunkZ = center.getZ() >> 4;
         int count = Math.min(filter.countRemain(), baritone.settings().exploreChunkSetMinimumSize.get());
-        List<BlockPos> centers = new ArrayList<>();
+        long[] chunks = frontier.nearest(filter, count);
+        if (chunks == null) {
+            return null; // awaiting load
+        }
         int renderDistance = baritone.settings().worldExploringChunkOffset.get();
-        for (int dist = distanceCompleted; ; dist++) {
-            for (int dx = -dist; dx <= dist; dx++) {
-                int zval = dist - Math.abs(dx);
-                for (int mult = 0; mult < 2; mult++) {
-                    int dz = (mult * 2 - 1) * zval; // dz can be either -zval or zval
-                    int trueDist = Math.abs(dx) + Math.abs(dz);
-                    if (trueDist != dist) {
-                        throw new IllegalStateException();
-                    }
-                    switch (filter.isAlreadyExplored(chunkX + dx, chunkZ + dz)) {
-                        case UNKNOWN:
-                            return null; // awaiting load
-                        case NOT_EXPLORED:
-                            break; // note: this breaks the switch not the for
-                        case EXPLORED:
-                            continue; // note: this continues the for
-                        default:
-                    }
-                    int centerX = ((chunkX + dx) << 4) + 8;
-                    int centerZ = ((chunkZ + dz) << 4) + 8;
-                    int offset = renderDistance << 4;
-                    if (dx < 0) {
-                        centerX -= offset;
-                    } else {
-                        centerX += offset;
-                    }
-                    if (dz < 0) {
-                        centerZ -= offset;
-                    } else {
-                        centerZ += offset;
-                    }
-                    centers.add(new BlockPos(centerX, 0, centerZ));
-                }
-            }
-            if (dist % 10 == 0) {
-                count = Math.min(filter.countRemain(), baritone.settings().exploreChunkSetMinimumSize.get());
-            }
-            if (centers.size() >= count) {
-                return centers.stream().map(pos -> createGoal(pos.getX(), pos.getZ())).toArray(Goal[]::new);
+        Goal[] goals = new Goal[chunks.length];
+        for (int i = 0; i < chunks.length; i++) {
+            int dx = ChunkPos.getPackedX(chunks[i]) - chunkX;
+            int dz = ChunkPos.getPackedZ(chunks[i]) - chunkZ;
+            int centerX = ((chunkX + dx) << 4) + 8;
+            int centerZ = ((chunkZ + dz) << 4) + 8;
+            int offset = renderDistance << 4;
+            if (dx < 0) {
+                centerX -= offset;
+            } else {
+                centerX += offset;
             }
-            if (centers.isEmpty()) {
-                // we have explored everything from 0 to dist inclusive
-                // next time we should start our check at dist+1
-                distanceCompleted = dist + 1;
+            if (dz < 0) {
+                centerZ -= offset;
+            } else {
+                centerZ += offset;
             }
+            goals[i] = createGoal(centerX, centerZ);
         }
+        return goals;
     }
 
     private Goal createGoal(int x, int z) {
@@ -171,6 +154,12 @@ public final class ExploreProcess extends BaritoneProcessHelper implements IExpl
             public double heuristic(int x, int y, int z) {
                 return super.heuristic(x, y, z) + GoalYLevel.calculate(baritone.settings().exploreMaintainY.get(), y);
             }
+
+            @Override
+            public void compile(GoalCompiler compiler) {
+                // same sum as a GoalBlock at the maintained Y, but satisfied at any Y
+                compiler.block(getX(), baritone.settings().exploreMaintainY.get(), getZ()).membership(this);
+            }
         };
     }
 
@@ -183,6 +172,12 @@ public final class ExploreProcess extends BaritoneProcessHelper implements IExpl
         Status isAlreadyExplored(int chunkX, int chunkZ);
 
         int countRemain();
+
+        /**
+         * Called once for every chunk the frontier finds to be explored
+         */
+        default void onExplored(int chunkX, int chunkZ) {
+        }
     }
 
     private class BaritoneChunkCache implements IChunkFilter {
@@ -209,17 +204,18 @@ public final class ExploreProcess extends BaritoneProcessHelper implements IExpl
 
         private final boolean invert; // if true, the list is interpreted as a list of chunks that are NOT explored, if false, the list is interpreted as a list of chunks that ARE explored
         private final LongOpenHashSet inFilter;
-        private final MyChunkPos[] positions;
+        private final LongOpenHashSet remaining; // listed chunks not seen explored yet, only when inverted
 
         private JsonChunkFilter(Path path, boolean invert) throws Exception { // ioexception, json exception, etc
             this.invert = invert;
             Gson gson = new GsonBuilder().create();
-            positions = gson.fromJson(new InputStreamReader(Files.newInputStream(path)), MyChunkPos[].class);
+            MyChunkPos[] positions = gson.fromJson(new InputStreamReader(Files.newInputStream(path)), MyChunkPos[].class);
             logDirect("Loaded " + positions.length + " positions");
             inFilter = new LongOpenHashSet();
             for (MyChunkPos mcp : positions) {
                 inFilter.add(ChunkPos.toLong(mcp.x, mcp.z));
             }
+            remaining = invert ? new LongOpenHashSet(inFilter) : null;
         }
 
         @Override
@@ -243,18 +239,15 @@ public final class ExploreProcess extends BaritoneProcessHelper implements IExpl
             }
             // but if invert is true, anything not on the list IS assumed cached
             // so we are done if everything on our list is cached!
-            int countRemain = 0;
-            BaritoneChunkCache bcc = new BaritoneChunkCache();
-            for (MyChunkPos pos : positions) {
-                if (bcc.isAlreadyExplored(pos.x, pos.z) != Status.EXPLORED) {
-                    // either waiting for it or dont have it at all
-                    countRemain++;
-                    if (countRemain >= baritone.settings().exploreChunkSetMinimumSize.get()) {
-                        return countRemain;
-                    }
-                }
+            // listed chunks are unexplored to this filter, so the frontier will get to each of them eventually
+            return remaining.size();
+        }
+
+        @Override
+        public void onExplored(int chunkX, int chunkZ) {
+            if (remaining != null) {
+                remaining.remove(ChunkPos.toLong(chunkX, chunkZ));
             }
-            return countRemain;
         }
     }
 
@@ -280,6 +273,98 @@ public final class ExploreProcess extends BaritoneProcessHelper implements IExpl
         public int countRemain() {
             return Math.min(a.countRemain(), b.countRemain());
         }
+
+        @Override
+        public void onExplored(int chunkX, int chunkZ) {
+            a.onExplored(chunkX, chunkZ);
+            b.onExplored(chunkX, chunkZ);
+        }
+    }
+
+    /**
+     * The unexplored chunks bordering on the explored area around the origin, nearest to the origin first, by the same
+     * diamond shaped distance the exploration has always used. It grows outwards as chunks turn out to be explored, so
+     * every chunk is only looked at once on the way out, and finding the next chunks to explore doesn't walk over
+     * everything that was explored already.
+     */
+    private static final class Frontier {
+
+        private final int originX;
+        private final int originZ;
+
+        /**
+         * Chunks that are on the frontier or were on it before
+         */
+        private final LongOpenHashSet seen = new LongOpenHashSet();
+
+        /**
+         * Chunks we have been in, which are explored whatever the filter says
+         */
+        private final LongOpenHashSet visited = new LongOpenHashSet();
+
+        private final LongHeapPriorityQueue queue;
+
+        private Frontier(int originX, int originZ) {
+            this.originX = originX;
+            this.originZ = originZ;
+            this.queue = new LongHeapPriorityQueue((a, b) -> Integer.compare(distance(a), distance(b)));
+            add(ChunkPos.toLong(originX, originZ));
+        }
+
+        private void visit(int chunkX, int chunkZ) {
+            visited.add(ChunkPos.toLong(chunkX, chunkZ));
+        }
+
+        /**
+         * @return The distance of the nearest frontier chunk, nothing nearer to the origin is left to explore
+         */
+        private int distanceCompleted() {
+            return queue.isEmpty() ? 0 : distance(queue.firstLong());
+        }
+
+        /**
+         * @return Up to {@code count} of the nearest unexplored chunks, or {@code null} if that can't be known until
+         * a chunk is loaded
+         */
+        private long[] nearest(IChunkFilter filter, int count) {
+            LongArrayList unexplored = new LongArrayList();
+            boolean unknown = false;
+            while (unexplored.size() < count && !queue.isEmpty()) {
+                long chunk = queue.dequeueLong();
+                int chunkX = ChunkPos.getPackedX(chunk);
+                int chunkZ = ChunkPos.getPackedZ(chunk);
+                Status status = visited.contains(chunk) ? Status.EXPLORED : filter.isAlreadyExplored(chunkX, chunkZ);
+                if (status == Status.UNKNOWN) {
+                    unexplored.add(chunk);
+                    unknown = true;
+                    break;
+                }
+                if (status == Status.EXPLORED) {
+                    filter.onExplored(chunkX, chunkZ);
+                    add(ChunkPos.toLong(chunkX + 1, chunkZ));
+                    add(ChunkPos.toLong(chunkX - 1, chunkZ));
+                    add(ChunkPos.toLong(chunkX, chunkZ + 1));
+                    add(ChunkPos.toLong(chunkX, chunkZ - 1));
+                    continue;
+                }
+                unexplored.add(chunk);
+            }
+            // still unexplored, so still on the frontier
+            for (int i = 0; i < unexplored.size(); i++) {
+                queue.enqueue(unexplored.getLong(i));
+            }
+            return unknown ? null : unexplored.toLongArray();
+        }
+
+        private void add(long chunk) {
+            if (seen.add(chunk)) {
+                queue.enqueue(chunk);
+            }
+        }
+
+        private int distance(long chunk) {
+            return Math.abs(ChunkPos.getPackedX(chunk) - originX) + Math.abs(ChunkPos.getPackedZ(chunk) - originZ);
+        }
     }
 
     @Override
@@ -289,6 +374,6 @@ public final class ExploreProcess extends BaritoneProcessHelper implements IExpl
 
     @Override
     public String displayName0() {
-        return "Exploring around " + explorationOrigin + ", distance completed " + distanceCompleted + ", currently going to " + new GoalComposite(closestUncachedChunks(explorationOrigin, calcFilter()));
+        return "Exploring around " + explorationOrigin + ", distance completed " + frontier.distanceCompleted() + ", currently going to " + new GoalComposite(closestUncachedChunks(explorationOrigin, calcFilter()));
     }
 }
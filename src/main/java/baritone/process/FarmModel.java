@@ -0,0 +1,285 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.process;
+
+import baritone.cache.BlockChangeTracker;
+import it.unimi.dsi.fastutil.longs.*;
+import net.minecraft.block.*;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.GameRules;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What a {@link FarmProcess} knows about the farm region it works on, kept up to date from block changes instead of
+ * reading every location again on every tick.
+ * <p>
+ * Locations are grouped by chunk section, and a location is only read again when the {@link BlockChangeTracker}
+ * reports a change in or next to its section, or when it is due for a recheck. Crops that are still growing are due
+ * around when they are expected to be ripe, going by the random tick speed and their growth chance. Growing is a
+ * block change in itself, so that is only a fallback, as is the periodic recheck of everything else.
+ */
+final class FarmModel {
+
+    enum Work {
+        HARVEST, PLANT, PLANT_WART, BONEMEAL
+    }
+
+    interface Classifier {
+
+        /**
+         * @return What needs doing at the given location, or {@code null} if nothing
+         */
+        Work classify(World world, BlockPos pos, BlockState state);
+    }
+
+    /**
+     * How much work there has to be before it gets ordered into a route and only the start of it is pathed to
+     */
+    static final int ROUTE_THRESHOLD = 16;
+
+    /**
+     * How many locations at the start of the route are pathed to at once, for large farms
+     */
+    static final int ROUTE_WINDOW = 8;
+
+    private static final int MIN_RECHECK_TICKS = 20;
+    private static final int MAX_RECHECK_TICKS = 1200;
+
+    /**
+     * Blocks in a chunk section, each picked by a random tick with equal chance
+     */
+    private static final double SECTION_VOLUME = 16 * 16 * 16;
+
+    final World world;
+    private final BlockPos center;
+    private final int range;
+    private final Classifier classifier;
+
+    private final Long2ObjectOpenHashMap<LongArrayList> sections = new Long2ObjectOpenHashMap<>();
+    private final LongOpenHashSet tracked = new LongOpenHashSet();
+    private final Long2ObjectOpenHashMap<Work> work = new Long2ObjectOpenHashMap<>();
+    private final Long2LongOpenHashMap due = new Long2LongOpenHashMap();
+    private long nextDue = Long.MAX_VALUE;
+    private long lastSync;
+
+    private List<BlockPos> route;
+
+    FarmModel(World world, BlockPos center, int range, Classifier classifier) {
+        this.world = world;
+        this.center = center;
+        this.range = range;
+        this.classifier = classifier;
+    }
+
+    /**
+     * Replaces the set of tracked locations with a fresh scan. Locations that were tracked already keep what is known
+     * about them, new ones are read right away.
+     */
+    void track(List<BlockPos> locations) {
+        long now = BlockChangeTracker.get(world).now();
+        LongOpenHashSet next = new LongOpenHashSet(locations.size());
+        for (BlockPos pos : locations) {
+            // check if the target block is out of range.
+            if (range != 0 && pos.getSquaredDistance(center) > range * range) {
+                continue;
+            }
+            long packed = pos.asLong();
+            next.add(packed);
+            if (tracked.add(packed)) {
+                sections.computeIfAbsent(sectionOf(pos), section -> new LongArrayList()).add(packed);
+                classify(packed, now);
+            }
+        }
+        LongIterator it = tracked.iterator();
+        while (it.hasNext()) {
+            long packed = it.nextLong();
+            if (!next.contains(packed)) {
+                it.remove();
+                untrack(packed);
+            }
+        }
+        lastSync = now;
+    }
+
+    /**
+     * Reads the locations in sections that changed since the last refresh, and those that are due. At most once per
+     * tick.
+     */
+    void refresh() {
+        BlockChangeTracker tracker = BlockChangeTracker.get(world);
+        long now = tracker.now();
+        if (now == lastSync) {
+            return;
+        }
+        for (Long2ObjectMap.Entry<LongArrayList> entry : sections.long2ObjectEntrySet()) {
+            long section = entry.getLongKey();
+            int minX = ChunkSectionPos.unpackX(section) << 4;
+            int minY = ChunkSectionPos.unpackY(section) << 4;
+            int minZ = ChunkSectionPos.unpackZ(section) << 4;
+            // farmland cares about the block above it, and cane and cactus about the block below
+            if (tracker.changedSince(lastSync, minX, minY - 1, minZ, minX + 15, minY + 16, minZ + 15)) {
+                LongListIterator it = entry.getValue().iterator();
+                while (it.hasNext()) {
+                    classify(it.nextLong(), now);
+                }
+            }
+        }
+        if (now >= nextDue) {
+            LongArrayList recheck = new LongArrayList();
+            for (Long2LongMap.Entry entry : due.long2LongEntrySet()) {
+                if (entry.getLongValue() <= now) {
+                    recheck.add(entry.getLongKey());
+                }
+            }
+            for (int i = 0; i < recheck.size(); i++) {
+                classify(recheck.getLong(i), now);
+            }
+            nextDue = Long.MAX_VALUE;
+            for (long tick : due.values()) {
+                nextDue = Math.min(nextDue, tick);
+            }
+        }
+        lastSync = now;
+    }
+
+    Work workAt(BlockPos pos) {
+        return work.get(pos.asLong());
+    }
+
+    int workCount() {
+        return work.size();
+    }
+
+    /**
+     * @param from Where the route starts
+     * @return All locations with work, in the order of a greedy nearest neighbour route when there is a lot of it.
+     * Recomputed only when the work changed.
+     */
+    List<BlockPos> route(BlockPos from) {
+        if (route != null) {
+            return route;
+        }
+        List<BlockPos> remaining = new ArrayList<>(work.size());
+        for (long packed : work.keySet()) {
+            remaining.add(BlockPos.fromLong(packed));
+        }
+        if (remaining.size() <= ROUTE_THRESHOLD) {
+            route = remaining;
+            return route;
+        }
+        List<BlockPos> ordered = new ArrayList<>(remaining.size());
+        BlockPos current = from;
+        while (!remaining.isEmpty()) {
+            int nearest = 0;
+            double nearestDist = Double.MAX_VALUE;
+            for (int i = 0; i < remaining.size(); i++) {
+                double dist = remaining.get(i).getSquaredDistance(current);
+                if (dist < nearestDist) {
+                    nearest = i;
+                    nearestDist = dist;
+                }
+            }
+            // swap remove, the order of what's left doesn't matter
+            current = remaining.get(nearest);
+            remaining.set(nearest, remaining.get(remaining.size() - 1));
+            remaining.remove(remaining.size() - 1);
+            ordered.add(current);
+        }
+        route = ordered;
+        return route;
+    }
+
+    private void classify(long packed, long now) {
+        BlockPos pos = BlockPos.fromLong(packed);
+        BlockState state = world.getBlockState(pos);
+        Work next = classifier.classify(world, pos, state);
+        Work previous = next == null ? work.remove(packed) : work.put(packed, next);
+        if (previous != next) {
+            route = null;
+        }
+        long recheck = now + recheckDelay(pos, state, next);
+        due.put(packed, recheck);
+        nextDue = Math.min(nextDue, recheck);
+    }
+
+    private void untrack(long packed) {
+        LongArrayList section = sections.get(sectionOf(BlockPos.fromLong(packed)));
+        if (section != null) {
+            section.rem(packed);
+            if (section.isEmpty()) {
+                sections.remove(sectionOf(BlockPos.fromLong(packed)));
+            }
+        }
+        if (work.remove(packed) != null) {
+            route = null;
+        }
+        due.remove(packed);
+    }
+
+    private long recheckDelay(BlockPos pos, BlockState state, Work work) {
+        double ticks = MAX_RECHECK_TICKS;
+        int randomTickSpeed = world.getGameRules().getInt(GameRules.RANDOM_TICK_SPEED);
+        if (randomTickSpeed > 0) {
+            double ticksPerRandomTick = SECTION_VOLUME / randomTickSpeed;
+            Block block = state.getBlock();
+            if (block instanceof CropBlock && !((CropBlock) block).isMature(state)) {
+                CropBlock crop = (CropBlock) block;
+                ticksPerRandomTick /= growthChance(pos);
+                ticks = (crop.getMaxAge() - crop.getAge(state)) * ticksPerRandomTick;
+            } else if (block instanceof NetherWartBlock && state.get(NetherWartBlock.AGE) < 3) {
+                // nether wart grows on one in ten random ticks
+                ticks = (3 - state.get(NetherWartBlock.AGE)) * ticksPerRandomTick * 10;
+            } else if (block instanceof Fertilizable && work == null) {
+                // whether bone meal can be used on some plants is down to chance, try again soon
+                ticks = MIN_RECHECK_TICKS;
+            }
+        }
+        return (long) Math.max(MIN_RECHECK_TICKS, Math.min(MAX_RECHECK_TICKS, ticks));
+    }
+
+    /**
+     * Chance a random tick grows the crop at the given position, same as vanilla except that it doesn't halve it for
+     * crops that aren't planted in rows, so it errs on the side of checking too early.
+     */
+    private double growthChance(BlockPos pos) {
+        float moisture = 1.0F;
+        BlockPos below = pos.down();
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dz = -1; dz <= 1; dz++) {
+                float f = 0.0F;
+                BlockState state = world.getBlockState(below.add(dx, 0, dz));
+                if (state.isOf(Blocks.FARMLAND)) {
+                    f = state.get(FarmlandBlock.MOISTURE) > 0 ? 3.0F : 1.0F;
+                }
+                if (dx != 0 || dz != 0) {
+                    f /= 4.0F;
+                }
+                moisture += f;
+            }
+        }
+        return 1.0 / ((int) (25.0F / moisture) + 1);
+    }
+
+    private static long sectionOf(BlockPos pos) {
+        return ChunkSectionPos.asLong(pos.getX() >> 4, pos.getY() >> 4, pos.getZ() >> 4);
+    }
+}
@@ -17,7 +17,6 @@
 
 package baritone.process;
 
-import baritone.Automatone;
 import baritone.Baritone;
 import baritone.api.Settings;
 import baritone.api.pathing.goals.Goal;
@@ -26,11 +25,12 @@ import baritone.api.pathing.goals.GoalComposite;
 import baritone.api.process.IFarmProcess;
 import baritone.api.process.PathingCommand;
 import baritone.api.process.PathingCommandType;
+import baritone.api.utils.BlockOptionalMetaLookup;
 import baritone.api.utils.RayTraceUtils;
 import baritone.api.utils.Rotation;
 import baritone.api.utils.RotationUtils;
 import baritone.api.utils.input.Input;
-import baritone.cache.WorldScanner;
+import baritone.cache.ChunkScanCoordinator;
 import baritone.pathing.movement.MovementHelper;
 import baritone.utils.BaritoneProcessHelper;
 import baritone.utils.NotificationHelper;
@@ -58,8 +58,17 @@ public final class FarmProcess extends BaritoneProcessHelper implements IFarmPro
     private boolean active;
 
     private List<BlockPos> locations;
+    private List<BlockPos> trackedLocations;
+    private FarmModel model;
     private int tickCount;
 
+    /**
+     * Whether the last goal was only the next few stops along the route, and whether none of those could be reached,
+     * so that the whole route is pathed to until some work gets done
+     */
+    private boolean windowed;
+    private boolean fullRoute;
+
     private int range;
     private BlockPos center;
 
@@ -108,6 +117,8 @@ public final class FarmProcess extends BaritoneProcessHelper implements IFarmPro
         this.range = range;
         active = true;
         locations = null;
+        trackedLocations = null;
+        model = null;
     }
 
     private enum Harvest {
@@ -189,63 +200,50 @@ public final class FarmProcess extends BaritoneProcessHelper implements IFarmPro
         }
 
         if (baritone.settings().mineGoalUpdateInterval.get() != 0 && tickCount++ % baritone.settings().mineGoalUpdateInterval.get() == 0) {
-            Automatone.getExecutor().execute(() -> locations = WorldScanner.INSTANCE.scanChunkRadius(ctx, scan, 256, 10, 10));
+            ChunkScanCoordinator.get(ctx.world())
+                    .scan(ctx, new BlockOptionalMetaLookup(ctx.world(), scan.toArray(new Block[0])), 256, 10, 10, baritone.settings().mineGoalUpdateInterval.get())
+                    .thenAccept(result -> locations = result.positions);
         }
+        List<BlockPos> locations = this.locations;
         if (locations == null) {
             return new PathingCommand(null, PathingCommandType.REQUEST_PAUSE);
         }
+        if (model == null || model.world != ctx.world()) {
+            model = new FarmModel(ctx.world(), center, range, this::classify);
+            trackedLocations = null;
+        }
+        if (locations != trackedLocations) {
+            model.track(locations);
+            trackedLocations = locations;
+        }
+        model.refresh();
+        List<BlockPos> route = model.route(ctx.feetPos());
         List<BlockPos> toBreak = new ArrayList<>();
-        List<BlockPos> openFarmland = new ArrayList<>();
+        List<BlockPos> both = new ArrayList<>();
         List<BlockPos> bonemealable = new ArrayList<>();
-        List<BlockPos> openSoulsand = new ArrayList<>();
-        for (BlockPos pos : locations) {
-            //check if the target block is out of range.
-            if (range != 0 && pos.getSquaredDistance(center) > range * range) {
-                continue;
-            }
-
-            BlockState state = ctx.world().getBlockState(pos);
-            boolean airAbove = ctx.world().getBlockState(pos.up()).getBlock() instanceof AirBlock;
-            if (state.getBlock() == Blocks.FARMLAND) {
-                if (airAbove) {
-                    openFarmland.add(pos);
-                }
-                continue;
-            }
-            if (state.getBlock() == Blocks.SOUL_SAND) {
-                if (airAbove) {
-                    openSoulsand.add(pos);
-                }
-                continue;
-            }
-            if (readyForHarvest(ctx.world(), pos, state)) {
-                toBreak.add(pos);
-                continue;
-            }
-            if (state.getBlock() instanceof Fertilizable) {
-                Fertilizable ig = (Fertilizable) state.getBlock();
-                if (ig.isFertilizable(ctx.world(), pos, state) && ig.canGrow(ctx.world(), ctx.world().random, pos, state)) {
-                    bonemealable.add(pos);
-                }
+        for (BlockPos pos : route) {
+            switch (model.workAt(pos)) {
+                case HARVEST -> toBreak.add(pos);
+                case PLANT, PLANT_WART -> both.add(pos);
+                case BONEMEAL -> bonemealable.add(pos);
             }
         }
 
         baritone.getInputOverrideHandler().clearAllKeys();
         for (BlockPos pos : toBreak) {
-            Optional<Rotation> rot = RotationUtils.reachable(ctx, pos);
+            Optional<Rotation> rot = baritone.getReachabilityCache().reachable(pos);
             if (rot.isPresent() && isSafeToCancel) {
                 baritone.getLookBehavior().updateTarget(rot.get(), true);
                 MovementHelper.switchToBestToolFor(ctx, ctx.world().getBlockState(pos));
                 if (ctx.isLookingAt(pos)) {
                     baritone.getInputOverrideHandler().setInputForceState(Input.CLICK_LEFT, true);
                 }
+                fullRoute = false;
                 return new PathingCommand(null, PathingCommandType.REQUEST_PAUSE);
             }
         }
-        ArrayList<BlockPos> both = new ArrayList<>(openFarmland);
-        both.addAll(openSoulsand);
         for (BlockPos pos : both) {
-            boolean soulsand = openSoulsand.contains(pos);
+            boolean soulsand = model.workAt(pos) == FarmModel.Work.PLANT_WART;
             Optional<Rotation> rot = RotationUtils.reachableOffset(ctx.entity(), pos, new Vec3d(pos.getX() + 0.5, pos.getY() + 1, pos.getZ() + 0.5), ctx.playerController().getBlockReachDistance(), false);
             if (rot.isPresent() && isSafeToCancel && baritone.getInventoryBehavior().throwaway(true, soulsand ? this::isNetherWart : this::isPlantable)) {
                 HitResult result = RayTraceUtils.rayTraceTowards(ctx.entity(), rot.get(), ctx.playerController().getBlockReachDistance());
@@ -254,22 +252,28 @@ public final class FarmProcess extends BaritoneProcessHelper implements IFarmPro
                     if (ctx.isLookingAt(pos)) {
                         baritone.getInputOverrideHandler().setInputForceState(Input.CLICK_RIGHT, true);
                     }
+                    fullRoute = false;
                     return new PathingCommand(null, PathingCommandType.REQUEST_PAUSE);
                 }
             }
         }
         for (BlockPos pos : bonemealable) {
-            Optional<Rotation> rot = RotationUtils.reachable(ctx, pos);
+            Optional<Rotation> rot = baritone.getReachabilityCache().reachable(pos);
             if (rot.isPresent() && isSafeToCancel && baritone.getInventoryBehavior().throwaway(true, this::isBoneMeal)) {
                 baritone.getLookBehavior().updateTarget(rot.get(), true);
                 if (ctx.isLookingAt(pos)) {
                     baritone.getInputOverrideHandler().setInputForceState(Input.CLICK_RIGHT, true);
                 }
+                fullRoute = false;
                 return new PathingCommand(null, PathingCommandType.REQUEST_PAUSE);
             }
         }
 
-        if (calcFailed) {
+        if (calcFailed && windowed && !fullRoute) {
+            // nothing in the window could be reached, but something further along the route may still be
+            baritone.logDebug("Can't reach the next stops along the route, trying all of them");
+            fullRoute = true;
+        } else if (calcFailed) {
             logDirect("Farm failed");
             if (baritone.settings().desktopNotifications.get() && baritone.settings().notificationOnFarmFail.get()) {
                 NotificationHelper.notify("Farm failed", true);
@@ -279,22 +283,33 @@ public final class FarmProcess extends BaritoneProcessHelper implements IFarmPro
         }
 
         List<Goal> goalz = new ArrayList<>();
-        for (BlockPos pos : toBreak) {
-            goalz.add(new BuilderProcess.GoalBreak(pos));
-        }
-        if (baritone.getInventoryBehavior().throwaway(false, this::isPlantable)) {
-            for (BlockPos pos : openFarmland) {
-                goalz.add(new GoalBlock(pos.up()));
-            }
-        }
-        if (baritone.getInventoryBehavior().throwaway(false, this::isNetherWart)) {
-            for (BlockPos pos : openSoulsand) {
-                goalz.add(new GoalBlock(pos.up()));
+        boolean plant = baritone.getInventoryBehavior().throwaway(false, this::isPlantable);
+        boolean plantWart = baritone.getInventoryBehavior().throwaway(false, this::isNetherWart);
+        boolean bonemeal = baritone.getInventoryBehavior().throwaway(false, this::isBoneMeal);
+        // on a large farm, only path to the next few stops along the route instead of to all of them at once
+        windowed = !fullRoute && route.size() > FarmModel.ROUTE_THRESHOLD;
+        int window = windowed ? FarmModel.ROUTE_WINDOW : Integer.MAX_VALUE;
+        for (BlockPos pos : route) {
+            if (goalz.size() >= window) {
+                break;
             }
-        }
-        if (baritone.getInventoryBehavior().throwaway(false, this::isBoneMeal)) {
-            for (BlockPos pos : bonemealable) {
-                goalz.add(new GoalBlock(pos));
+            switch (model.workAt(pos)) {
+                case HARVEST -> goalz.add(new BuilderProcess.GoalBreak(pos));
+                case PLANT -> {
+                    if (plant) {
+                        goalz.add(new GoalBlock(pos.up()));
+                    }
+                }
+                case PLANT_WART -> {
+                    if (plantWart) {
+                        goalz.add(new GoalBlock(pos.up()));
+                    }
+                }
+                case BONEMEAL -> {
+                    if (bonemeal) {
+                        goalz.add(new GoalBlock(pos));
+                    }
+                }
             }
         }
         for (ItemEntity item : ctx.world().getEntitiesByClass(ItemEntity.class, ctx.entity().getBoundingBox().expand(30), Entity::isOnGround)) {
@@ -306,9 +321,33 @@ public final class FarmProcess extends BaritoneProcessHelper implements IFarmPro
         return new PathingCommand(new GoalComposite(goalz.toArray(new Goal[0])), PathingCommandType.SET_GOAL_AND_PATH);
     }
 
+    private FarmModel.Work classify(World world, BlockPos pos, BlockState state) {
+        boolean airAbove = world.getBlockState(pos.up()).getBlock() instanceof AirBlock;
+        if (state.getBlock() == Blocks.FARMLAND) {
+            return airAbove ? FarmModel.Work.PLANT : null;
+        }
+        if (state.getBlock() == Blocks.SOUL_SAND) {
+            return airAbove ? FarmModel.Work.PLANT_WART : null;
+        }
+        if (readyForHarvest(world, pos, state)) {
+            return FarmModel.Work.HARVEST;
+        }
+        if (state.getBlock() instanceof Fertilizable) {
+            Fertilizable ig = (Fertilizable) state.getBlock();
+            if (ig.isFertilizable(world, pos, state) && ig.canGrow(world, world.random, pos, state)) {
+                return FarmModel.Work.BONEMEAL;
+            }
+        }
+        return null;
+    }
+
     @Override
     public void onLostControl() {
         active = false;
+        model = null;
+        trackedLocations = null;
+        windowed = false;
+        fullRoute = false;
     }
 
     @Override
@@ -25,6 +25,7 @@ import baritone.api.pathing.goals.GoalXZ;
 import baritone.api.process.IFollowProcess;
 import baritone.api.process.PathingCommand;
 import baritone.api.process.PathingCommandType;
+import baritone.cache.EntityIndex;
 import baritone.utils.BaritoneProcessHelper;
 import net.minecraft.entity.Entity;
 import net.minecraft.util.math.BlockPos;
@@ -80,7 +81,16 @@ public final class FollowProcess extends BaritoneProcessHelper implements IFollo
     }
 
     private void scanWorld() {
-        cache = ctx.worldEntitiesStream()
+        EntityIndex index = EntityIndex.get(ctx.world());
+        cache = matching(index.near(EntityIndex.Category.FOLLOWABLE, ctx.feetPos(), baritone.settings().entityScanRadius.get()));
+        if (cache.isEmpty()) {
+            // nothing close by, but we follow wherever they went
+            cache = matching(index.all(EntityIndex.Category.FOLLOWABLE));
+        }
+    }
+
+    private List<Entity> matching(List<Entity> entities) {
+        return entities.stream()
                 .filter(this::followable)
                 .filter(this.filter)
                 .distinct()
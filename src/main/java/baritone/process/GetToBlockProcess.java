@@ -26,7 +26,6 @@ import baritone.api.process.PathingCommandType;
 import baritone.api.utils.BlockOptionalMeta;
 import baritone.api.utils.BlockOptionalMetaLookup;
 import baritone.api.utils.Rotation;
-import baritone.api.utils.RotationUtils;
 import baritone.api.utils.input.Input;
 import baritone.pathing.movement.CalculationContext;
 import baritone.pathing.movement.MovementHelper;
@@ -43,7 +42,8 @@ public final class GetToBlockProcess extends BaritoneProcessHelper implements IG
 
     private BlockOptionalMeta gettingTo;
     private List<BlockPos> knownLocations;
-    private List<BlockPos> blacklist; // locations we failed to calc to
+    private Set<BlockPos> blacklist; // locations we failed to calc to
+    private final BreakPlausibilityCache plausibility = new BreakPlausibilityCache();
     private BlockPos start;
 
     private int tickCount = 0;
@@ -58,7 +58,7 @@ public final class GetToBlockProcess extends BaritoneProcessHelper implements IG
         onLostControl();
         gettingTo = block;
         start = ctx.feetPos();
-        blacklist = new ArrayList<>();
+        blacklist = new HashSet<>();
         arrivalTickCount = 0;
         rescan(new ArrayList<>(), new CalculationContext(baritone));
     }
@@ -180,7 +180,7 @@ public final class GetToBlockProcess extends BaritoneProcessHelper implements IG
     }
 
     private synchronized void rescan(List<BlockPos> known, CalculationContext context) {
-        List<BlockPos> positions = MineProcess.searchWorld(context, new BlockOptionalMetaLookup(gettingTo), 64, known, blacklist, Collections.emptyList());
+        List<BlockPos> positions = MineProcess.searchWorld(context, new BlockOptionalMetaLookup(gettingTo), 64, known, blacklist, Collections.emptyList(), plausibility);
         positions.removeIf(blacklist::contains);
         knownLocations = positions;
     }
@@ -197,7 +197,7 @@ public final class GetToBlockProcess extends BaritoneProcessHelper implements IG
 
     private boolean rightClick() {
         for (BlockPos pos : knownLocations) {
-            Optional<Rotation> reachable = RotationUtils.reachable(ctx.entity(), pos, ctx.playerController().getBlockReachDistance());
+            Optional<Rotation> reachable = baritone.getReachabilityCache().reachable(pos);
             if (reachable.isPresent()) {
                 baritone.getLookBehavior().updateTarget(reachable.get(), true);
                 if (knownLocations.contains(ctx.getSelectedBlock().orElse(null))) {
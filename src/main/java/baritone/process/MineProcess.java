@@ -23,15 +23,18 @@ import baritone.api.pathing.goals.*;
 import baritone.api.process.IMineProcess;
 import baritone.api.process.PathingCommand;
 import baritone.api.process.PathingCommandType;
+import baritone.api.process.SharedJob;
 import baritone.api.utils.*;
 import baritone.api.utils.input.Input;
 import baritone.cache.CachedChunk;
-import baritone.cache.WorldScanner;
+import baritone.cache.ChunkScanCoordinator;
+import baritone.cache.EntityIndex;
 import baritone.pathing.movement.CalculationContext;
 import baritone.pathing.movement.MovementHelper;
 import baritone.utils.BaritoneProcessHelper;
 import baritone.utils.BlockStateInterface;
 import baritone.utils.NotificationHelper;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import net.minecraft.block.*;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.ItemEntity;
@@ -41,7 +44,6 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.util.math.BlockPos;
 
 import java.util.*;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static baritone.api.pathing.movement.ActionCosts.COST_INF;
@@ -57,10 +59,12 @@ public final class MineProcess extends BaritoneProcessHelper implements IMinePro
 
     private BlockOptionalMetaLookup filter;
     private List<BlockPos> knownOreLocations;
-    private List<BlockPos> blacklist; // inaccessible
+    private Set<BlockPos> blacklist; // inaccessible
+    private final BreakPlausibilityCache plausibility = new BreakPlausibilityCache();
     private Map<BlockPos, Long> anticipatedDrops;
     private BlockPos branchPoint;
     private GoalRunAway branchPointRunaway;
+    private SharedJob job;
     private int desiredQuantity;
     private int tickCount;
 
@@ -104,8 +108,17 @@ public final class MineProcess extends BaritoneProcessHelper implements IMinePro
                 if (baritone.settings().desktopNotifications.get() && baritone.settings().notificationOnMineFail.get()) {
                     NotificationHelper.notify("Unable to find any path to " + filter + ", blacklisting presumably unreachable closest instance...", true);
                 }
-                knownOreLocations.stream().min(Comparator.comparingDouble(ctx.feetPos()::getSquaredDistance)).ifPresent(blacklist::add);
-                knownOreLocations.removeIf(blacklist::contains);
+                Optional<BlockPos> closest = knownOreLocations.stream().min(Comparator.comparingDouble(ctx.feetPos()::getSquaredDistance));
+                if (job != null) {
+                    // let the others have a go at it
+                    closest.ifPresent(pos -> {
+                        job.fail(baritone, pos);
+                        knownOreLocations.remove(pos);
+                    });
+                } else {
+                    closest.ifPresent(blacklist::add);
+                    knownOreLocations.removeIf(blacklist::contains);
+                }
             } else {
                 logDirect("Unable to find any path to " + filter + ", canceling mine");
                 if (baritone.settings().desktopNotifications.get() && baritone.settings().notificationOnMineFail.get()) {
@@ -140,7 +153,7 @@ public final class MineProcess extends BaritoneProcessHelper implements IMinePro
             BlockPos pos = shaft.get();
             BlockState state = baritone.bsi.get0(pos);
             if (!MovementHelper.avoidBreaking(baritone.bsi, pos.getX(), pos.getY(), pos.getZ(), state, baritone.settings())) {
-                Optional<Rotation> rot = RotationUtils.reachable(ctx, pos);
+                Optional<Rotation> rot = baritone.getReachabilityCache().reachable(pos);
                 if (rot.isPresent() && isSafeToCancel) {
                     baritone.getLookBehavior().updateTarget(rot.get(), true);
                     MovementHelper.switchToBestToolFor(ctx, ctx.world().getBlockState(pos));
@@ -194,7 +207,7 @@ public final class MineProcess extends BaritoneProcessHelper implements IMinePro
         List<BlockPos> locs = knownOreLocations;
         if (!locs.isEmpty()) {
             CalculationContext context = new CalculationContext(baritone);
-            locs = prune(context, new ArrayList<>(locs), filter, ORE_LOCATIONS_COUNT, blacklist, droppedItemsScan());
+            locs = prune(context, new ArrayList<>(locs), filter, ORE_LOCATIONS_COUNT, blacklist, droppedItemsScan(), plausibility);
             // can't reassign locs, gotta make a new var locs2, because we use it in a lambda right here, and variables you use in a lambda must be effectively final
             int locsSize = locs.size();
             Goal[] list = new Goal[locsSize];
@@ -248,7 +261,10 @@ public final class MineProcess extends BaritoneProcessHelper implements IMinePro
             return;
         }
         List<BlockPos> dropped = droppedItemsScan();
-        List<BlockPos> locs = searchWorld(context, filter, ORE_LOCATIONS_COUNT, already, blacklist, dropped);
+        SharedJob job = this.job;
+        List<BlockPos> locs = job != null
+                ? leaseFromJob(job, context, already, dropped)
+                : searchWorld(context, filter, ORE_LOCATIONS_COUNT, already, blacklist, dropped, plausibility);
         locs.addAll(dropped);
         if (locs.isEmpty()) {
             logDirect("No locations for " + filter + " known, cancelling");
@@ -261,6 +277,33 @@ public final class MineProcess extends BaritoneProcessHelper implements IMinePro
         knownOreLocations = locs;
     }
 
+    private List<BlockPos> leaseFromJob(SharedJob job, CalculationContext context, List<BlockPos> already, List<BlockPos> dropped) {
+        int interval = baritone.settings().mineGoalUpdateInterval.get();
+        if (job.claimScan(ctx.world().getTime(), interval)) {
+            // scan for everyone, not just for ourselves
+            int max = ORE_LOCATIONS_COUNT * Math.max(1, job.getAttachedCount());
+            job.offer(searchWorld(context, filter, max, already, blacklist, dropped, plausibility));
+        }
+        List<BlockPos> leased = job.lease(baritone, ctx.feetPos(), ORE_LOCATIONS_COUNT);
+        List<BlockPos> locs = prune(context, new ArrayList<>(leased), filter, Integer.MAX_VALUE, blacklist, dropped, plausibility);
+        if (locs.size() < leased.size()) {
+            Set<BlockPos> kept = new HashSet<>(locs);
+            for (BlockPos pos : leased) {
+                if (kept.contains(pos)) {
+                    continue;
+                }
+                if (context.bsi.worldContainsLoadedChunk(pos.getX(), pos.getZ()) && !filter.has(context.get(pos.getX(), pos.getY(), pos.getZ()))) {
+                    // mined already, that's done for everyone
+                    job.complete(pos);
+                } else {
+                    // blacklisted, too deep or not plausible for us, but maybe not for the others
+                    job.fail(baritone, pos);
+                }
+            }
+        }
+        return locs.size() > ORE_LOCATIONS_COUNT ? new ArrayList<>(locs.subList(0, ORE_LOCATIONS_COUNT)) : locs;
+    }
+
     private boolean internalMiningGoal(BlockPos pos, CalculationContext context, List<BlockPos> locs) {
         // Here, BlockStateInterface is used because the position may be in a cached chunk (the targeted block is one that is kept track of)
         if (locs.contains(pos)) {
@@ -333,6 +376,11 @@ public final class MineProcess extends BaritoneProcessHelper implements IMinePro
             int zDiff = z - this.z;
             return GoalBlock.calculate(xDiff, yDiff < -1 ? yDiff + 2 : yDiff == -1 ? 0 : yDiff, zDiff);
         }
+
+        @Override
+        public void compile(GoalCompiler compiler) {
+            compiler.column(x, y - 2, y, z);
+        }
     }
 
     public List<BlockPos> droppedItemsScan() {
@@ -340,21 +388,17 @@ public final class MineProcess extends BaritoneProcessHelper implements IMinePro
             return Collections.emptyList();
         }
         List<BlockPos> ret = new ArrayList<>();
-        // TODO probably don't iterate all entities
-        for (Entity entity : ctx.world().iterateEntities()) {
-            if (entity instanceof ItemEntity) {
-                ItemEntity ei = (ItemEntity) entity;
-                // PERF: getStack() calls the data tracker, which is kinda slow
-                if (filter.has(ei.getStack())) {
-                    ret.add(entity.getBlockPos());
-                }
+        for (Entity entity : EntityIndex.get(ctx.world()).near(EntityIndex.Category.ITEM, ctx.feetPos(), baritone.settings().entityScanRadius.get())) {
+            // PERF: getStack() calls the data tracker, which is kinda slow
+            if (filter.has(((ItemEntity) entity).getStack())) {
+                ret.add(entity.getBlockPos());
             }
         }
         ret.addAll(anticipatedDrops.keySet());
         return ret;
     }
 
-    public static List<BlockPos> searchWorld(CalculationContext ctx, BlockOptionalMetaLookup filter, int max, List<BlockPos> alreadyKnown, List<BlockPos> blacklist, List<BlockPos> dropped) {
+    static List<BlockPos> searchWorld(CalculationContext ctx, BlockOptionalMetaLookup filter, int max, List<BlockPos> alreadyKnown, Set<BlockPos> blacklist, List<BlockPos> dropped, BreakPlausibilityCache plausibility) {
         List<BlockPos> locs = new ArrayList<>();
         List<Block> untracked = new ArrayList<>();
         for (BlockOptionalMeta bom : filter.blocks()) {
@@ -375,21 +419,23 @@ public final class MineProcess extends BaritoneProcessHelper implements IMinePro
             }
         }
 
-        locs = prune(ctx, locs, filter, max, blacklist, dropped);
+        locs = prune(ctx, locs, filter, max, blacklist, dropped, plausibility);
 
         if (!untracked.isEmpty() || (ctx.baritone.settings().extendCacheOnThreshold.get() && locs.size() < max)) {
-            locs.addAll(WorldScanner.INSTANCE.scanChunkRadius(
-                    ctx.getBaritone().getPlayerContext(),
+            IEntityContext entityContext = ctx.getBaritone().getPlayerContext();
+            locs.addAll(ChunkScanCoordinator.get(entityContext.world()).scanNow(
+                    entityContext,
                     filter,
                     max,
                     10,
-                    32
-            )); // maxSearchRadius is NOT sq
+                    32, // maxSearchRadius is NOT sq
+                    ctx.baritone.settings().mineGoalUpdateInterval.get()
+            ));
         }
 
         locs.addAll(alreadyKnown);
 
-        return prune(ctx, locs, filter, max, blacklist, dropped);
+        return prune(ctx, locs, filter, max, blacklist, dropped, plausibility);
     }
 
     private void addNearby() {
@@ -399,6 +445,7 @@ public final class MineProcess extends BaritoneProcessHelper implements IMinePro
         BlockStateInterface bsi = new BlockStateInterface(ctx);
         int searchDist = 10;
         double fakedBlockReachDistance = 20; // at least 10 * sqrt(3) with some extra space to account for positioning within the block
+        List<BlockPos> candidates = new ArrayList<>();
         for (int x = playerFeet.getX() - searchDist; x <= playerFeet.getX() + searchDist; x++) {
             for (int y = playerFeet.getY() - searchDist; y <= playerFeet.getY() + searchDist; y++) {
                 for (int z = playerFeet.getZ() - searchDist; z <= playerFeet.getZ() + searchDist; z++) {
@@ -406,55 +453,70 @@ public final class MineProcess extends BaritoneProcessHelper implements IMinePro
                     // is an x-ray and it'll get caught
                     if (filter.has(bsi.get0(x, y, z))) {
                         BlockPos pos = new BlockPos(x, y, z);
-                        if ((baritone.settings().legitMineIncludeDiagonals.get() && knownOreLocations.stream().anyMatch(ore -> ore.getSquaredDistance(pos) <= 2 /* sq means this is pytha dist <= sqrt(2) */)) || RotationUtils.reachable(ctx.entity(), pos, fakedBlockReachDistance).isPresent()) {
+                        if (baritone.settings().legitMineIncludeDiagonals.get() && knownOreLocations.stream().anyMatch(ore -> ore.getSquaredDistance(pos) <= 2 /* sq means this is pytha dist <= sqrt(2) */)) {
                             knownOreLocations.add(pos);
+                        } else {
+                            candidates.add(pos);
                         }
                     }
                 }
             }
         }
-        knownOreLocations = prune(new CalculationContext(baritone), knownOreLocations, filter, ORE_LOCATIONS_COUNT, blacklist, dropped);
+        knownOreLocations.addAll(baritone.getReachabilityCache().filterReachable(candidates, fakedBlockReachDistance));
+        knownOreLocations = prune(new CalculationContext(baritone), knownOreLocations, filter, ORE_LOCATIONS_COUNT, blacklist, dropped, plausibility);
     }
 
-    private static List<BlockPos> prune(CalculationContext ctx, List<BlockPos> locs2, BlockOptionalMetaLookup filter, int max, List<BlockPos> blacklist, List<BlockPos> dropped) {
+    /**
+     * Filters out candidates that aren't worth mining, and keeps the {@code max} nearest of the rest, nearest first.
+     * Candidates that can't be among the nearest anymore are skipped before any of the more expensive checks.
+     */
+    private static List<BlockPos> prune(CalculationContext ctx, List<BlockPos> locs2, BlockOptionalMetaLookup filter, int max, Set<BlockPos> blacklist, List<BlockPos> dropped, BreakPlausibilityCache plausibility) {
         dropped.removeIf(drop -> {
             for (BlockPos pos : locs2) {
-                if (pos.getSquaredDistance(drop) <= 9 && filter.has(ctx.get(pos.getX(), pos.getY(), pos.getZ())) && MineProcess.plausibleToBreak(ctx, pos)) { // TODO maybe drop also has to be supported? no lava below?
+                if (pos.getSquaredDistance(drop) <= 9 && filter.has(ctx.get(pos.getX(), pos.getY(), pos.getZ())) && plausibility.plausibleToBreak(ctx, pos)) { // TODO maybe drop also has to be supported? no lava below?
                     return true;
                 }
             }
             return false;
         });
-        // PERF: replace the stream with an old fashioned loop
-        List<BlockPos> locs = locs2
-                .stream()
-                .distinct()
-
-                // remove any that are within loaded chunks that aren't actually what we want
-                .filter(pos -> !ctx.bsi.worldContainsLoadedChunk(pos.getX(), pos.getZ()) || filter.has(ctx.get(pos.getX(), pos.getY(), pos.getZ())) || dropped.contains(pos))
-
-                // remove any that are implausible to mine (encased in bedrock, or touching lava)
-                .filter(pos -> MineProcess.plausibleToBreak(ctx, pos))
-
-                .filter(pos -> {
-                    if (ctx.getBaritone().settings().allowOnlyExposedOres.get()) {
-                        return isNextToAir(ctx, pos);
-                    } else {
-                        return true;
-                    }
-                })
-
-                .filter(pos -> pos.getY() >= ctx.getBaritone().settings().minYLevelWhileMining.get())
-
-                .filter(pos -> !blacklist.contains(pos))
-
-                .sorted(Comparator.comparingDouble(ctx.getBaritone().getPlayerContext().entity().getBlockPos()::getSquaredDistance))
-                .collect(Collectors.toList());
-
-        if (locs.size() > max) {
-            return locs.subList(0, max);
+        Set<BlockPos> droppedSet = dropped.isEmpty() ? Collections.emptySet() : new HashSet<>(dropped);
+        BlockPos from = ctx.getBaritone().getPlayerContext().entity().getBlockPos();
+        boolean exposedOnly = ctx.getBaritone().settings().allowOnlyExposedOres.get();
+        int minY = ctx.getBaritone().settings().minYLevelWhileMining.get();
+        // farthest on top, so that it's the one that goes when a nearer one comes along
+        PriorityQueue<BlockPos> nearest = new PriorityQueue<>(Comparator.comparingDouble((BlockPos pos) -> pos.getSquaredDistance(from)).reversed());
+        LongOpenHashSet seen = new LongOpenHashSet(locs2.size());
+        for (BlockPos pos : locs2) {
+            if (!seen.add(pos.asLong())) {
+                continue;
+            }
+            if (pos.getY() < minY || blacklist.contains(pos)) {
+                continue;
+            }
+            if (!nearest.isEmpty() && nearest.size() >= max && pos.getSquaredDistance(from) >= nearest.peek().getSquaredDistance(from)) {
+                continue;
+            }
+            // remove any that are within loaded chunks that aren't actually what we want
+            if (ctx.bsi.worldContainsLoadedChunk(pos.getX(), pos.getZ()) && !filter.has(ctx.get(pos.getX(), pos.getY(), pos.getZ())) && !droppedSet.contains(pos)) {
+                continue;
+            }
+            // remove any that are implausible to mine (encased in bedrock, or touching lava)
+            if (!plausibility.plausibleToBreak(ctx, pos)) {
+                continue;
+            }
+            if (exposedOnly && !plausibility.isNextToAir(ctx, pos)) {
+                continue;
+            }
+            nearest.add(pos);
+            if (nearest.size() > max) {
+                nearest.poll();
+            }
         }
-        return locs;
+        BlockPos[] locs = new BlockPos[nearest.size()];
+        for (int i = locs.length - 1; i >= 0; i--) {
+            locs[i] = nearest.poll();
+        }
+        return new ArrayList<>(Arrays.asList(locs));
     }
 
     public static boolean isNextToAir(CalculationContext ctx, BlockPos pos) {
@@ -488,16 +550,25 @@ public final class MineProcess extends BaritoneProcessHelper implements IMinePro
     }
 
     @Override
-    public void mine(int quantity, BlockOptionalMetaLookup filter) {
+    public void mine(int quantity, BlockOptionalMetaLookup filter, SharedJob job) {
         this.filter = filter;
+        SharedJob previousJob = this.job;
+        this.job = null;
+        if (previousJob != null && (previousJob != job || filter == null || !baritone.settings().allowBreak.get())) {
+            previousJob.detach(baritone);
+        }
         if (filter != null && !baritone.settings().allowBreak.get()) {
             logDirect("Unable to mine when allowBreak is false!");
             this.mine(quantity, (BlockOptionalMetaLookup) null);
             return;
         }
+        if (filter != null && job != null) {
+            job.attach(baritone);
+            this.job = job;
+        }
         this.desiredQuantity = quantity;
         this.knownOreLocations = new ArrayList<>();
-        this.blacklist = new ArrayList<>();
+        this.blacklist = new HashSet<>();
         this.branchPoint = null;
         this.branchPointRunaway = null;
         this.anticipatedDrops = new HashMap<>();
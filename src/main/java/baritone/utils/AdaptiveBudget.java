@@ -0,0 +1,96 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.utils;
+
+import baritone.Automatone;
+import baritone.api.BaritoneAPI;
+import baritone.api.Settings;
+
+/**
+ * Decides how much of their configured budgets path searches and background scans get, going by how long the
+ * server's ticks take and how many worker threads are busy compared to how many cores there are
+ *
+ * @see Settings#adaptiveBudgets
+ */
+public final class AdaptiveBudget {
+
+    private AdaptiveBudget() {}
+
+    public enum Priority {
+
+        /**
+         * An entity standing still until its search finishes
+         */
+        WAITING(0.5),
+
+        /**
+         * An entity planning its next segment while it still has plenty of path left
+         */
+        PLANNING(1),
+
+        /**
+         * Scans that nobody is waiting on right away
+         */
+        BACKGROUND(1.5);
+
+        /**
+         * How much of the load is passed on to budgets of this priority
+         */
+        final double sensitivity;
+
+        Priority(double sensitivity) {
+            this.sensitivity = sensitivity;
+        }
+    }
+
+    /**
+     * @param priority How urgently the caller needs what it's budgeting for
+     * @return What to multiply the configured budget by, 1 when the server isn't busy or adaptive budgets are off
+     */
+    public static double scale(Priority priority) {
+        Settings settings = BaritoneAPI.getGlobalSettings();
+        if (!settings.adaptiveBudgets.get()) {
+            return 1;
+        }
+        double load = Math.min(tickScale(settings), workerScale());
+        double scale = 1 - (1 - load) * priority.sensitivity;
+        return Math.max(settings.adaptiveBudgetMinimumScale.get(), Math.min(1, scale));
+    }
+
+    /**
+     * @return The budget scaled, but never below a millisecond
+     */
+    public static long apply(long budgetMS, double scale) {
+        return Math.max(1, Math.round(budgetMS * scale));
+    }
+
+    private static double tickScale(Settings settings) {
+        double from = settings.adaptiveBudgetTickMS.get();
+        double tickMS = ServerTickTimer.averageTickMS();
+        if (tickMS <= from || from >= ServerTickTimer.TICK_MS) {
+            return 1;
+        }
+        return Math.max(0, (ServerTickTimer.TICK_MS - tickMS) / (ServerTickTimer.TICK_MS - from));
+    }
+
+    private static double workerScale() {
+        int busy = Automatone.getExecutor().getActiveCount();
+        int cores = Runtime.getRuntime().availableProcessors();
+        return busy <= cores ? 1 : (double) cores / busy;
+    }
+}
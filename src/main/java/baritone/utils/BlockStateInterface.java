@@ -18,7 +18,8 @@
 package baritone.utils;
 
 import baritone.api.utils.IEntityContext;
-import baritone.utils.accessor.ServerChunkManagerAccessor;
+import baritone.utils.source.IBlockSource;
+import baritone.utils.source.LiveBlockSource;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
@@ -27,7 +28,6 @@ import net.minecraft.world.BlockView;
 import net.minecraft.world.World;
 import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.chunk.ChunkSection;
-import net.minecraft.world.chunk.WorldChunk;
 
 /**
  * Wraps get for chuck caching capability
@@ -36,13 +36,10 @@ import net.minecraft.world.chunk.WorldChunk;
  */
 public class BlockStateInterface {
 
-    private final ServerChunkManagerAccessor provider;
-    protected final BlockView world;
+    private final IBlockSource source;
     public final BlockPos.Mutable isPassableBlockPos;
     public final BlockView access;
 
-    private WorldChunk prev = null;
-
     private static final BlockState AIR = Blocks.AIR.getDefaultState();
 
     public BlockStateInterface(IEntityContext ctx) {
@@ -50,14 +47,21 @@ public class BlockStateInterface {
     }
 
     public BlockStateInterface(World world) {
-        this.world = world;
-        this.provider = (ServerChunkManagerAccessor) world.getChunkManager();
+        this(new LiveBlockSource(world));
+    }
+
+    public BlockStateInterface(IBlockSource source) {
+        this.source = source;
         this.isPassableBlockPos = new BlockPos.Mutable();
         this.access = new BlockStateInterfaceAccessWrapper(this);
     }
 
+    public IBlockSource getSource() {
+        return source;
+    }
+
     public boolean worldContainsLoadedChunk(int blockX, int blockZ) {
-        return provider.automatone$getChunkNow(blockX >> 4, blockZ >> 4) != null;
+        return source.containsChunk(blockX, blockZ);
     }
 
     public static Block getBlock(IEntityContext ctx, BlockPos pos) { // won't be called from the pathing thread because the pathing thread doesn't make a single blockpos pog
@@ -72,38 +76,12 @@ public class BlockStateInterface {
         return get0(pos.getX(), pos.getY(), pos.getZ());
     }
 
-    public BlockState get0(int x, int y, int z) { // Mickey resigned
-        if (this.world.isOutOfHeightLimit(y)) return AIR;
-
-        WorldChunk cached = prev;
-        // there's great cache locality in block state lookups
-        // generally it's within each movement
-        // if it's the same chunk as last time
-        // we can just skip the mc.world.getChunk lookup
-        // which is a Long2ObjectOpenHashMap.get
-        // see issue #113
-        if (cached != null && cached.getPos().x == x >> 4 && cached.getPos().z == z >> 4) {
-            return getFromChunk(this.world, cached, x, y, z);
-        }
-        WorldChunk chunk = provider.automatone$getChunkNow(x >> 4, z >> 4);
-        if (chunk != null && !chunk.isEmpty()) {
-            prev = chunk;
-            return getFromChunk(this.world, chunk, x, y, z);
-        }
-        return AIR;
+    public BlockState get0(int x, int y, int z) {
+        return source.get(x, y, z);
     }
 
     public boolean isLoaded(int x, int z) {
-        WorldChunk prevChunk = prev;
-        if (prevChunk != null && prevChunk.getPos().x == x >> 4 && prevChunk.getPos().z == z >> 4) {
-            return true;
-        }
-        prevChunk = provider.automatone$getChunkNow(x >> 4, z >> 4);
-        if (prevChunk != null && !prevChunk.isEmpty()) {
-            prev = prevChunk;
-            return true;
-        }
-        return false;
+        return source.isLoaded(x, z);
     }
 
     // get the block at x,y,z from this chunk WITHOUT creating a single blockpos object
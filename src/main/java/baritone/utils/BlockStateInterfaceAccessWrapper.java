@@ -56,11 +56,11 @@ public final class BlockStateInterfaceAccessWrapper implements BlockView {
 
     @Override
     public int getHeight() {
-        return this.bsi.world.getHeight();
+        return this.bsi.getSource().getHeight();
     }
 
     @Override
     public int getBottomY() {
-        return this.bsi.world.getBottomY();
+        return this.bsi.getSource().getBottomY();
     }
 }
@@ -0,0 +1,86 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.utils;
+
+import baritone.api.pathing.goals.Goal;
+import baritone.api.pathing.goals.GoalBlock;
+import baritone.api.pathing.goals.GoalXZ;
+import baritone.api.utils.BetterBlockPos;
+import baritone.utils.source.InMemoryBlockSource;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtIo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A pathing problem frozen in time: the blocks around an entity, where it stood, and where it wanted to go.
+ * Stored as compressed NBT so that searches can be replayed headless.
+ */
+public final class PathingSnapshot {
+
+    public final InMemoryBlockSource blocks;
+    public final BetterBlockPos start;
+    public final Goal goal;
+
+    public PathingSnapshot(InMemoryBlockSource blocks, BetterBlockPos start, Goal goal) {
+        if (!(goal instanceof GoalBlock) && !(goal instanceof GoalXZ)) {
+            throw new IllegalArgumentException("Only GoalBlock and GoalXZ can be stored in a snapshot, got " + goal);
+        }
+        this.blocks = blocks;
+        this.start = start;
+        this.goal = goal;
+    }
+
+    public void write(Path file) throws IOException {
+        NbtCompound tag = new NbtCompound();
+        tag.put("blocks", blocks.toNbt());
+        tag.putIntArray("start", new int[]{start.x, start.y, start.z});
+        if (goal instanceof GoalBlock) {
+            GoalBlock goalBlock = (GoalBlock) goal;
+            tag.putIntArray("goal", new int[]{goalBlock.x, goalBlock.y, goalBlock.z});
+        } else {
+            GoalXZ goalXZ = (GoalXZ) goal;
+            tag.putIntArray("goal", new int[]{goalXZ.getX(), goalXZ.getZ()});
+        }
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (OutputStream out = Files.newOutputStream(file)) {
+            NbtIo.writeCompressed(tag, out);
+        }
+    }
+
+    public static PathingSnapshot read(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in);
+        }
+    }
+
+    public static PathingSnapshot read(InputStream in) throws IOException {
+        NbtCompound tag = NbtIo.readCompressed(in);
+        int[] start = tag.getIntArray("start");
+        int[] goal = tag.getIntArray("goal");
+        return new PathingSnapshot(
+                InMemoryBlockSource.fromNbt(tag.getCompound("blocks")),
+                new BetterBlockPos(start[0], start[1], start[2]),
+                goal.length == 3 ? new GoalBlock(goal[0], goal[1], goal[2]) : new GoalXZ(goal[0], goal[1])
+        );
+    }
+}
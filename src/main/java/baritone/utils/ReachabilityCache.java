@@ -0,0 +1,154 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.utils;
+
+import baritone.api.utils.IEntityContext;
+import baritone.api.utils.Rotation;
+import baritone.api.utils.RotationUtils;
+import baritone.cache.BlockChangeTracker;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Remembers which blocks an entity can reach from where its eyes are, so that processes scanning the same cube of
+ * blocks every tick only pay for the raytraces once while the entity stands still and nothing around it changes.
+ * <p>
+ * Entries are keyed by block position and belong to the current eye position, bucketed to 1/16 of a block. Moving
+ * to another bucket forgets everything. An entry is also dropped as soon as the {@link BlockChangeTracker} reports
+ * a change anywhere between the eyes and the block.
+ * <p>
+ * Only the outcome of the raytraces is cached. The returned rotation is made relative to the current rotation on
+ * every lookup, exactly as a fresh {@link RotationUtils#reachable} would.
+ */
+public final class ReachabilityCache {
+
+    private static final double EYE_BUCKETS_PER_BLOCK = 16;
+    private static final int MAX_ENTRIES = 8192;
+
+    private final IEntityContext ctx;
+    private final Long2ObjectOpenHashMap<Entry> entries = new Long2ObjectOpenHashMap<>();
+    private int eyeX;
+    private int eyeY;
+    private int eyeZ;
+
+    public ReachabilityCache(IEntityContext ctx) {
+        this.ctx = ctx;
+    }
+
+    private static final class Entry {
+
+        final double reach;
+        final boolean wouldSneak;
+        final long tick;
+        final Rotation rotation; // null if unreachable
+
+        Entry(double reach, boolean wouldSneak, long tick, Rotation rotation) {
+            this.reach = reach;
+            this.wouldSneak = wouldSneak;
+            this.tick = tick;
+            this.rotation = rotation;
+        }
+    }
+
+    public Optional<Rotation> reachable(BlockPos pos) {
+        return reachable(pos, ctx.playerController().getBlockReachDistance(), false);
+    }
+
+    public Optional<Rotation> reachable(BlockPos pos, double blockReachDistance) {
+        return reachable(pos, blockReachDistance, false);
+    }
+
+    /**
+     * @see RotationUtils#reachable(net.minecraft.entity.LivingEntity, BlockPos, double, boolean)
+     */
+    public Optional<Rotation> reachable(BlockPos pos, double blockReachDistance, boolean wouldSneak) {
+        Vec3d eyes = ctx.entity().getCameraPosVec(1.0F);
+        moveEyes(eyes);
+        return reachable(pos, blockReachDistance, wouldSneak, eyes, BlockChangeTracker.get(ctx.world()));
+    }
+
+    /**
+     * Evaluates a whole set of candidates against the same eye position and tracker
+     *
+     * @return The reachable candidates, in the same order
+     */
+    public List<BlockPos> filterReachable(List<BlockPos> candidates, double blockReachDistance) {
+        Vec3d eyes = ctx.entity().getCameraPosVec(1.0F);
+        moveEyes(eyes);
+        BlockChangeTracker tracker = BlockChangeTracker.get(ctx.world());
+        List<BlockPos> result = new ArrayList<>();
+        for (BlockPos pos : candidates) {
+            if (reachable(pos, blockReachDistance, false, eyes, tracker).isPresent()) {
+                result.add(pos);
+            }
+        }
+        return result;
+    }
+
+    private Optional<Rotation> reachable(BlockPos pos, double blockReachDistance, boolean wouldSneak, Vec3d eyes, BlockChangeTracker tracker) {
+        if (ctx.isLookingAt(pos)) {
+            // the answer depends on where we are looking right now, not worth remembering
+            return RotationUtils.reachable(ctx.entity(), pos, blockReachDistance, wouldSneak);
+        }
+        // no point of the block is further than sqrt(3)/2 from its center, and sneaking lowers the eyes a bit
+        double reachToCenter = blockReachDistance + 1.5;
+        if (eyes.squaredDistanceTo(pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5) > reachToCenter * reachToCenter) {
+            return Optional.empty();
+        }
+        long key = pos.asLong();
+        Entry entry = entries.get(key);
+        if (entry != null && entry.reach == blockReachDistance && entry.wouldSneak == wouldSneak && !tracker.changedSince(entry.tick,
+                Math.min(MathHelper.floor(eyes.x), pos.getX()) - 1,
+                Math.min(MathHelper.floor(eyes.y), pos.getY()) - 1,
+                Math.min(MathHelper.floor(eyes.z), pos.getZ()) - 1,
+                Math.max(MathHelper.floor(eyes.x), pos.getX()) + 1,
+                Math.max(MathHelper.floor(eyes.y), pos.getY()) + 1,
+                Math.max(MathHelper.floor(eyes.z), pos.getZ()) + 1
+        )) {
+            return entry.rotation == null ? Optional.empty() : Optional.of(RotationUtils.wrapAnglesToRelative(ctx.entityRotations(), entry.rotation));
+        }
+        Optional<Rotation> result = RotationUtils.reachable(ctx.entity(), pos, blockReachDistance, wouldSneak);
+        if (entries.size() >= MAX_ENTRIES) {
+            entries.clear();
+        }
+        entries.put(key, new Entry(blockReachDistance, wouldSneak, tracker.now(), result.orElse(null)));
+        return result;
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private void moveEyes(Vec3d eyes) {
+        int x = MathHelper.floor(eyes.x * EYE_BUCKETS_PER_BLOCK);
+        int y = MathHelper.floor(eyes.y * EYE_BUCKETS_PER_BLOCK);
+        int z = MathHelper.floor(eyes.z * EYE_BUCKETS_PER_BLOCK);
+        if (x != eyeX || y != eyeY || z != eyeZ) {
+            entries.clear();
+            eyeX = x;
+            eyeY = y;
+            eyeZ = z;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.utils;
+
+import baritone.api.BaritoneAPI;
+import baritone.api.Settings;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+
+/**
+ * Times the server's ticks, leaving out what tick sliced path searches spent in them, and hands out what each tick
+ * can spare for those searches
+ *
+ * @see Settings#tickSlicedPathing
+ */
+public final class ServerTickTimer {
+
+    /**
+     * How long a tick may take without the server falling behind
+     */
+    public static final double TICK_MS = 50;
+
+    /**
+     * The shortest slice worth handing out, the search only checks the time every 64 nodes
+     */
+    private static final long MIN_SLICE_NANOS = 1_000_000;
+
+    private static long tickStart;
+    private static long tickCount;
+    private static long slicedSpent;
+    private static long slicedLeft;
+    private static long slicedShare;
+    private static int turnsPerTick;
+    private static int searchesThisTick;
+    private static int searchesLastTick;
+    private static volatile double averageTickMS;
+
+    private ServerTickTimer() {}
+
+    public static void register() {
+        ServerTickEvents.START_SERVER_TICK.register(server -> startTick());
+        ServerTickEvents.END_SERVER_TICK.register(server -> endTick());
+    }
+
+    private static void startTick() {
+        tickStart = System.nanoTime();
+        tickCount++;
+        slicedSpent = 0;
+        searchesLastTick = searchesThisTick;
+        searchesThisTick = 0;
+        Settings settings = BaritoneAPI.getGlobalSettings();
+        double budgetMS = Math.min(settings.tickSlicedPathingBudgetMS.get(), (TICK_MS - averageTickMS) / 2);
+        // the minimum is granted even when the rest of the tick is already over 50ms, or searches would never finish
+        // on a server that is behind, but whatever the last slices overran by is paid back out of it
+        long overrun = Math.min(0, slicedLeft);
+        slicedLeft = (long) (Math.max(settings.tickSlicedPathingMinimumMS.get(), budgetMS) * 1_000_000) + overrun;
+        // searches that asked last tick will very likely ask again, so split it evenly between them
+        slicedShare = slicedLeft / Math.max(1, searchesLastTick);
+        turnsPerTick = (int) Math.max(0, slicedLeft / MIN_SLICE_NANOS);
+    }
+
+    private static void endTick() {
+        double tookMS = (System.nanoTime() - tickStart - slicedSpent) / 1_000_000D;
+        averageTickMS = averageTickMS * 0.9 + tookMS * 0.1;
+    }
+
+    /**
+     * @return How long the server's ticks take on average, not counting tick sliced path searches, in milliseconds
+     */
+    public static double averageTickMS() {
+        return averageTickMS;
+    }
+
+    /**
+     * Hands out the asking search's share of what this tick can spare: an even split between the searches that asked
+     * last tick, or when there are too many of them for a whole millisecond each, a millisecond for some of them in
+     * turns. Each search should ask only once per tick, and only from the server thread.
+     *
+     * @return How many nanoseconds the asking search may spend in this tick, which may be none
+     */
+    public static long nextSliceNanos() {
+        int ordinal = searchesThisTick++;
+        if (slicedLeft < MIN_SLICE_NANOS) {
+            return 0;
+        }
+        long share = Math.min(slicedShare, slicedLeft);
+        if (share >= MIN_SLICE_NANOS) {
+            return share;
+        }
+        // take turns, the window of searches getting a millisecond moving along by as many as fit in each tick
+        int searches = Math.max(searchesLastTick, ordinal + 1);
+        return Math.floorMod(ordinal - tickCount * turnsPerTick, searches) < turnsPerTick ? MIN_SLICE_NANOS : 0;
+    }
+
+    /**
+     * Charges a slice against what's left for this tick, anything past that against the next one. Only to be called
+     * from the server thread.
+     *
+     * @param nanos How long the slice really took, in nanoseconds
+     */
+    public static void slicedSpent(long nanos) {
+        slicedSpent += nanos;
+        slicedLeft -= nanos;
+    }
+}
@@ -26,49 +26,134 @@ import net.minecraft.enchantment.Enchantments;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.effect.StatusEffectInstance;
 import net.minecraft.entity.effect.StatusEffects;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.SwordItem;
 import net.minecraft.item.ToolItem;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.tag.TagKey;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A cached list of the best tools on the hotbar for any block
+ * <p>
+ * Breaking speeds only depend on what is on the hotbar and a few settings, so they are cached globally per
+ * {@link Loadout} rather than per instance. Every entity carrying the same tools shares one table, and a new
+ * calculation context starts with whatever previous searches already worked out.
  *
  * @author Avery, Brady, leijurv
  */
 public class ToolSet {
 
     /**
-     * A cache mapping a {@link Block} to how long it will take to break
-     * with this toolset, given the optimum tool is used.
+     * Past this many distinct loadouts the cache starts over, each one costs a double per block
      */
-    private final Map<Block, Double> breakStrengthCache;
+    private static final int MAX_LOADOUTS = 1024;
 
     /**
-     * My buddy leijurv owned me so we have this to not create a new lambda instance.
+     * Breaking speed with the best tool of a loadout, before potion effects, indexed by block raw id. NaN if not
+     * computed yet. Racing threads can only ever write the same value.
      */
-    private final Function<Block, Double> backendCalculation;
+    private static final Map<Loadout, double[]> SPEEDS = new ConcurrentHashMap<>();
 
     private final LivingEntity livingEntity;
     private final IMinefortressEntity mfEntity;
     private final IBaritone baritone;
 
+    /**
+     * The hotbar as it was when this toolset was created, pathing reads it from another thread
+     */
+    private final ItemStack[] hotbar;
+    private final int selectedSlot;
+    private final double amplifier;
+    private final double[] speeds;
+
     public ToolSet(LivingEntity livingEntity) {
-        this.breakStrengthCache = new HashMap<>();
         this.livingEntity = livingEntity;
         this.mfEntity = IMinefortressEntity.of(livingEntity);
         this.baritone = IBaritone.KEY.get(livingEntity);
+        this.hotbar = currentHotbar();
+        this.selectedSlot = mfEntity.getSelectedSlot();
+        this.amplifier = baritone.settings().considerPotionEffects.get() ? potionAmplifier() : 1;
 
-        if (baritone.settings().considerPotionEffects.get()) {
-            double amplifier = potionAmplifier();
-            Function<Double, Double> amplify = x -> amplifier * x;
-            backendCalculation = amplify.compose(this::getBestDestructionTime);
-        } else {
-            backendCalculation = this::getBestDestructionTime;
+        Loadout loadout = new Loadout(hotbar, baritone.settings().disableAutoTool.get() ? selectedSlot : -1, this);
+        if (SPEEDS.size() >= MAX_LOADOUTS) {
+            SPEEDS.clear();
         }
+        this.speeds = SPEEDS.computeIfAbsent(loadout, k -> {
+            double[] table = new double[Registries.BLOCK.size()];
+            Arrays.fill(table, Double.NaN);
+            return table;
+        });
+    }
+
+    /**
+     * Forgets every breaking speed worked out so far, for when tags that decide what counts as a tool or what not to
+     * break have been reloaded
+     */
+    public static void clearCache() {
+        SPEEDS.clear();
+    }
+
+    /**
+     * Everything about a hotbar and the settings that the best breaking speed for a block depends on
+     */
+    private static final class Loadout {
+
+        private final Item[] items;
+        private final int[] efficiency;
+        private final boolean[] usable;
+        private final int fixedSlot;
+        private final TagKey<Block> avoidBreaking;
+        private final int hash;
+
+        Loadout(ItemStack[] hotbar, int fixedSlot, ToolSet toolSet) {
+            this.items = new Item[hotbar.length];
+            this.efficiency = new int[hotbar.length];
+            this.usable = new boolean[hotbar.length];
+            for (int i = 0; i < hotbar.length; i++) {
+                items[i] = hotbar[i].getItem();
+                efficiency[i] = EnchantmentHelper.getLevel(Enchantments.EFFICIENCY, hotbar[i]);
+                usable[i] = toolSet.usable(hotbar[i]);
+            }
+            this.fixedSlot = fixedSlot;
+            this.avoidBreaking = toolSet.baritone.settings().blocksToAvoidBreaking.get();
+            this.hash = Objects.hash(Arrays.hashCode(items), Arrays.hashCode(efficiency), Arrays.hashCode(usable), fixedSlot, avoidBreaking);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Loadout)) {
+                return false;
+            }
+            Loadout other = (Loadout) o;
+            return hash == other.hash
+                    && fixedSlot == other.fixedSlot
+                    && Arrays.equals(items, other.items)
+                    && Arrays.equals(efficiency, other.efficiency)
+                    && Arrays.equals(usable, other.usable)
+                    && avoidBreaking.equals(other.avoidBreaking);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private ItemStack[] currentHotbar() {
+        ItemStack[] stacks = new ItemStack[9];
+        for (int i = 0; i < 9; i++) {
+            stacks[i] = mfEntity.getInventory().getStack(i).copy(); // the live stacks keep changing while pathing reads them
+        }
+        return stacks;
     }
 
     /**
@@ -78,7 +163,14 @@ public class ToolSet {
      * @return the speed of how fast we'll mine it. 1/(time in ticks)
      */
     public double getStrVsBlock(BlockState state) {
-        return breakStrengthCache.computeIfAbsent(state.getBlock(), backendCalculation);
+        Block block = state.getBlock();
+        int id = Registries.BLOCK.getRawId(block);
+        double speed = speeds[id];
+        if (Double.isNaN(speed)) {
+            speed = getBestDestructionTime(block);
+            speeds[id] = speed;
+        }
+        return amplifier * speed;
     }
 
     /**
@@ -108,13 +200,17 @@ public class ToolSet {
     }
 
     public int getBestSlot(Block b, boolean preferSilkTouch, boolean pathingCalculation) {
+        return getBestSlot(currentHotbar(), mfEntity.getSelectedSlot(), b, preferSilkTouch, pathingCalculation);
+    }
+
+    private int getBestSlot(ItemStack[] hotbar, int selectedSlot, Block b, boolean preferSilkTouch, boolean pathingCalculation) {
 
         /*
         If we actually want know what efficiency our held item has instead of the best one
         possible, this lets us make pathing depend on the actual tool to be used (if auto tool is disabled)
         */
         if (baritone.settings().disableAutoTool.get() && pathingCalculation) {
-            return mfEntity.getSelectedSlot();
+            return selectedSlot;
         }
 
         int best = 0;
@@ -123,12 +219,8 @@ public class ToolSet {
         boolean bestSilkTouch = false;
         BlockState blockState = b.getDefaultState();
         for (int i = 0; i < 9; i++) {
-            ItemStack itemStack = mfEntity.getInventory().getStack(i);
-            if (!baritone.settings().useSwordToMine.get() && itemStack.getItem() instanceof SwordItem) {
-                continue;
-            }
-
-            if (baritone.settings().itemSaver.get() && itemStack.getDamage() >= itemStack.getMaxDamage() && itemStack.getMaxDamage() > 1) {
+            ItemStack itemStack = hotbar[i];
+            if (!usable(itemStack)) {
                 continue;
             }
             double speed = calculateSpeedVsBlock(itemStack, blockState);
@@ -152,6 +244,13 @@ public class ToolSet {
         return best;
     }
 
+    private boolean usable(ItemStack itemStack) {
+        if (!baritone.settings().useSwordToMine.get() && itemStack.getItem() instanceof SwordItem) {
+            return false;
+        }
+        return !baritone.settings().itemSaver.get() || itemStack.getDamage() < itemStack.getMaxDamage() || itemStack.getMaxDamage() <= 1;
+    }
+
     /**
      * Calculate how effectively a block can be destroyed
      *
@@ -159,7 +258,7 @@ public class ToolSet {
      * @return A double containing the destruction ticks with the best tool
      */
     private double getBestDestructionTime(Block b) {
-        ItemStack stack = mfEntity.getInventory().getStack(getBestSlot(b, false, true));
+        ItemStack stack = hotbar[getBestSlot(hotbar, selectedSlot, b, false, true)];
         return calculateSpeedVsBlock(stack, b.getDefaultState()) * avoidanceMultiplier(b);
     }
 
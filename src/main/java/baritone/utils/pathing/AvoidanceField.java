@@ -0,0 +1,108 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.utils.pathing;
+
+import baritone.api.pathing.calc.Avoidance;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.List;
+
+/**
+ * Avoided areas kept as the spheres they are instead of one map entry per block inside them. Spheres are bucketed
+ * into a coarse grid of cells, so a lookup is one hash lookup for the cell plus a distance check per sphere that
+ * overlaps it, usually none or one.
+ * <p>
+ * Overlapping spheres multiply, exactly like {@link Avoidance#applySpherical} did.
+ */
+public final class AvoidanceField {
+
+    private static final int CELL_BITS = 4;
+    private static final int[] NONE = new int[0];
+
+    /**
+     * center x, center y, center z and radius squared of each sphere, packed
+     */
+    private final int[] spheres;
+    private final double[] coefficients;
+    private final Long2ObjectOpenHashMap<int[]> cells;
+
+    public AvoidanceField(List<Avoidance> avoidances) {
+        IntArrayList packed = new IntArrayList();
+        double[] coefficients = new double[avoidances.size()];
+        Long2ObjectOpenHashMap<IntArrayList> building = new Long2ObjectOpenHashMap<>();
+        int count = 0;
+        for (Avoidance avoid : avoidances) {
+            if (avoid.getCoefficient() == 1.0D || avoid.getRadius() < 0) {
+                continue;
+            }
+            int r = avoid.getRadius();
+            packed.add(avoid.getCenterX());
+            packed.add(avoid.getCenterY());
+            packed.add(avoid.getCenterZ());
+            packed.add(r * r);
+            coefficients[count] = avoid.getCoefficient();
+            for (int cx = (avoid.getCenterX() - r) >> CELL_BITS; cx <= (avoid.getCenterX() + r) >> CELL_BITS; cx++) {
+                for (int cy = (avoid.getCenterY() - r) >> CELL_BITS; cy <= (avoid.getCenterY() + r) >> CELL_BITS; cy++) {
+                    for (int cz = (avoid.getCenterZ() - r) >> CELL_BITS; cz <= (avoid.getCenterZ() + r) >> CELL_BITS; cz++) {
+                        building.computeIfAbsent(BlockPos.asLong(cx, cy, cz), k -> new IntArrayList(2)).add(count);
+                    }
+                }
+            }
+            count++;
+        }
+        this.spheres = packed.toIntArray();
+        this.coefficients = coefficients;
+        this.cells = new Long2ObjectOpenHashMap<>(building.size());
+        this.cells.defaultReturnValue(NONE);
+        for (Long2ObjectMap.Entry<IntArrayList> entry : building.long2ObjectEntrySet()) {
+            this.cells.put(entry.getLongKey(), entry.getValue().toIntArray());
+        }
+    }
+
+    public boolean isEmpty() {
+        return spheres.length == 0;
+    }
+
+    /**
+     * @return The number of spheres in this field
+     */
+    public int size() {
+        return spheres.length >> 2;
+    }
+
+    /**
+     * @return The product of the coefficients of every sphere containing the position, 1 if there are none
+     */
+    public double coefficient(int x, int y, int z) {
+        int[] candidates = cells.get(BlockPos.asLong(x >> CELL_BITS, y >> CELL_BITS, z >> CELL_BITS));
+        double result = 1.0D;
+        for (int sphere : candidates) {
+            int i = sphere << 2;
+            int xDiff = x - spheres[i];
+            int yDiff = y - spheres[i + 1];
+            int zDiff = z - spheres[i + 2];
+            if (xDiff * xDiff + yDiff * yDiff + zDiff * zDiff <= spheres[i + 3]) {
+                result *= coefficients[sphere];
+            }
+        }
+        return result;
+    }
+}
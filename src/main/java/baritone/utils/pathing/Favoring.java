@@ -24,19 +24,25 @@ import baritone.api.utils.IEntityContext;
 import baritone.pathing.movement.CalculationContext;
 import it.unimi.dsi.fastutil.longs.Long2DoubleOpenHashMap;
 
+import java.util.Collections;
+import java.util.List;
+
 public final class Favoring {
 
-    private final Long2DoubleOpenHashMap favorings;
+    private final Long2DoubleOpenHashMap favorings; // only the previous path
+    private final AvoidanceField avoidance;
 
     public Favoring(IEntityContext ctx, IPath previous, CalculationContext context) {
-        this(previous, context);
-        for (Avoidance avoid : ctx.listAvoidedAreas()) {
-            avoid.applySpherical(favorings);
-        }
-        ctx.logDebug("Favoring size: " + favorings.size());
+        this(previous, context, ctx.listAvoidedAreas());
+        ctx.logDebug("Favoring size: " + favorings.size() + ", avoiding " + avoidance.size() + " areas");
     }
 
     public Favoring(IPath previous, CalculationContext context) { // create one just from previous path, no mob avoidances
+        this(previous, context, Collections.emptyList());
+    }
+
+    public Favoring(IPath previous, CalculationContext context, List<Avoidance> avoidances) {
+        avoidance = new AvoidanceField(avoidances);
         favorings = new Long2DoubleOpenHashMap();
         favorings.defaultReturnValue(1.0D);
         double coeff = context.backtrackCostFavoringCoefficient;
@@ -46,10 +52,11 @@ public final class Favoring {
     }
 
     public boolean isEmpty() {
-        return favorings.isEmpty();
+        return favorings.isEmpty() && avoidance.isEmpty();
     }
 
-    public double calculate(long hash) {
-        return favorings.get(hash);
+    public double calculate(int x, int y, int z, long hash) {
+        double favoring = favorings.get(hash);
+        return avoidance.isEmpty() ? favoring : favoring * avoidance.coefficient(x, y, z);
     }
 }
@@ -0,0 +1,105 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.utils.pathing;
+
+import baritone.pathing.movement.MovementHelper;
+import net.minecraft.block.AirBlock;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.entity.ai.pathing.NavigationType;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.EmptyBlockView;
+
+/**
+ * What the pathfinder can tell about a block from its state alone, packed into a byte so that a whole section of them
+ * fits in 4 KB. See {@link baritone.cache.ClearanceMap}.
+ * <p>
+ * Unlike {@link PathingBlockType}, which is a lossy summary for remembering unloaded chunks, each category is a
+ * promise about the questions listed on it: whatever the settings and whatever the neighbouring blocks,
+ * {@link MovementHelper} gives the same answer for every state in it. Everything else is {@link #OTHER} and gets
+ * looked at in full.
+ */
+public final class PathingCategory {
+
+    /**
+     * Not known, for example because the chunk isn't loaded
+     */
+    public static final byte UNKNOWN = 0;
+    /**
+     * Can be walked through, not walked on, and is fully passable
+     */
+    public static final byte AIR = 1;
+    /**
+     * Can be walked on, but not walked through
+     */
+    public static final byte SOLID = 2;
+    /**
+     * Any state containing water, flowing or not
+     */
+    public static final byte WATER = 3;
+    public static final byte OTHER = 4;
+
+    /**
+     * By raw state id, 0 until first asked for
+     */
+    private static byte[] table;
+
+    private PathingCategory() {}
+
+    public static byte of(BlockState state) {
+        byte[] table = PathingCategory.table;
+        if (table == null) {
+            // every state is registered by the time the first path is calculated
+            table = new byte[Block.STATE_IDS.size()];
+            PathingCategory.table = table;
+        }
+        int id = Block.getRawIdFromState(state);
+        if (id < 0 || id >= table.length) {
+            return classify(state);
+        }
+        byte category = table[id];
+        if (category == UNKNOWN) {
+            // races are harmless, every thread computes the same thing
+            category = classify(state);
+            table[id] = category;
+        }
+        return category;
+    }
+
+    private static byte classify(BlockState state) {
+        Block block = state.getBlock();
+        if (block instanceof AirBlock) {
+            return AIR;
+        }
+        if (MovementHelper.isWater(state)) {
+            return WATER;
+        }
+        if (block != Blocks.MAGMA_BLOCK
+                && block != Blocks.BUBBLE_COLUMN
+                && block != Blocks.HONEY_BLOCK
+                && state.getFluidState().isEmpty()
+                && MovementHelper.isBlockNormalCube(state)
+                && !state.canPathfindThrough(EmptyBlockView.INSTANCE, BlockPos.ORIGIN, NavigationType.LAND)) {
+            // canWalkOn accepts every normal cube that isn't one of the above before looking at any setting,
+            // and canWalkThrough ends up at canPathfindThrough for a normal cube without fluid, unless it rejects it sooner
+            return SOLID;
+        }
+        return OTHER;
+    }
+}
@@ -25,19 +25,20 @@ import baritone.api.utils.BetterBlockPos;
 import baritone.api.utils.IEntityContext;
 import baritone.api.utils.IPlayerController;
 import baritone.api.utils.RayTraceUtils;
+import baritone.api.utils.Rotation;
+import baritone.cache.BlockChangeTracker;
+import baritone.cache.EntityIndex;
 import baritone.utils.accessor.ServerChunkManagerAccessor;
 import net.minecraft.block.SlabBlock;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.LivingEntity;
-import net.minecraft.entity.mob.EndermanEntity;
-import net.minecraft.entity.mob.MobEntity;
-import net.minecraft.entity.mob.SpiderEntity;
-import net.minecraft.entity.mob.ZombifiedPiglinEntity;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.entity.player.PlayerInventory;
 import net.minecraft.inventory.Inventory;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.hit.HitResult;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
 import net.minecraft.world.chunk.WorldChunk;
 import org.jetbrains.annotations.Nullable;
@@ -53,6 +54,13 @@ public class EntityContext implements IEntityContext {
     private final LivingEntity entity;
     private @Nullable Supplier<List<Avoidance>> avoidanceFinder;
 
+    private HitResult mouseOver;
+    private Vec3d mouseOverEyes;
+    private float mouseOverYaw;
+    private float mouseOverPitch;
+    private double mouseOverReach;
+    private long mouseOverTick;
+
     public EntityContext(LivingEntity entity) {
         this.entity = entity;
     }
@@ -86,7 +94,26 @@ public class EntityContext implements IEntityContext {
 
     @Override
     public HitResult objectMouseOver() {
-        return RayTraceUtils.rayTraceTowards(entity(), entityRotations(), playerController().getBlockReachDistance());
+        // called over and over within a tick, only trace again if something it depends on changed
+        LivingEntity entity = entity();
+        Vec3d eyes = entity.getCameraPosVec(1.0F);
+        float yaw = entity.getYaw();
+        float pitch = entity.getPitch();
+        double reach = playerController().getBlockReachDistance();
+        BlockChangeTracker tracker = BlockChangeTracker.get(world());
+        if (mouseOver != null && yaw == mouseOverYaw && pitch == mouseOverPitch && reach == mouseOverReach && eyes.equals(mouseOverEyes)
+                && mouseOverTick == tracker.now() && !tracker.changedSince(mouseOverTick,
+                MathHelper.floor(eyes.x - reach), MathHelper.floor(eyes.y - reach), MathHelper.floor(eyes.z - reach),
+                MathHelper.floor(eyes.x + reach), MathHelper.floor(eyes.y + reach), MathHelper.floor(eyes.z + reach))) {
+            return mouseOver;
+        }
+        mouseOver = RayTraceUtils.rayTraceTowards(entity, new Rotation(yaw, pitch), reach);
+        mouseOverEyes = eyes;
+        mouseOverYaw = yaw;
+        mouseOverPitch = pitch;
+        mouseOverReach = reach;
+        mouseOverTick = tracker.now();
+        return mouseOver;
     }
 
     @Override
@@ -108,11 +135,7 @@ public class EntityContext implements IEntityContext {
     }
 
     private Stream<Entity> streamHostileEntities() {
-        return this.worldEntitiesStream()
-                .filter(entity -> entity instanceof MobEntity)
-                .filter(entity -> (!(entity instanceof SpiderEntity)) || entity.getBrightnessAtEyes() < 0.5)
-                .filter(entity -> !(entity instanceof ZombifiedPiglinEntity) || ((ZombifiedPiglinEntity) entity).getAttacker() != null)
-                .filter(entity -> !(entity instanceof EndermanEntity) || ((EndermanEntity) entity).isAngry());
+        return EntityIndex.get(world()).near(EntityIndex.Category.HOSTILE, feetPos(), baritone().settings().entityScanRadius.get()).stream();
     }
 
     @Override
@@ -0,0 +1,59 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.utils.source;
+
+import net.minecraft.block.BlockState;
+
+/**
+ * Where {@link baritone.utils.BlockStateInterface} reads its blocks from. Implementations are read from the pathing
+ * thread, without creating a single BlockPos.
+ *
+ * @see LiveBlockSource
+ * @see InMemoryBlockSource
+ */
+public interface IBlockSource {
+
+    /**
+     * @return The block state at the given position, or air if it is not loaded or outside the height limits
+     */
+    BlockState get(int x, int y, int z);
+
+    /**
+     * @return Whether the blocks in the column containing the given block position are known
+     */
+    boolean isLoaded(int x, int z);
+
+    /**
+     * @return Like {@link #isLoaded(int, int)}, but also true for chunks that are loaded and empty
+     */
+    default boolean containsChunk(int x, int z) {
+        return isLoaded(x, z);
+    }
+
+    int getBottomY();
+
+    int getHeight();
+
+    default int getTopY() {
+        return getBottomY() + getHeight();
+    }
+
+    default boolean isOutOfHeightLimit(int y) {
+        return y < getBottomY() || y >= getTopY();
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.utils.source;
+
+import baritone.utils.BlockStateInterface;
+import baritone.utils.accessor.ServerChunkManagerAccessor;
+import com.mojang.serialization.Codec;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtList;
+import net.minecraft.nbt.NbtOps;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.PalettedContainer;
+import net.minecraft.world.chunk.WorldChunk;
+
+import javax.annotation.Nullable;
+
+/**
+ * A rectangle of chunks held in memory as the same palette filled block state containers that back vanilla chunk
+ * sections. Everything outside the rectangle is unloaded.
+ * <p>
+ * Lets the pathfinder run without a server, against generated worlds or against snapshots captured from a live one.
+ */
+public final class InMemoryBlockSource implements IBlockSource {
+
+    private static final BlockState AIR = Blocks.AIR.getDefaultState();
+    private static final Codec<PalettedContainer<BlockState>> SECTION_CODEC = PalettedContainer.createPalettedContainerCodec(Block.STATE_IDS, BlockState.CODEC, PalettedContainer.PaletteProvider.BLOCK_STATE, AIR);
+
+    private final int minChunkX;
+    private final int minChunkZ;
+    private final int sizeX;
+    private final int sizeZ;
+    private final int bottomY;
+    private final int height;
+    private final int sectionCount;
+    private final PalettedContainer<BlockState>[] sections;
+
+    @SuppressWarnings("unchecked")
+    public InMemoryBlockSource(int minChunkX, int minChunkZ, int sizeX, int sizeZ, int bottomY, int height) {
+        if (sizeX <= 0 || sizeZ <= 0 || height <= 0 || (height & 15) != 0 || (bottomY & 15) != 0) {
+            throw new IllegalArgumentException("Invalid dimensions " + sizeX + "x" + sizeZ + "x" + height + " at y " + bottomY);
+        }
+        this.minChunkX = minChunkX;
+        this.minChunkZ = minChunkZ;
+        this.sizeX = sizeX;
+        this.sizeZ = sizeZ;
+        this.bottomY = bottomY;
+        this.height = height;
+        this.sectionCount = height >> 4;
+        this.sections = new PalettedContainer[sizeX * sizeZ * sectionCount];
+    }
+
+    /**
+     * Copies the loaded chunks in the given chunk range out of a live world. Must be called on the server thread.
+     *
+     * @return The copy, with unloaded chunks left empty
+     */
+    public static InMemoryBlockSource capture(World world, int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+        InMemoryBlockSource source = new InMemoryBlockSource(minChunkX, minChunkZ, maxChunkX - minChunkX + 1, maxChunkZ - minChunkZ + 1, world.getBottomY(), world.getHeight());
+        ServerChunkManagerAccessor provider = (ServerChunkManagerAccessor) world.getChunkManager();
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                WorldChunk chunk = provider.automatone$getChunkNow(chunkX, chunkZ);
+                if (chunk == null || chunk.isEmpty()) {
+                    continue;
+                }
+                ChunkSection[] chunkSections = chunk.getSectionArray();
+                for (int sectionY = 0; sectionY < chunkSections.length && sectionY < source.sectionCount; sectionY++) {
+                    ChunkSection section = chunkSections[sectionY];
+                    if (section != null && !section.isEmpty()) {
+                        source.sections[source.index(chunkX, sectionY, chunkZ)] = section.getBlockStateContainer().copy();
+                    }
+                }
+            }
+        }
+        return source;
+    }
+
+    /**
+     * @return A deep copy, sharing nothing with this source
+     */
+    public InMemoryBlockSource copy() {
+        InMemoryBlockSource copy = new InMemoryBlockSource(minChunkX, minChunkZ, sizeX, sizeZ, bottomY, height);
+        for (int i = 0; i < sections.length; i++) {
+            if (sections[i] != null) {
+                copy.sections[i] = sections[i].copy();
+            }
+        }
+        return copy;
+    }
+
+    public int getMinChunkX() {
+        return minChunkX;
+    }
+
+    public int getMinChunkZ() {
+        return minChunkZ;
+    }
+
+    public int getSizeX() {
+        return sizeX;
+    }
+
+    public int getSizeZ() {
+        return sizeZ;
+    }
+
+    public int getSectionCount() {
+        return sectionCount;
+    }
+
+    @Override
+    public boolean isLoaded(int x, int z) {
+        int chunkX = (x >> 4) - minChunkX;
+        int chunkZ = (z >> 4) - minChunkZ;
+        return chunkX >= 0 && chunkZ >= 0 && chunkX < sizeX && chunkZ < sizeZ;
+    }
+
+    private int index(int chunkX, int sectionY, int chunkZ) {
+        return ((chunkX - minChunkX) * sizeZ + (chunkZ - minChunkZ)) * sectionCount + sectionY;
+    }
+
+    /**
+     * @param chunkX   Absolute chunk x
+     * @param sectionY Section index, 0 being the bottom of the world
+     * @param chunkZ   Absolute chunk z
+     * @return The block state container of a section, or null if the section is empty
+     */
+    @Nullable
+    public PalettedContainer<BlockState> getSection(int chunkX, int sectionY, int chunkZ) {
+        return sections[index(chunkX, sectionY, chunkZ)];
+    }
+
+    @Override
+    public BlockState get(int x, int y, int z) {
+        if (y < bottomY || y >= bottomY + height || !isLoaded(x, z)) {
+            return AIR;
+        }
+        PalettedContainer<BlockState> section = sections[index(x >> 4, (y - bottomY) >> 4, z >> 4)];
+        return section == null ? AIR : section.get(x & 15, y & 15, z & 15);
+    }
+
+    public void set(int x, int y, int z, BlockState state) {
+        if (y < bottomY || y >= bottomY + height || !isLoaded(x, z)) {
+            return;
+        }
+        int index = index(x >> 4, (y - bottomY) >> 4, z >> 4);
+        PalettedContainer<BlockState> section = sections[index];
+        if (section == null) {
+            if (state.isAir()) {
+                return;
+            }
+            section = new PalettedContainer<>(Block.STATE_IDS, AIR, PalettedContainer.PaletteProvider.BLOCK_STATE);
+            sections[index] = section;
+        }
+        section.set(x & 15, y & 15, z & 15, state);
+    }
+
+    public void fill(int x0, int y0, int z0, int x1, int y1, int z1, BlockState state) {
+        for (int x = x0; x <= x1; x++) {
+            for (int z = z0; z <= z1; z++) {
+                for (int y = y0; y <= y1; y++) {
+                    set(x, y, z, state);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return A new block state interface reading from this source
+     */
+    public BlockStateInterface bsi() {
+        return new BlockStateInterface(this);
+    }
+
+    public NbtCompound toNbt() {
+        NbtCompound tag = new NbtCompound();
+        tag.putInt("minChunkX", minChunkX);
+        tag.putInt("minChunkZ", minChunkZ);
+        tag.putInt("sizeX", sizeX);
+        tag.putInt("sizeZ", sizeZ);
+        tag.putInt("bottomY", bottomY);
+        tag.putInt("height", height);
+        NbtList list = new NbtList();
+        for (int chunkX = minChunkX; chunkX < minChunkX + sizeX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ < minChunkZ + sizeZ; chunkZ++) {
+                for (int sectionY = 0; sectionY < sectionCount; sectionY++) {
+                    PalettedContainer<BlockState> section = getSection(chunkX, sectionY, chunkZ);
+                    if (section == null) {
+                        continue;
+                    }
+                    NbtCompound sectionTag = new NbtCompound();
+                    sectionTag.putInt("x", chunkX);
+                    sectionTag.putInt("y", sectionY);
+                    sectionTag.putInt("z", chunkZ);
+                    sectionTag.put("states", SECTION_CODEC.encodeStart(NbtOps.INSTANCE, section).getOrThrow(false, error -> {}));
+                    list.add(sectionTag);
+                }
+            }
+        }
+        tag.put("sections", list);
+        return tag;
+    }
+
+    public static InMemoryBlockSource fromNbt(NbtCompound tag) {
+        InMemoryBlockSource source = new InMemoryBlockSource(tag.getInt("minChunkX"), tag.getInt("minChunkZ"), tag.getInt("sizeX"), tag.getInt("sizeZ"), tag.getInt("bottomY"), tag.getInt("height"));
+        NbtList list = tag.getList("sections", NbtElement.COMPOUND_TYPE);
+        for (int i = 0; i < list.size(); i++) {
+            NbtCompound sectionTag = list.getCompound(i);
+            PalettedContainer<BlockState> section = SECTION_CODEC.parse(NbtOps.INSTANCE, sectionTag.getCompound("states")).getOrThrow(false, error -> {});
+            source.sections[source.index(sectionTag.getInt("x"), sectionTag.getInt("y"), sectionTag.getInt("z"))] = section;
+        }
+        return source;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int getBottomY() {
+        return bottomY;
+    }
+}
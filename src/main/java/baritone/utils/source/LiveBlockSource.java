@@ -0,0 +1,122 @@
+/*
+ * This file is part of Baritone.
+ *
+ * Baritone is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Baritone is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Baritone.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package baritone.utils.source;
+
+import baritone.utils.accessor.ServerChunkManagerAccessor;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.PalettedContainer;
+import net.minecraft.world.chunk.WorldChunk;
+
+import java.util.Arrays;
+
+/**
+ * Reads straight from the loaded chunks of a server world
+ *
+ * @author leijurv
+ */
+public final class LiveBlockSource implements IBlockSource {
+
+    private static final BlockState AIR = Blocks.AIR.getDefaultState();
+
+    /**
+     * The cache is a 4x4 window of chunks, direct mapped on the low bits of the chunk coordinates
+     */
+    private static final int CACHE_BITS = 2;
+    private static final int CACHE_MASK = (1 << CACHE_BITS) - 1;
+
+    private final World world;
+    private final ServerChunkManagerAccessor provider;
+    private final int bottomSection;
+
+    // there's great cache locality in block state lookups
+    // generally it's within each movement, and movements that straddle a chunk border
+    // (diagonals, parkour, descends) bounce between neighbouring chunks
+    // so we keep the block state containers of the last chunk in every slot of a small window
+    // and skip the mc.world.getChunk lookup, which is a Long2ObjectOpenHashMap.get
+    // as well as getSectionArray and getSectionIndex
+    // see issue #113
+    private final long[] cachedChunks = new long[1 << (CACHE_BITS * 2)];
+    private final PalettedContainer<BlockState>[][] cachedSections;
+
+    @SuppressWarnings("unchecked")
+    public LiveBlockSource(World world) {
+        this.world = world;
+        this.provider = (ServerChunkManagerAccessor) world.getChunkManager();
+        this.bottomSection = world.getBottomSectionCoord();
+        this.cachedSections = new PalettedContainer[cachedChunks.length][world.countVerticalSections()];
+        Arrays.fill(cachedChunks, ChunkPos.MARKER);
+    }
+
+    /**
+     * @return The block state containers of every section in the chunk, bottom first, or null if it is not loaded.
+     * Empty sections are included, they just read as air.
+     */
+    private PalettedContainer<BlockState>[] sections(int chunkX, int chunkZ) {
+        int slot = (chunkX & CACHE_MASK) << CACHE_BITS | (chunkZ & CACHE_MASK);
+        long key = ChunkPos.toLong(chunkX, chunkZ);
+        if (cachedChunks[slot] == key) {
+            return cachedSections[slot];
+        }
+        WorldChunk chunk = provider.automatone$getChunkNow(chunkX, chunkZ);
+        if (chunk == null || chunk.isEmpty()) {
+            return null;
+        }
+        ChunkSection[] chunkSections = chunk.getSectionArray();
+        PalettedContainer<BlockState>[] sections = cachedSections[slot];
+        for (int i = 0; i < sections.length; i++) {
+            sections[i] = chunkSections[i].getBlockStateContainer();
+        }
+        cachedChunks[slot] = key;
+        return sections;
+    }
+
+    @Override
+    public BlockState get(int x, int y, int z) { // Mickey resigned
+        if (this.world.isOutOfHeightLimit(y)) return AIR;
+
+        PalettedContainer<BlockState>[] sections = sections(x >> 4, z >> 4);
+        if (sections == null) {
+            return AIR;
+        }
+        return sections[(y >> 4) - bottomSection].get(x & 15, y & 15, z & 15);
+    }
+
+    @Override
+    public boolean isLoaded(int x, int z) {
+        return sections(x >> 4, z >> 4) != null;
+    }
+
+    @Override
+    public boolean containsChunk(int x, int z) {
+        return provider.automatone$getChunkNow(x >> 4, z >> 4) != null;
+    }
+
+    @Override
+    public int getBottomY() {
+        return world.getBottomY();
+    }
+
+    @Override
+    public int getHeight() {
+        return world.getHeight();
+    }
+}